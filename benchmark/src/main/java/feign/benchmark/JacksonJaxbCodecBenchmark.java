@@ -0,0 +1,132 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.jackson.JacksonDecoder;
+import feign.jackson.JacksonEncoder;
+import feign.jackson.jaxb.JacksonJaxbJsonDecoder;
+import feign.jackson.jaxb.JacksonJaxbJsonEncoder;
+import org.openjdk.jmh.annotations.*;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Compares the jackson-jaxb codec against going through the JAX-RS provider on every call, as it
+ * used to, and against the plain jackson codec.
+ */
+@State(Scope.Thread)
+public class JacksonJaxbCodecBenchmark {
+
+  @Param({"provider", "jackson-jaxb", "jackson"})
+  private String codec;
+
+  private Encoder encoder;
+  private Decoder decoder;
+  private Car car;
+  private byte[] json;
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @Fork(3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public RequestTemplate encode() {
+    RequestTemplate template = new RequestTemplate();
+    encoder.encode(car, Car.class, template);
+    return template;
+  }
+
+  @Benchmark
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @Fork(3)
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Object decode() throws Exception {
+    return decoder.decode(response(), Car.class);
+  }
+
+  private Response response() {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(json)
+        .build();
+  }
+
+  @Setup(Level.Trial)
+  public void buildCodec() {
+    switch (codec) {
+      case "provider":
+        JacksonJaxbJsonProvider provider = new JacksonJaxbJsonProvider();
+        encoder = (object, bodyType, template) -> {
+          try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            provider.writeTo(object, bodyType.getClass(), null, null, null, null,
+                out);
+            template.body(out.toByteArray(), Util.UTF_8);
+          } catch (Exception e) {
+            throw new IllegalStateException(e);
+          }
+        };
+        decoder = (response, type) -> provider.readFrom(Object.class, type, null,
+            null, null, response.body().asInputStream());
+        break;
+      case "jackson-jaxb":
+        encoder = new JacksonJaxbJsonEncoder();
+        decoder = new JacksonJaxbJsonDecoder();
+        break;
+      case "jackson":
+        encoder = new JacksonEncoder();
+        decoder = new JacksonDecoder();
+        break;
+      default:
+        throw new IllegalStateException("Unknown codec: " + codec);
+    }
+    car = new Car("c4", "Citroën");
+    json = "{\"name\":\"c4\",\"manufacturer\":\"Citroën\"}".getBytes(Util.UTF_8);
+  }
+
+  @XmlRootElement
+  @XmlAccessorType(XmlAccessType.FIELD)
+  static class Car {
+    @XmlElement
+    public String name;
+    @XmlElement
+    public String manufacturer;
+
+    Car() {}
+
+    Car(String name, String manufacturer) {
+      this.name = name;
+      this.manufacturer = manufacturer;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import java.lang.reflect.Type;
 import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.function.Supplier;
+import feign.InvocationPhases.Phase;
 import feign.Logger.NoOpLogger;
 import feign.Request.Options;
 import feign.Target.HardCodedTarget;
@@ -70,6 +71,8 @@ public abstract class AsyncFeign<C> extends Feign {
     private ErrorDecoder errorDecoder = new ErrorDecoder.Default();
     private boolean decode404;
     private boolean closeAfterDecode = true;
+    private PhaseListener phaseListener = PhaseListener.NOOP;
+    private MethodInfoResolver methodInfoResolver = MethodInfoResolver.DEFAULT;
 
     public AsyncBuilder() {
       super();
@@ -123,6 +126,23 @@ public abstract class AsyncFeign<C> extends Feign {
       return this;
     }
 
+    /**
+     * @see Builder#phaseListener(PhaseListener)
+     */
+    public AsyncBuilder<C> phaseListener(PhaseListener phaseListener) {
+      this.phaseListener = phaseListener;
+      builder.phaseListener(phaseListener);
+      return this;
+    }
+
+    /**
+     * Overrides which methods are asynchronous, and the types their responses are decoded to.
+     */
+    public AsyncBuilder<C> methodInfoResolver(MethodInfoResolver methodInfoResolver) {
+      this.methodInfoResolver = methodInfoResolver;
+      return this;
+    }
+
     public <T> T target(Class<T> apiType, String url) {
       return target(new HardCodedTarget<>(apiType, url));
     }
@@ -238,7 +258,11 @@ public abstract class AsyncFeign<C> extends Feign {
   private final Logger.Level logLevel;
   private final Logger logger;
 
+  protected final MethodInfoResolver methodInfoResolver;
+
   private final AsyncResponseHandler responseHandler;
+  // null when phases are not measured
+  private final PhaseListener phaseListener;
 
   protected AsyncFeign(AsyncBuilder<C> asyncBuilder) {
     this.activeContext = new ThreadLocal<>();
@@ -248,6 +272,9 @@ public abstract class AsyncFeign<C> extends Feign {
 
     this.logLevel = asyncBuilder.logLevel;
     this.logger = asyncBuilder.logger;
+    this.methodInfoResolver = asyncBuilder.methodInfoResolver;
+    this.phaseListener =
+        asyncBuilder.phaseListener != PhaseListener.NOOP ? asyncBuilder.phaseListener : null;
 
     this.responseHandler = new AsyncResponseHandler(
         asyncBuilder.logLevel,
@@ -272,6 +299,9 @@ public abstract class AsyncFeign<C> extends Feign {
 
     final AsyncInvocation<C> invocationContext = activeContext.get();
 
+    if (phaseListener != null && InvocationPhases.of(request) != null) {
+      invocationContext.markExecutionStart();
+    }
     invocationContext.setResponseFuture(
         client.execute(request, options, Optional.ofNullable(invocationContext.context())));
 
@@ -289,20 +319,50 @@ public abstract class AsyncFeign<C> extends Feign {
     final AsyncInvocation<C> invocationContext = activeContext.get();
 
     final CompletableFuture<Object> result = new CompletableFuture<>();
+    final InvocationPhases phases =
+        phaseListener != null ? InvocationPhases.of(response.request()) : null;
 
     invocationContext.responseFuture().whenComplete((r, t) -> {
       final long elapsedTime = elapsedTime(invocationContext.startNanos());
+      // report phases before the caller can observe the result
+      final CompletableFuture<Object> handled =
+          phases != null ? new CompletableFuture<>() : result;
+      if (phases != null) {
+        phases.recordSince(Phase.EXECUTE, invocationContext.executionStartNanos());
+      }
 
       if (t != null) {
         if (logLevel != Logger.Level.NONE && t instanceof IOException) {
           final IOException e = (IOException) t;
           logger.logIOException(invocationContext.configKey(), logLevel, e, elapsedTime);
         }
-        result.completeExceptionally(t);
+        handled.completeExceptionally(t);
       } else {
-        responseHandler.handleResponse(result, invocationContext.configKey(), r,
+        responseHandler.handleResponse(handled, invocationContext.configKey(), r,
             invocationContext.underlyingType(), elapsedTime);
       }
+
+      if (phases != null) {
+        handled.whenComplete((value, error) -> {
+          try {
+            phases.complete(invocationContext.startNanos(), error);
+            phaseListener.onInvocation(phases);
+          } catch (RuntimeException | Error e) {
+            // like the synchronous path, a failing listener fails the invocation
+            result.completeExceptionally(e);
+            if (r != null) {
+              Util.ensureClosed(r.body());
+            }
+            return;
+          }
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else if (!result.complete(value)) {
+            // cancelled meanwhile, so nothing reads a body left open for the value
+            Util.ensureClosed(r.body());
+          }
+        });
+      }
     });
 
     result.whenComplete((r, t) -> {
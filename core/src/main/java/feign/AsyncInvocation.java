@@ -25,6 +25,7 @@ class AsyncInvocation<C> {
   private final C context;
   private final MethodInfo methodInfo;
   private final long startNanos;
+  private long executionStartNanos;
   private CompletableFuture<Response> responseFuture;
 
   AsyncInvocation(C context, MethodInfo methodInfo) {
@@ -46,6 +47,14 @@ class AsyncInvocation<C> {
     return startNanos;
   }
 
+  void markExecutionStart() {
+    this.executionStartNanos = System.nanoTime();
+  }
+
+  long executionStartNanos() {
+    return executionStartNanos;
+  }
+
   Type underlyingType() {
     return methodInfo.underlyingReturnType();
   }
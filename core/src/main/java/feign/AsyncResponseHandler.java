@@ -18,6 +18,7 @@ import static feign.Util.ensureClosed;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.concurrent.CompletableFuture;
+import feign.InvocationPhases.Phase;
 import feign.Logger.Level;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
@@ -63,6 +64,12 @@ class AsyncResponseHandler {
     // copied fairly liberally from SynchronousMethodHandler
     boolean shouldClose = true;
 
+    final InvocationPhases phases = InvocationPhases.of(response.request());
+    if (phases != null) {
+      phases.status(response.status());
+      response = response.toBuilder().body(phases.timed(response.body())).build();
+    }
+
     try {
       if (logLevel != Level.NONE) {
         response = logger.logAndRebufferResponse(configKey, logLevel, response,
@@ -73,8 +80,8 @@ class AsyncResponseHandler {
           resultFuture.complete(response);
         } else if (response.body().length() == null
             || response.body().length() > MAX_RESPONSE_BUFFER_SIZE) {
-          shouldClose = false;
-          resultFuture.complete(response);
+          // left open for the caller, unless the result was cancelled meanwhile
+          shouldClose = !resultFuture.complete(response);
         } else {
           // Ensure the response body is disconnected
           final byte[] bodyData = Util.toByteArray(response.body().asInputStream());
@@ -84,14 +91,12 @@ class AsyncResponseHandler {
         if (isVoidType(returnType)) {
           resultFuture.complete(null);
         } else {
-          final Object result = decode(response, returnType);
-          shouldClose = closeAfterDecode;
-          resultFuture.complete(result);
+          final Object result = decode(response, returnType, phases);
+          shouldClose = !resultFuture.complete(result) || closeAfterDecode;
         }
       } else if (decode404 && response.status() == 404 && !isVoidType(returnType)) {
-        final Object result = decode(response, returnType);
-        shouldClose = closeAfterDecode;
-        resultFuture.complete(result);
+        final Object result = decode(response, returnType, phases);
+        shouldClose = !resultFuture.complete(result) || closeAfterDecode;
       } else {
         resultFuture.completeExceptionally(errorDecoder.decode(configKey, response));
       }
@@ -110,6 +115,22 @@ class AsyncResponseHandler {
 
   }
 
+  private Object decode(Response response, Type type, InvocationPhases phases)
+      throws IOException {
+    if (phases == null) {
+      return decode(response, type);
+    }
+    final long bodyRead = phases.nanos(Phase.BODY_READ);
+    final long start = System.nanoTime();
+    try {
+      return decode(response, type);
+    } finally {
+      // reads are interleaved with parsing, keep them apart
+      phases.record(Phase.DECODE,
+          System.nanoTime() - start - (phases.nanos(Phase.BODY_READ) - bodyRead));
+    }
+  }
+
   Object decode(Response response, Type type) throws IOException {
     try {
       return decoder.decode(response, type);
@@ -112,4 +112,8 @@ public interface Capability {
     return queryMapEncoder;
   }
 
+  default PhaseListener enrich(PhaseListener phaseListener) {
+    return phaseListener;
+  }
+
 }
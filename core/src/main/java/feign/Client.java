@@ -34,11 +34,10 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPOutputStream;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLSocketFactory;
+import feign.InvocationPhases.Phase;
 import feign.Request.Options;
 
 /**
@@ -105,7 +104,12 @@ public interface Client {
     }
 
     Response convertResponse(HttpURLConnection connection, Request request) throws IOException {
+      InvocationPhases phases = InvocationPhases.of(request);
+      long responseStart = phases != null ? System.nanoTime() : 0;
       int status = connection.getResponseCode();
+      if (phases != null) {
+        phases.recordSince(Phase.TIME_TO_FIRST_BYTE, responseStart);
+      }
       String reason = connection.getResponseMessage();
 
       if (status < 0) {
@@ -168,6 +172,16 @@ public interface Client {
       boolean deflateEncodedRequest =
           contentEncodingValues != null && contentEncodingValues.contains(ENCODING_DEFLATE);
 
+      // compress unless CompressionCapability did already
+      byte[] body = request.body();
+      RequestCompressor compressor = gzipEncodedRequest ? RequestCompressor.GZIP
+          : deflateEncodedRequest ? RequestCompressor.DEFLATE : null;
+      if (body != null && compressor != null && !request.isCompressed()) {
+        body = compressor.compress(body);
+      } else {
+        compressor = null;
+      }
+
       boolean hasAcceptHeader = false;
       Integer contentLength = null;
       for (String field : request.headers().keySet()) {
@@ -176,7 +190,7 @@ public interface Client {
         }
         for (String value : request.headers().get(field)) {
           if (field.equals(CONTENT_LENGTH)) {
-            if (!gzipEncodedRequest && !deflateEncodedRequest) {
+            if (compressor == null) {
               contentLength = Integer.valueOf(value);
               connection.addRequestProperty(field, value);
             }
@@ -190,7 +204,7 @@ public interface Client {
         connection.addRequestProperty("Accept", "*/*");
       }
 
-      if (request.body() != null) {
+      if (body != null) {
         if (disableRequestBuffering) {
           if (contentLength != null) {
             connection.setFixedLengthStreamingMode(contentLength);
@@ -199,14 +213,20 @@ public interface Client {
           }
         }
         connection.setDoOutput(true);
+      }
+
+      InvocationPhases phases = InvocationPhases.of(request);
+      if (phases != null) {
+        // connect explicitly, otherwise it happens lazily when writing or reading
+        long connectStart = System.nanoTime();
+        connection.connect();
+        phases.recordSince(Phase.CONNECTION_ACQUIRE, connectStart);
+      }
+
+      if (body != null) {
         OutputStream out = connection.getOutputStream();
-        if (gzipEncodedRequest) {
-          out = new GZIPOutputStream(out);
-        } else if (deflateEncodedRequest) {
-          out = new DeflaterOutputStream(out);
-        }
         try {
-          out.write(request.body());
+          out.write(body);
         } finally {
           try {
             out.close();
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.CONTENT_ENCODING;
+import static feign.Util.CONTENT_LENGTH;
+import static feign.Util.ENCODING_DEFLATE;
+import static feign.Util.ENCODING_GZIP;
+import static feign.Util.checkArgument;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import feign.Request.Options;
+
+/**
+ * Compresses request bodies of any {@link Client} that are large enough to benefit from it, and
+ * sets the {@code Content-Encoding} header. Small bodies are sent as is, as compressing them costs
+ * more time than it saves.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .addCapability(CompressionCapability.builder()
+ *         .minBytes(4096)
+ *         .build())
+ * </pre>
+ *
+ * Only bodies with a compressible {@code Content-Type} are compressed, by default text, JSON, XML,
+ * JavaScript and form data. Requests that set {@code Content-Encoding} themselves are left alone.
+ */
+@Experimental
+public final class CompressionCapability implements Capability {
+
+  private final int minBytes;
+  private final List<String> mimeTypes;
+  private final RequestCompressor compressor;
+
+  private CompressionCapability(Builder builder) {
+    this.minBytes = builder.minBytes;
+    this.mimeTypes = builder.mimeTypes;
+    this.compressor = new RequestCompressor(ENCODING_GZIP.equals(builder.encoding), builder.level,
+        builder.poolSize);
+  }
+
+  /**
+   * Compresses with gzip bodies of at least 2 KiB.
+   */
+  public static CompressionCapability create() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public Client enrich(Client client) {
+    return new CompressingClient(client);
+  }
+
+  boolean isCompressible(String contentType) {
+    final int end = contentType.indexOf(';');
+    final String mimeType =
+        (end == -1 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+    if (mimeType.endsWith("+json") || mimeType.endsWith("+xml")) {
+      return true;
+    }
+    for (String compressible : mimeTypes) {
+      if (compressible.endsWith("/*")
+          ? mimeType.startsWith(compressible.substring(0, compressible.length() - 1))
+          : compressible.equals(mimeType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Collection<String> header(Map<String, Collection<String>> headers, String name) {
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  final class CompressingClient implements DelegatingClient {
+
+    private final Client delegate;
+
+    private CompressingClient(Client delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+      return delegate.execute(compress(request), options);
+    }
+
+    @Override
+    public Client delegate() {
+      return delegate;
+    }
+
+    private Request compress(Request request) {
+      final byte[] body = request.body();
+      if (body == null || body.length < minBytes
+          || header(request.headers(), CONTENT_ENCODING) != null) {
+        return request;
+      }
+      final Collection<String> contentType = header(request.headers(), "Content-Type");
+      if (contentType == null || contentType.isEmpty()
+          || !isCompressible(contentType.iterator().next())) {
+        return request;
+      }
+      final byte[] compressed = compressor.compress(body);
+      if (compressed.length >= body.length) {
+        return request;
+      }
+      final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+      headers.keySet().removeIf(CONTENT_LENGTH::equalsIgnoreCase);
+      headers.put(CONTENT_ENCODING, Collections.singletonList(compressor.encoding()));
+      headers.put(CONTENT_LENGTH, Collections.singletonList(String.valueOf(compressed.length)));
+      // marked, so that Client.Default does not compress it again
+      return Request.create(request.httpMethod(), request.url(), headers,
+          Request.Body.compressed(compressed), request.requestTemplate());
+    }
+  }
+
+  public static final class Builder {
+
+    private int minBytes = 2048;
+    private List<String> mimeTypes = Collections.unmodifiableList(Arrays.asList("text/*",
+        "application/json", "application/xml", "application/javascript",
+        "application/x-www-form-urlencoded"));
+    private String encoding = ENCODING_GZIP;
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private int poolSize = RequestCompressor.poolSize();
+
+    Builder() {}
+
+    /**
+     * Bodies smaller than this are sent uncompressed. Defaults to 2048.
+     */
+    public Builder minBytes(int minBytes) {
+      checkArgument(minBytes >= 0, "minBytes must not be negative");
+      this.minBytes = minBytes;
+      return this;
+    }
+
+    /**
+     * Content types to compress, replacing the defaults. A type ending in {@code /*} matches all
+     * its subtypes. Types with a {@code +json} or {@code +xml} suffix are always compressed.
+     */
+    public Builder mimeTypes(String... mimeTypes) {
+      final List<String> lowerCase = new ArrayList<>(mimeTypes.length);
+      for (String mimeType : mimeTypes) {
+        lowerCase.add(mimeType.trim().toLowerCase(Locale.ROOT));
+      }
+      this.mimeTypes = Collections.unmodifiableList(lowerCase);
+      return this;
+    }
+
+    /**
+     * {@code gzip}, the default, or {@code deflate}.
+     */
+    public Builder encoding(String encoding) {
+      checkArgument(ENCODING_GZIP.equals(encoding) || ENCODING_DEFLATE.equals(encoding),
+          "unsupported encoding %s", encoding);
+      this.encoding = encoding;
+      return this;
+    }
+
+    /**
+     * Compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     */
+    public Builder level(int level) {
+      checkArgument(level == Deflater.DEFAULT_COMPRESSION
+          || (level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION),
+          "invalid compression level %s", level);
+      this.level = level;
+      return this;
+    }
+
+    /**
+     * Deflaters kept for reuse, defaulting to twice the available processors. More are created when
+     * all are in use, and discarded after.
+     */
+    public Builder poolSize(int poolSize) {
+      checkArgument(poolSize > 0, "poolSize must be positive");
+      this.poolSize = poolSize;
+      return this;
+    }
+
+    public CompressionCapability build() {
+      return new CompressionCapability(this);
+    }
+  }
+}
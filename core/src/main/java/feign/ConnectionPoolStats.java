@@ -0,0 +1,69 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+/**
+ * Implemented by {@link Client clients} able to report the state of their connection pool, so it
+ * can be monitored, for example by {@code feign-metrics5}. Pool exhaustion otherwise only shows up
+ * as latency.
+ *
+ * <p>
+ * Values are read on demand and may be slightly stale. Methods return {@code -1} when the
+ * underlying client does not expose the value.
+ */
+@Experimental
+public interface ConnectionPoolStats {
+
+  /**
+   * Connections currently leased to a request.
+   */
+  int leasedConnections();
+
+  /**
+   * Open connections waiting in the pool to be reused.
+   */
+  int idleConnections();
+
+  /**
+   * Maximum number of connections the pool will open.
+   */
+  int maxConnections();
+
+  /**
+   * Requests waiting for a connection, or queued by the client's dispatcher.
+   */
+  int pendingRequests();
+
+  /**
+   * Requests currently being executed.
+   */
+  int activeRequests();
+
+  /**
+   * The stats of {@code client}, or of the first client reporting them among those it decorates,
+   * for example through {@link DecompressionCapability} or {@link CompressionCapability}.
+   *
+   * @return {@code null} when the client does not report stats.
+   */
+  static ConnectionPoolStats of(Client client) {
+    while (!(client instanceof ConnectionPoolStats)) {
+      if (!(client instanceof DelegatingClient)) {
+        return null;
+      }
+      client = ((DelegatingClient) client).delegate();
+    }
+    return (ConnectionPoolStats) client;
+  }
+
+}
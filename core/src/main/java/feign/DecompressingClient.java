@@ -0,0 +1,232 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.ACCEPT_ENCODING;
+import static feign.Util.CONTENT_ENCODING;
+import static feign.Util.CONTENT_LENGTH;
+import static feign.Util.ENCODING_DEFLATE;
+import static feign.Util.ENCODING_GZIP;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import feign.Request.Options;
+
+/**
+ * Asks for {@code gzip} or {@code deflate} compressed responses, unless the request has an
+ * {@code Accept-Encoding} header already, and decompresses them as they are read. Decompressed
+ * responses have no {@code Content-Encoding} or {@code Content-Length} header, as with clients that
+ * decompress on their own.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .client(new DecompressingClient(new OkHttpClient()))
+ * </pre>
+ *
+ * When phases are {@link PhaseListener measured},
+ * {@link InvocationPhases#compressedResponseBytes()} reports the bytes received and
+ * {@link InvocationPhases#responseBytes()} the bytes they decompressed to.
+ *
+ * @see DecompressionCapability
+ */
+@Experimental
+public final class DecompressingClient implements DelegatingClient {
+
+  static final String ACCEPTED_ENCODINGS = ENCODING_GZIP + ", " + ENCODING_DEFLATE;
+
+  private final Client delegate;
+
+  public DecompressingClient(Client delegate) {
+    this.delegate = checkNotNull(delegate, "delegate");
+  }
+
+  @Override
+  public Response execute(Request request, Options options) throws IOException {
+    return decompress(delegate.execute(acceptEncoding(request), options));
+  }
+
+  @Override
+  public Client delegate() {
+    return delegate;
+  }
+
+  private static Request acceptEncoding(Request request) {
+    if (header(request.headers(), ACCEPT_ENCODING) != null) {
+      return request;
+    }
+    final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+    headers.put(ACCEPT_ENCODING, Collections.singletonList(ACCEPTED_ENCODINGS));
+    return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+        request.charset(), request.requestTemplate());
+  }
+
+  private static Response decompress(Response response) {
+    final Collection<String> encodings = header(response.headers(), CONTENT_ENCODING);
+    if (response.body() == null || encodings == null || encodings.size() != 1) {
+      return response;
+    }
+    final String encoding = encodings.iterator().next().trim().toLowerCase(Locale.ROOT);
+    final boolean gzip = encoding.equals(ENCODING_GZIP) || encoding.equals("x-gzip");
+    if (!gzip && !encoding.equals(ENCODING_DEFLATE)) {
+      return response; // identity, or an encoding the caller asked for and handles
+    }
+    final Map<String, Collection<String>> headers = new LinkedHashMap<>(response.headers());
+    headers.keySet().removeIf(
+        name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+    final InvocationPhases phases =
+        response.request() != null ? InvocationPhases.of(response.request()) : null;
+    return response.toBuilder()
+        .headers(headers)
+        .body(new DecompressedBody(response.body(), gzip, phases))
+        .build();
+  }
+
+  private static Collection<String> header(Map<String, Collection<String>> headers, String name) {
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static final class DecompressedBody implements Response.Body {
+
+    private final Response.Body compressed;
+    private final boolean gzip;
+    private final InvocationPhases phases;
+    private InputStream inputStream;
+
+    private DecompressedBody(Response.Body compressed, boolean gzip, InvocationPhases phases) {
+      this.compressed = compressed;
+      this.gzip = gzip;
+      this.phases = phases;
+    }
+
+    @Override
+    public Integer length() {
+      return null;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return false;
+    }
+
+    @Override
+    public InputStream asInputStream() throws IOException {
+      if (inputStream == null) {
+        inputStream = decompressing(compressed.asInputStream());
+      }
+      return inputStream;
+    }
+
+    @Override
+    public Reader asReader(Charset charset) throws IOException {
+      return new InputStreamReader(asInputStream(), charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (inputStream != null) {
+        ensureClosed(inputStream);
+      }
+      compressed.close();
+    }
+
+    private InputStream decompressing(InputStream in) throws IOException {
+      if (phases != null) {
+        in = new CountingInputStream(in, phases);
+      }
+      // peek at the header: bodies of HEAD or 204 responses may be empty despite their encoding
+      final PushbackInputStream pushback = new PushbackInputStream(in, 2);
+      final byte[] header = new byte[2];
+      int read = 0;
+      for (int n; read < 2 && (n = pushback.read(header, read, 2 - read)) != -1;) {
+        read += n;
+      }
+      if (read == 0) {
+        return pushback;
+      }
+      pushback.unread(header, 0, read);
+      if (gzip) {
+        return new GZIPInputStream(pushback);
+      }
+      // deflate is meant to be zlib wrapped, but some servers send raw deflate
+      final boolean zlib = read == 2 && (header[0] & 0x0f) == 8
+          && ((header[0] & 0xff) << 8 | (header[1] & 0xff)) % 31 == 0;
+      final Inflater inflater = new Inflater(!zlib);
+      return new InflaterInputStream(pushback, inflater) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            inflater.end();
+          }
+        }
+      };
+    }
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final InvocationPhases phases;
+
+    private CountingInputStream(InputStream in, InvocationPhases phases) {
+      super(in);
+      this.phases = phases;
+      phases.compressedBytesRead(0);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int result = in.read();
+      if (result != -1) {
+        phases.compressedBytesRead(1);
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int result = in.read(b, off, len);
+      if (result != -1) {
+        phases.compressedBytesRead(result);
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      final long result = in.skip(n);
+      phases.compressedBytesRead(result);
+      return result;
+    }
+  }
+}
@@ -115,6 +115,7 @@ public abstract class Feign {
     private boolean closeAfterDecode = true;
     private ExceptionPropagationPolicy propagationPolicy = NONE;
     private boolean forceDecoding = false;
+    private PhaseListener phaseListener = PhaseListener.NOOP;
     private List<Capability> capabilities = new ArrayList<>();
 
     public Builder logLevel(Logger.Level logLevel) {
@@ -248,6 +249,18 @@ public abstract class Feign {
       return this;
     }
 
+    /**
+     * Reports how long each phase of an invocation takes, from building the request to decoding the
+     * response.
+     *
+     * @see InvocationPhases
+     */
+    @Experimental
+    public Builder phaseListener(PhaseListener phaseListener) {
+      this.phaseListener = phaseListener;
+      return this;
+    }
+
     public Builder addCapability(Capability capability) {
       this.capabilities.add(capability);
       return this;
@@ -283,10 +296,15 @@ public abstract class Feign {
       InvocationHandlerFactory invocationHandlerFactory =
           Capability.enrich(this.invocationHandlerFactory, capabilities);
       QueryMapEncoder queryMapEncoder = Capability.enrich(this.queryMapEncoder, capabilities);
+      PhaseListener phaseListener = Capability.enrich(this.phaseListener, capabilities);
+      if (phaseListener != PhaseListener.NOOP) {
+        encoder = new InvocationPhases.TimedEncoder(encoder, phaseListener);
+      }
 
       SynchronousMethodHandler.Factory synchronousMethodHandlerFactory =
           new SynchronousMethodHandler.Factory(client, retryer, requestInterceptors, logger,
-              logLevel, decode404, closeAfterDecode, propagationPolicy, forceDecoding);
+              logLevel, decode404, closeAfterDecode, propagationPolicy, forceDecoding,
+              phaseListener);
       ParseHandlersByName handlersByName =
           new ParseHandlersByName(contract, options, encoder, decoder, queryMapEncoder,
               errorDecoder, synchronousMethodHandlerFactory);
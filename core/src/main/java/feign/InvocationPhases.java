@@ -0,0 +1,350 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+/**
+ * Time spent on each {@link Phase} of a single invocation, reported to a {@link PhaseListener}.
+ *
+ * <p>
+ * Instances travel with the {@link RequestTemplate} of the invocation, so {@link Client clients}
+ * can report the phases only they can observe:
+ *
+ * <pre>
+ * InvocationPhases phases = InvocationPhases.of(request);
+ * if (phases != null) {
+ *   long start = System.nanoTime();
+ *   connection.connect();
+ *   phases.recordSince(Phase.CONNECTION_ACQUIRE, start);
+ * }
+ * </pre>
+ *
+ * When a request is retried, durations are summed across attempts.
+ */
+@Experimental
+public final class InvocationPhases {
+
+  public enum Phase {
+    /**
+     * Building the {@link RequestTemplate} from the method arguments, excluding {@link #ENCODE}.
+     */
+    TEMPLATE,
+    /**
+     * Applying the {@link RequestInterceptor interceptors} and the {@link Target}.
+     */
+    INTERCEPTORS,
+    /**
+     * Running the {@link Encoder}.
+     */
+    ENCODE,
+    /**
+     * Executing the request, until the {@link Client} returns a response or fails.
+     */
+    EXECUTE,
+    /**
+     * Part of {@link #EXECUTE} spent opening or leasing a connection. Only reported by clients able
+     * to observe it.
+     */
+    CONNECTION_ACQUIRE,
+    /**
+     * Part of {@link #EXECUTE} between sending the request and receiving the response status. Only
+     * reported by clients able to observe it.
+     */
+    TIME_TO_FIRST_BYTE,
+    /**
+     * Blocked reading the response body, while logging or decoding it.
+     */
+    BODY_READ,
+    /**
+     * Running the {@link feign.codec.Decoder}, excluding {@link #BODY_READ}.
+     */
+    DECODE,
+    /**
+     * Waiting for the {@link Retryer} between attempts.
+     */
+    RETRY_WAIT
+  }
+
+  private final long[] nanos = new long[Phase.values().length];
+  private String configKey;
+  private Request request;
+  private int status = -1;
+  private int retries;
+  private long responseBytes;
+  private long compressedResponseBytes = -1;
+  private long totalNanos;
+  private Throwable error;
+  private Map<Class<?>, Object> attachments;
+
+  InvocationPhases() {}
+
+  /**
+   * Phases of the invocation that created the {@code request}.
+   *
+   * @return {@code null} when phases are not being measured.
+   */
+  public static InvocationPhases of(Request request) {
+    final RequestTemplate template = request.requestTemplate();
+    return template != null ? template.invocationPhases() : null;
+  }
+
+  /**
+   * Adds {@code nanos} to the time spent on {@code phase}.
+   */
+  public void record(Phase phase, long nanos) {
+    this.nanos[phase.ordinal()] += nanos;
+  }
+
+  /**
+   * Adds the time elapsed since {@code startNanos}, as given by {@link System#nanoTime()}.
+   */
+  public void recordSince(Phase phase, long startNanos) {
+    record(phase, System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Time spent on {@code phase}, in nanoseconds.
+   */
+  public long nanos(Phase phase) {
+    return nanos[phase.ordinal()];
+  }
+
+  /**
+   * Time spent on the whole invocation, in nanoseconds.
+   */
+  public long totalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * @see MethodMetadata#configKey()
+   */
+  public String configKey() {
+    return configKey;
+  }
+
+  /**
+   * The last request sent, or {@code null} if the invocation failed before one was built.
+   */
+  public Request request() {
+    return request;
+  }
+
+  /**
+   * Status of the last response, or {@code -1} if none was received.
+   */
+  public int status() {
+    return status;
+  }
+
+  public int retries() {
+    return retries;
+  }
+
+  /**
+   * Bytes read from the response body before the invocation completed.
+   */
+  public long responseBytes() {
+    return responseBytes;
+  }
+
+  /**
+   * Bytes read from the response body as received, before a {@link DecompressingClient}
+   * decompressed them into the {@link #responseBytes()}.
+   *
+   * @return {@code -1} if the response was not decompressed by Feign.
+   */
+  public long compressedResponseBytes() {
+    return compressedResponseBytes;
+  }
+
+  /**
+   * Cause of the failure, or {@code null} if the invocation succeeded.
+   */
+  public Throwable error() {
+    return error;
+  }
+
+  /**
+   * Attaches {@code value} to this invocation, so a {@link PhaseListener} can find it again once
+   * the invocation completes.
+   */
+  public <T> void attach(Class<T> type, T value) {
+    if (attachments == null) {
+      attachments = new HashMap<>();
+    }
+    attachments.put(type, type.cast(value));
+  }
+
+  /**
+   * The value attached for {@code type}, or {@code null} if none was.
+   */
+  public <T> T attachment(Class<T> type) {
+    return attachments != null ? type.cast(attachments.get(type)) : null;
+  }
+
+  void configKey(String configKey) {
+    this.configKey = configKey;
+  }
+
+  void request(Request request) {
+    this.request = request;
+  }
+
+  void status(int status) {
+    this.status = status;
+  }
+
+  void compressedBytesRead(long bytes) {
+    if (compressedResponseBytes < 0) {
+      compressedResponseBytes = 0;
+    }
+    compressedResponseBytes += bytes;
+  }
+
+  void retried() {
+    retries++;
+  }
+
+  void complete(long startNanos, Throwable error) {
+    this.totalNanos = System.nanoTime() - startNanos;
+    this.error = error;
+  }
+
+  /**
+   * Wraps the body so time blocked on reads is recorded as {@link Phase#BODY_READ}.
+   */
+  Response.Body timed(Response.Body body) {
+    return body != null ? new TimedBody(body) : null;
+  }
+
+  private final class TimedBody implements Response.Body {
+
+    private final Response.Body delegate;
+
+    private TimedBody(Response.Body delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Integer length() {
+      return delegate.length();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return delegate.isRepeatable();
+    }
+
+    @Override
+    public InputStream asInputStream() throws IOException {
+      return new TimedInputStream(delegate.asInputStream());
+    }
+
+    @Override
+    public Reader asReader(Charset charset) throws IOException {
+      return new InputStreamReader(asInputStream(), charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+
+  private final class TimedInputStream extends FilterInputStream {
+
+    private TimedInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final long start = System.nanoTime();
+      final int result = in.read();
+      recordSince(Phase.BODY_READ, start);
+      if (result != -1) {
+        responseBytes++;
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final long start = System.nanoTime();
+      final int result = in.read(b, off, len);
+      recordSince(Phase.BODY_READ, start);
+      if (result != -1) {
+        responseBytes += result;
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      final long start = System.nanoTime();
+      final long result = in.skip(n);
+      recordSince(Phase.BODY_READ, start);
+      responseBytes += result;
+      return result;
+    }
+  }
+
+  /**
+   * Records the time spent in the {@code delegate} as {@link Phase#ENCODE}. Encoding happens while
+   * the template is being built, before the invocation can attach its phases, so the time is
+   * recorded on phases of its own that the invocation adds up.
+   */
+  static final class TimedEncoder implements Encoder {
+
+    private final Encoder delegate;
+    private final PhaseListener phaseListener;
+
+    TimedEncoder(Encoder delegate, PhaseListener phaseListener) {
+      this.delegate = delegate;
+      this.phaseListener = phaseListener;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template)
+        throws EncodeException {
+      InvocationPhases phases = template.invocationPhases();
+      if (phases == null) {
+        if (!phaseListener.isEnabled()) {
+          delegate.encode(object, bodyType, template);
+          return;
+        }
+        phases = new InvocationPhases();
+        template.invocationPhases(phases);
+      }
+      final long start = System.nanoTime();
+      try {
+        delegate.encode(object, bodyType, template);
+      } finally {
+        phases.recordSince(Phase.ENCODE, start);
+      }
+    }
+  }
+}
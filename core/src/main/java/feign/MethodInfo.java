@@ -18,13 +18,22 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * How {@link AsyncFeign} invokes a method, as resolved by a {@link MethodInfoResolver}.
+ */
 @Experimental
-class MethodInfo {
+public class MethodInfo {
   private final String configKey;
   private final Type underlyingReturnType;
   private final boolean asyncReturnType;
 
-  MethodInfo(String configKey, Type underlyingReturnType, boolean asyncReturnType) {
+  /**
+   * @param configKey of the method, see {@link Feign#configKey(Class, Method)}.
+   * @param underlyingReturnType the type responses are decoded to.
+   * @param asyncReturnType whether the method returns a {@link CompletableFuture} of the decoded
+   *        result, rather than the result itself.
+   */
+  public MethodInfo(String configKey, Type underlyingReturnType, boolean asyncReturnType) {
     this.configKey = configKey;
     this.underlyingReturnType = underlyingReturnType;
     this.asyncReturnType = asyncReturnType;
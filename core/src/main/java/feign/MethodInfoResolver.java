@@ -0,0 +1,33 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import java.lang.reflect.Method;
+
+/**
+ * Decides how {@link AsyncFeign} treats the methods of a target interface: which type responses are
+ * decoded to, and whether the method returns the future of the decoded result or waits for it.
+ *
+ * <p>
+ * The default recognizes {@link java.util.concurrent.CompletableFuture} return types. Libraries
+ * adapting other asynchronous types, such as reactive publishers, resolve them as asynchronous and
+ * convert the returned future themselves.
+ */
+@Experimental
+public interface MethodInfoResolver {
+
+  MethodInfoResolver DEFAULT = MethodInfo::new;
+
+  MethodInfo resolve(Class<?> targetType, Method method);
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+/**
+ * Receives the latency breakdown of each invocation, for example to find out whether time goes to
+ * the network, to the {@link feign.codec.Decoder decoder} or to the {@link RequestInterceptor
+ * interceptors}.
+ *
+ * <p>
+ * Phases are only measured when a listener other than {@link #NOOP} is configured and
+ * {@link #isEnabled() enabled}, so there is no cost for clients that do not use this feature.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .phaseListener(phases -> histogram(phases.configKey(), Phase.DECODE)
+ *         .update(phases.nanos(Phase.DECODE)))
+ * </pre>
+ *
+ * Implementations must be thread-safe, and should return quickly: they are called on the thread
+ * that completed the invocation.
+ */
+@Experimental
+public interface PhaseListener {
+
+  /**
+   * Disables phase measurement.
+   */
+  PhaseListener NOOP = new PhaseListener() {
+    @Override
+    public void onInvocation(InvocationPhases phases) {}
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+  };
+
+  /**
+   * Called once per invocation, before its template is built, with the phases that
+   * {@link #onInvocation(InvocationPhases)} will receive. Listeners can
+   * {@link InvocationPhases#attach(Class, Object) attach} state to them, for example to time the
+   * whole call.
+   *
+   * @param phases of the starting invocation.
+   */
+  default void onStart(InvocationPhases phases) {}
+
+  /**
+   * Called once per invocation, after the result was decoded or the invocation failed.
+   *
+   * @param phases of the completed invocation.
+   */
+  void onInvocation(InvocationPhases phases);
+
+  /**
+   * Checked before each invocation starts: while {@code false}, its phases are not measured and
+   * {@link #onInvocation(InvocationPhases)} is not called for it.
+   *
+   * @return {@code true} by default.
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+}
@@ -52,8 +52,13 @@ public class ReflectiveAsyncFeign<C> extends AsyncFeign<C> {
         return toString();
       }
 
-      final MethodInfo methodInfo =
-          methodInfoLookup.computeIfAbsent(method, m -> new MethodInfo(type, m));
+      final MethodInfo methodInfo = methodInfoLookup.computeIfAbsent(method, m -> {
+        if (!Modifier.isPublic(type.getModifiers())) {
+          // the proxied instance implements a non-public interface
+          m.setAccessible(true);
+        }
+        return methodInfoResolver.resolve(type, m);
+      });
 
       setInvocationContext(new AsyncInvocation<C>(context, methodInfo));
       try {
@@ -194,6 +194,14 @@ public final class Request {
     return body.isBinary();
   }
 
+  /**
+   * Whether the body was already compressed with its {@code Content-Encoding}, by
+   * {@link CompressionCapability}.
+   */
+  boolean isCompressed() {
+    return body != null && body.compressed;
+  }
+
   /**
    * Request Length.
    *
@@ -378,6 +386,7 @@ public final class Request {
 
     private Charset encoding;
     private byte[] data;
+    private boolean compressed;
 
     private Body() {
       super();
@@ -450,5 +459,15 @@ public final class Request {
       return new Body();
     }
 
+    /**
+     * Binary {@code data} compressed with the {@code Content-Encoding} of the request, which
+     * clients send as is.
+     */
+    static Body compressed(byte[] data) {
+      final Body body = new Body(data);
+      body.compressed = true;
+      return body;
+    }
+
   }
 }
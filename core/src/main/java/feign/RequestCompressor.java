@@ -0,0 +1,95 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.ENCODING_DEFLATE;
+import static feign.Util.ENCODING_GZIP;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses request bodies with {@link Deflater deflaters} taken from a bounded pool. Creating a
+ * deflater allocates native memory that is only released by {@link Deflater#end()}, so reusing them
+ * is cheaper than creating a {@link java.util.zip.GZIPOutputStream} per request.
+ */
+final class RequestCompressor {
+
+  static final RequestCompressor GZIP =
+      new RequestCompressor(true, Deflater.DEFAULT_COMPRESSION, poolSize());
+  static final RequestCompressor DEFLATE =
+      new RequestCompressor(false, Deflater.DEFAULT_COMPRESSION, poolSize());
+
+  private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0,
+      0, (byte) 0xff};
+
+  private final boolean gzip;
+  private final int level;
+  private final BlockingQueue<Deflater> pool;
+
+  RequestCompressor(boolean gzip, int level, int poolSize) {
+    this.gzip = gzip;
+    this.level = level;
+    this.pool = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  static int poolSize() {
+    return Runtime.getRuntime().availableProcessors() * 2;
+  }
+
+  String encoding() {
+    return gzip ? ENCODING_GZIP : ENCODING_DEFLATE;
+  }
+
+  byte[] compress(byte[] data) {
+    Deflater deflater = pool.poll();
+    if (deflater == null) {
+      // gzip adds its own header and trailer around raw deflate
+      deflater = new Deflater(level, gzip);
+    }
+    try {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 32);
+      if (gzip) {
+        out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+      }
+      deflater.setInput(data);
+      deflater.finish();
+      final byte[] buffer = new byte[Math.min(8192, data.length + 64)];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      if (gzip) {
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        writeIntLittleEndian(out, (int) crc.getValue());
+        writeIntLittleEndian(out, data.length);
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.reset();
+      if (!pool.offer(deflater)) {
+        deflater.end();
+      }
+    }
+  }
+
+  private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+    out.write(value);
+    out.write(value >>> 8);
+    out.write(value >>> 16);
+    out.write(value >>> 24);
+  }
+}
@@ -50,6 +50,9 @@ public final class RequestTemplate implements Serializable {
   private CollectionFormat collectionFormat = CollectionFormat.EXPLODED;
   private MethodMetadata methodMetadata;
   private Target<?> feignTarget;
+  private InvocationPhases invocationPhases;
+  // decided by SamplingLogger for each attempt, so it logs the response of a sampled request
+  private boolean sampled;
 
   /**
    * Create a new Request Template.
@@ -126,6 +129,7 @@ public final class RequestTemplate implements Serializable {
     if (!requestTemplate.headers().isEmpty()) {
       template.headers.putAll(requestTemplate.headers);
     }
+    template.invocationPhases = requestTemplate.invocationPhases;
     return template;
   }
 
@@ -154,6 +158,7 @@ public final class RequestTemplate implements Serializable {
     this.methodMetadata = toCopy.methodMetadata;
     this.target = toCopy.target;
     this.feignTarget = toCopy.feignTarget;
+    this.invocationPhases = toCopy.invocationPhases;
   }
 
   /**
@@ -1013,6 +1018,30 @@ public final class RequestTemplate implements Serializable {
     return feignTarget;
   }
 
+  /**
+   * Phases of the invocation this template was built for.
+   *
+   * @return {@code null} unless a {@link PhaseListener} is configured.
+   */
+  @Experimental
+  public InvocationPhases invocationPhases() {
+    return invocationPhases;
+  }
+
+  RequestTemplate invocationPhases(InvocationPhases invocationPhases) {
+    this.invocationPhases = invocationPhases;
+    return this;
+  }
+
+  boolean isSampled() {
+    return sampled;
+  }
+
+  RequestTemplate sampled(boolean sampled) {
+    this.sampled = sampled;
+    return this;
+  }
+
   /**
    * Factory for creating RequestTemplate.
    */
@@ -0,0 +1,269 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs only a sample of the calls of each method through a {@code delegate}, so verbose levels can
+ * be used on busy clients. Calls are sampled one in N, and/or up to a rate, per method. Status
+ * rules log matching responses at their own level, whether or not the call was sampled:
+ *
+ * <pre>
+ * Feign.builder()
+ *     .logger(SamplingLogger.builder(new Slf4jLogger())
+ *         .sampleOneIn(100)
+ *         .rateLimit("GitHub#contributors(String,String)", 1)
+ *         .statusLevel(500, 599, Logger.Level.FULL)
+ *         .build())
+ *     .logLevel(Logger.Level.BASIC)
+ * </pre>
+ *
+ * Calls that are not logged are neither formatted nor rebuffered. Retries and I/O errors are always
+ * logged.
+ */
+@Experimental
+public final class SamplingLogger extends Logger {
+
+  private final Logger delegate;
+  private final Sampler defaultSampler;
+  private final Map<String, Sampler> samplers;
+  private final List<StatusRule> statusRules;
+  private final ConcurrentMap<String, Sampler> samplersByConfigKey = new ConcurrentHashMap<>();
+
+  private SamplingLogger(Builder builder) {
+    this.delegate = builder.delegate;
+    this.defaultSampler = builder.defaultSampler;
+    this.samplers = new HashMap<>(builder.samplers);
+    this.statusRules = new ArrayList<>(builder.statusRules);
+  }
+
+  public static Builder builder(Logger delegate) {
+    return new Builder(delegate);
+  }
+
+  @Override
+  protected void log(String configKey, String format, Object... args) {
+    delegate.log(configKey, format, args);
+  }
+
+  @Override
+  protected void logRequest(String configKey, Level logLevel, Request request) {
+    final boolean sampled = sampler(configKey).sample();
+    if (request.requestTemplate() != null) {
+      request.requestTemplate().sampled(sampled);
+    }
+    if (sampled) {
+      delegate.logRequest(configKey, logLevel, request);
+    }
+  }
+
+  @Override
+  protected void logRetry(String configKey, Level logLevel) {
+    delegate.logRetry(configKey, logLevel);
+  }
+
+  @Override
+  protected Response logAndRebufferResponse(String configKey,
+                                            Level logLevel,
+                                            Response response,
+                                            long elapsedTime)
+      throws IOException {
+    final boolean sampled = response.request() != null
+        && response.request().requestTemplate() != null
+        && response.request().requestTemplate().isSampled();
+    final StatusRule rule = statusRule(response.status());
+    if (rule != null) {
+      return rule.level == Level.NONE
+          ? response
+          : delegate.logAndRebufferResponse(configKey, rule.level, response, elapsedTime);
+    }
+    return sampled
+        ? delegate.logAndRebufferResponse(configKey, logLevel, response, elapsedTime)
+        : response;
+  }
+
+  @Override
+  protected IOException logIOException(String configKey,
+                                       Level logLevel,
+                                       IOException ioe,
+                                       long elapsedTime) {
+    return delegate.logIOException(configKey, logLevel, ioe, elapsedTime);
+  }
+
+  private Sampler sampler(String configKey) {
+    final Sampler sampler = samplersByConfigKey.get(configKey);
+    if (sampler != null) {
+      return sampler;
+    }
+    return samplersByConfigKey.computeIfAbsent(configKey, key -> {
+      final Sampler configured = samplers.get(key);
+      return configured != null ? configured.copy() : defaultSampler.copy();
+    });
+  }
+
+  private StatusRule statusRule(int status) {
+    for (int i = 0; i < statusRules.size(); i++) {
+      final StatusRule rule = statusRules.get(i);
+      if (status >= rule.from && status <= rule.to) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  public static final class Builder {
+
+    private final Logger delegate;
+    private Sampler defaultSampler = new Sampler(1, 0);
+    private final Map<String, Sampler> samplers = new HashMap<>();
+    private final List<StatusRule> statusRules = new ArrayList<>();
+
+    private Builder(Logger delegate) {
+      this.delegate = checkNotNull(delegate, "delegate");
+    }
+
+    /**
+     * Logs one in {@code n} calls of each method.
+     */
+    public Builder sampleOneIn(long n) {
+      defaultSampler = defaultSampler.oneIn(n);
+      return this;
+    }
+
+    /**
+     * Logs one in {@code n} calls of the method with the given {@link MethodMetadata#configKey()}.
+     */
+    public Builder sampleOneIn(String configKey, long n) {
+      samplers.put(configKey, sampler(configKey).oneIn(n));
+      return this;
+    }
+
+    /**
+     * Logs at most {@code permitsPerSecond} calls of each method per second.
+     */
+    public Builder rateLimit(double permitsPerSecond) {
+      defaultSampler = defaultSampler.rateLimit(permitsPerSecond);
+      return this;
+    }
+
+    /**
+     * Logs at most {@code permitsPerSecond} calls per second of the method with the given
+     * {@link MethodMetadata#configKey()}.
+     */
+    public Builder rateLimit(String configKey, double permitsPerSecond) {
+      samplers.put(configKey, sampler(configKey).rateLimit(permitsPerSecond));
+      return this;
+    }
+
+    /**
+     * Logs responses with a status between {@code from} and {@code to}, inclusive, at
+     * {@code level}, whether or not their call was sampled. {@link Level#NONE} suppresses them. The
+     * first matching rule applies.
+     */
+    public Builder statusLevel(int from, int to, Level level) {
+      checkArgument(from <= to, "from must not be greater than to");
+      statusRules.add(new StatusRule(from, to, checkNotNull(level, "level")));
+      return this;
+    }
+
+    public SamplingLogger build() {
+      return new SamplingLogger(this);
+    }
+
+    private Sampler sampler(String configKey) {
+      return samplers.getOrDefault(checkNotNull(configKey, "configKey"), defaultSampler);
+    }
+  }
+
+  private static final class StatusRule {
+
+    private final int from;
+    private final int to;
+    private final Level level;
+
+    private StatusRule(int from, int to, Level level) {
+      this.from = from;
+      this.to = to;
+      this.level = level;
+    }
+  }
+
+  /**
+   * Samples one in {@link #oneIn} calls, then limits them to {@link #permitsPerSecond} using a
+   * lock-free token bucket holding up to one second of permits.
+   */
+  private static final class Sampler {
+
+    private final long oneIn;
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong nextPermitNanos = new AtomicLong(System.nanoTime());
+
+    private Sampler(long oneIn, double permitsPerSecond) {
+      checkArgument(oneIn > 0, "n must be positive");
+      checkArgument(permitsPerSecond >= 0, "permitsPerSecond must not be negative");
+      this.oneIn = oneIn;
+      this.permitsPerSecond = permitsPerSecond;
+      this.intervalNanos =
+          permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+      this.burstNanos = Math.max(intervalNanos, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    Sampler oneIn(long oneIn) {
+      return new Sampler(oneIn, permitsPerSecond);
+    }
+
+    Sampler rateLimit(double permitsPerSecond) {
+      checkArgument(permitsPerSecond > 0, "permitsPerSecond must be positive");
+      return new Sampler(oneIn, permitsPerSecond);
+    }
+
+    Sampler copy() {
+      return new Sampler(oneIn, permitsPerSecond);
+    }
+
+    boolean sample() {
+      if (oneIn > 1 && calls.getAndIncrement() % oneIn != 0) {
+        return false;
+      }
+      return intervalNanos == 0 || tryAcquire();
+    }
+
+    private boolean tryAcquire() {
+      final long now = System.nanoTime();
+      while (true) {
+        final long next = nextPermitNanos.get();
+        if (next - now > burstNanos - intervalNanos) {
+          return false;
+        }
+        if (nextPermitNanos.compareAndSet(next, Math.max(next, now) + intervalNanos)) {
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.UTF_8;
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+import static feign.Util.valuesOrEmpty;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Logs through a {@code delegate} without buffering response bodies. Instead of reading the whole
+ * body up front, the body is logged as it is consumed: at most {@code maxBodyBytes} are captured
+ * for the log, and the end of the response is logged once the body is read or closed.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .logger(new StreamingLogger(new Slf4jLogger(), 4096))
+ *     .logLevel(Logger.Level.FULL)
+ * </pre>
+ *
+ * Request bodies are truncated to {@code maxBodyBytes} as well.
+ */
+@Experimental
+public class StreamingLogger extends Logger {
+
+  private final Logger delegate;
+  private final int maxBodyBytes;
+
+  public StreamingLogger(Logger delegate) {
+    this(delegate, 4096);
+  }
+
+  /**
+   * @param maxBodyBytes largest part of a request or response body logged at {@link Level#FULL}.
+   */
+  public StreamingLogger(Logger delegate, int maxBodyBytes) {
+    checkArgument(maxBodyBytes >= 0, "maxBodyBytes must not be negative");
+    this.delegate = checkNotNull(delegate, "delegate");
+    this.maxBodyBytes = maxBodyBytes;
+  }
+
+  @Override
+  protected void log(String configKey, String format, Object... args) {
+    delegate.log(configKey, format, args);
+  }
+
+  @Override
+  protected void logRequest(String configKey, Level logLevel, Request request) {
+    log(configKey, "---> %s %s HTTP/1.1", request.httpMethod().name(), request.url());
+    if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+      logHeaders(configKey, request.headers());
+
+      int bodyLength = 0;
+      if (request.body() != null) {
+        bodyLength = request.length();
+        if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+          log(configKey, ""); // CRLF
+          final int length = Math.min(bodyLength, maxBodyBytes);
+          log(configKey, "%s", request.charset() != null
+              ? decode(request.body(), length, request.charset(), bodyLength - length)
+              : "Binary data");
+        }
+      }
+      log(configKey, "---> END HTTP (%s-byte body)", bodyLength);
+    }
+  }
+
+  @Override
+  protected void logRetry(String configKey, Level logLevel) {
+    delegate.logRetry(configKey, logLevel);
+  }
+
+  @Override
+  protected Response logAndRebufferResponse(String configKey,
+                                            Level logLevel,
+                                            Response response,
+                                            long elapsedTime) {
+    String reason =
+        response.reason() != null && logLevel.compareTo(Level.NONE) > 0 ? " " + response.reason()
+            : "";
+    int status = response.status();
+    log(configKey, "<--- HTTP/1.1 %s%s (%sms)", status, reason, elapsedTime);
+    if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+      logHeaders(configKey, response.headers());
+
+      if (response.body() != null && !(status == 204 || status == 205)) {
+        if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+          log(configKey, ""); // CRLF
+        }
+        return response.toBuilder()
+            .body(new LoggedBody(configKey, logLevel, response.body()))
+            .build();
+      }
+      log(configKey, "<--- END HTTP (%s-byte body)", 0);
+    }
+    return response;
+  }
+
+  @Override
+  protected IOException logIOException(String configKey,
+                                       Level logLevel,
+                                       IOException ioe,
+                                       long elapsedTime) {
+    return delegate.logIOException(configKey, logLevel, ioe, elapsedTime);
+  }
+
+  private void logHeaders(String configKey, Map<String, Collection<String>> headers) {
+    for (String field : headers.keySet()) {
+      for (String value : valuesOrEmpty(headers, field)) {
+        log(configKey, "%s: %s", field, value);
+      }
+    }
+  }
+
+  /**
+   * Decodes the first {@code length} bytes of a body, followed by a note on the {@code remaining}
+   * bytes if any, or {@code -1} if unknown. A character cut in half by the limit is dropped rather
+   * than reported as malformed.
+   */
+  private static String decode(byte[] data, int length, Charset charset, long remaining) {
+    final boolean truncated = remaining != 0;
+    final CharsetDecoder decoder = charset.newDecoder();
+    final CharBuffer chars =
+        CharBuffer.allocate((int) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+    if (decoder.decode(ByteBuffer.wrap(data, 0, length), chars, !truncated).isError()
+        || (!truncated && decoder.flush(chars).isError())) {
+      return "Binary data";
+    }
+    chars.flip();
+    if (!truncated) {
+      return chars.toString();
+    }
+    final StringBuilder text = new StringBuilder(chars.length() + 24).append(chars).append("...");
+    if (remaining > 0) {
+      text.append(" (").append(remaining).append(" more bytes)");
+    }
+    return text.toString();
+  }
+
+  /**
+   * Captures the start of the body as it is read, and logs it when the body is exhausted or closed.
+   */
+  private final class LoggedBody implements Response.Body {
+
+    private final String configKey;
+    private final Level logLevel;
+    private final Response.Body delegate;
+    private byte[] captured;
+    private int capturedLength;
+    private long bodyLength;
+    private boolean logged;
+
+    private LoggedBody(String configKey, Level logLevel, Response.Body delegate) {
+      this.configKey = configKey;
+      this.logLevel = logLevel;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Integer length() {
+      return delegate.length();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return false;
+    }
+
+    @Override
+    public InputStream asInputStream() throws IOException {
+      return new LoggedInputStream(this, delegate.asInputStream());
+    }
+
+    @Override
+    public Reader asReader(Charset charset) throws IOException {
+      return new InputStreamReader(asInputStream(), charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        delegate.close();
+      } finally {
+        logEnd(false);
+      }
+    }
+
+    private void capture(int b) {
+      bodyLength++;
+      if (capturing()) {
+        captured[capturedLength++] = (byte) b;
+      }
+    }
+
+    private void capture(byte[] b, int off, int len) {
+      bodyLength += len;
+      if (capturing()) {
+        final int count = Math.min(len, captured.length - capturedLength);
+        System.arraycopy(b, off, captured, capturedLength, count);
+        capturedLength += count;
+      }
+    }
+
+    private boolean capturing() {
+      if (logLevel.ordinal() < Level.FULL.ordinal()) {
+        return false;
+      }
+      if (captured == null) {
+        final Integer length = delegate.length();
+        captured = new byte[length != null ? Math.min(length, maxBodyBytes) : maxBodyBytes];
+      }
+      return capturedLength < captured.length;
+    }
+
+    private void skipped(long count) {
+      bodyLength += count;
+    }
+
+    private void logEnd(boolean exhausted) {
+      if (logged) {
+        return;
+      }
+      logged = true;
+      // decoders often stop reading at the end of the content, before seeing the end of stream
+      final Integer length = delegate.length();
+      exhausted |= length != null && length == bodyLength;
+      if (capturedLength > 0) {
+        log(configKey, "%s", decode(captured, capturedLength, UTF_8,
+            exhausted ? bodyLength - capturedLength : -1));
+      }
+      if (exhausted) {
+        log(configKey, "<--- END HTTP (%s-byte body)", bodyLength);
+      } else {
+        log(configKey, "<--- END HTTP (%s bytes read before close)", bodyLength);
+      }
+    }
+  }
+
+  private static final class LoggedInputStream extends FilterInputStream {
+
+    private final LoggedBody body;
+
+    private LoggedInputStream(LoggedBody body, InputStream in) {
+      super(in);
+      this.body = body;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int result = in.read();
+      if (result == -1) {
+        body.logEnd(true);
+      } else {
+        body.capture(result);
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int result = in.read(b, off, len);
+      if (result == -1) {
+        body.logEnd(true);
+      } else {
+        body.capture(b, off, result);
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      final long result = in.skip(n);
+      body.skipped(result);
+      return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        body.logEnd(false);
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import feign.InvocationHandlerFactory.MethodHandler;
+import feign.InvocationPhases.Phase;
 import feign.Request.Options;
 import feign.codec.Decoder;
 import feign.codec.ErrorDecoder;
@@ -41,6 +42,8 @@ final class SynchronousMethodHandler implements MethodHandler {
   private final RequestTemplate.Factory buildTemplateFromArgs;
   private final Options options;
   private final ExceptionPropagationPolicy propagationPolicy;
+  // null when phases are not measured
+  private final PhaseListener phaseListener;
 
   // only one of decoder and asyncResponseHandler will be non-null
   private final Decoder decoder;
@@ -53,7 +56,7 @@ final class SynchronousMethodHandler implements MethodHandler {
       RequestTemplate.Factory buildTemplateFromArgs, Options options,
       Decoder decoder, ErrorDecoder errorDecoder, boolean decode404,
       boolean closeAfterDecode, ExceptionPropagationPolicy propagationPolicy,
-      boolean forceDecoding) {
+      boolean forceDecoding, PhaseListener phaseListener) {
 
     this.target = checkNotNull(target, "target");
     this.client = checkNotNull(client, "client for %s", target);
@@ -66,6 +69,7 @@ final class SynchronousMethodHandler implements MethodHandler {
     this.buildTemplateFromArgs = checkNotNull(buildTemplateFromArgs, "metadata for %s", target);
     this.options = checkNotNull(options, "options for %s", target);
     this.propagationPolicy = propagationPolicy;
+    this.phaseListener = phaseListener != PhaseListener.NOOP ? phaseListener : null;
 
     if (forceDecoding) {
       // internal only: usual handling will be short-circuited, and all responses will be passed to
@@ -81,13 +85,55 @@ final class SynchronousMethodHandler implements MethodHandler {
 
   @Override
   public Object invoke(Object[] argv) throws Throwable {
-    RequestTemplate template = buildTemplateFromArgs.create(argv);
+    if (phaseListener == null) {
+      return invoke(buildTemplateFromArgs.create(argv), argv);
+    }
+    if (!phaseListener.isEnabled()) {
+      final RequestTemplate template = buildTemplateFromArgs.create(argv);
+      // the encoder may have started measuring, if the listener was enabled meanwhile
+      template.invocationPhases(null);
+      return invoke(template, argv);
+    }
+
+    final long start = System.nanoTime();
+    final InvocationPhases phases = new InvocationPhases();
+    phases.configKey(metadata.configKey());
+    phaseListener.onStart(phases);
+    final RequestTemplate template = buildTemplateFromArgs.create(argv);
+    final InvocationPhases encoded = template.invocationPhases();
+    if (encoded != null) {
+      // attached by the encoder, which only measured ENCODE
+      phases.record(Phase.ENCODE, encoded.nanos(Phase.ENCODE));
+    }
+    template.invocationPhases(phases);
+    phases.record(Phase.TEMPLATE, System.nanoTime() - start - phases.nanos(Phase.ENCODE));
+
+    if (decoder != null) {
+      // internal only: the decoder completes the invocation, so it reports the phases
+      return invoke(template, argv);
+    }
+
+    Throwable error = null;
+    try {
+      return invoke(template, argv);
+    } catch (Throwable e) {
+      error = e;
+      throw e;
+    } finally {
+      phases.complete(start, error);
+      phaseListener.onInvocation(phases);
+    }
+  }
+
+  private Object invoke(RequestTemplate template, Object[] argv) throws Throwable {
     Options options = findOptions(argv);
     Retryer retryer = this.retryer.clone();
+    InvocationPhases phases = template.invocationPhases();
     while (true) {
       try {
         return executeAndDecode(template, options);
       } catch (RetryableException e) {
+        long waitStart = phases != null ? System.nanoTime() : 0;
         try {
           retryer.continueOrPropagate(e);
         } catch (RetryableException th) {
@@ -97,6 +143,13 @@ final class SynchronousMethodHandler implements MethodHandler {
           } else {
             throw th;
           }
+        } finally {
+          if (phases != null) {
+            phases.recordSince(Phase.RETRY_WAIT, waitStart);
+          }
+        }
+        if (phases != null) {
+          phases.retried();
         }
         if (logLevel != Logger.Level.NONE) {
           logger.logRetry(metadata.configKey(), logLevel);
@@ -107,7 +160,13 @@ final class SynchronousMethodHandler implements MethodHandler {
   }
 
   Object executeAndDecode(RequestTemplate template, Options options) throws Throwable {
+    InvocationPhases phases = template.invocationPhases();
+    long interceptorsStart = phases != null ? System.nanoTime() : 0;
     Request request = targetRequest(template);
+    if (phases != null) {
+      phases.recordSince(Phase.INTERCEPTORS, interceptorsStart);
+      phases.request(request);
+    }
 
     if (logLevel != Logger.Level.NONE) {
       logger.logRequest(metadata.configKey(), logLevel, request);
@@ -123,12 +182,20 @@ final class SynchronousMethodHandler implements MethodHandler {
           .requestTemplate(template)
           .build();
     } catch (IOException e) {
+      if (phases != null) {
+        phases.recordSince(Phase.EXECUTE, start);
+      }
       if (logLevel != Logger.Level.NONE) {
         logger.logIOException(metadata.configKey(), logLevel, e, elapsedTime(start));
       }
       throw errorExecuting(request, e);
     }
-    long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    long elapsedNanos = System.nanoTime() - start;
+    long elapsedTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    if (phases != null && decoder == null) {
+      // when forcing decoding, the response is only available once the decoder runs
+      phases.record(Phase.EXECUTE, elapsedNanos);
+    }
 
 
     if (decoder != null)
@@ -185,10 +252,12 @@ final class SynchronousMethodHandler implements MethodHandler {
     private final boolean closeAfterDecode;
     private final ExceptionPropagationPolicy propagationPolicy;
     private final boolean forceDecoding;
+    private final PhaseListener phaseListener;
 
     Factory(Client client, Retryer retryer, List<RequestInterceptor> requestInterceptors,
         Logger logger, Logger.Level logLevel, boolean decode404, boolean closeAfterDecode,
-        ExceptionPropagationPolicy propagationPolicy, boolean forceDecoding) {
+        ExceptionPropagationPolicy propagationPolicy, boolean forceDecoding,
+        PhaseListener phaseListener) {
       this.client = checkNotNull(client, "client");
       this.retryer = checkNotNull(retryer, "retryer");
       this.requestInterceptors = checkNotNull(requestInterceptors, "requestInterceptors");
@@ -198,6 +267,7 @@ final class SynchronousMethodHandler implements MethodHandler {
       this.closeAfterDecode = closeAfterDecode;
       this.propagationPolicy = propagationPolicy;
       this.forceDecoding = forceDecoding;
+      this.phaseListener = checkNotNull(phaseListener, "phaseListener");
     }
 
     public MethodHandler create(Target<?> target,
@@ -208,7 +278,8 @@ final class SynchronousMethodHandler implements MethodHandler {
                                 ErrorDecoder errorDecoder) {
       return new SynchronousMethodHandler(target, client, retryer, requestInterceptors, logger,
           logLevel, md, buildTemplateFromArgs, options, decoder,
-          errorDecoder, decode404, closeAfterDecode, propagationPolicy, forceDecoding);
+          errorDecoder, decode404, closeAfterDecode, propagationPolicy, forceDecoding,
+          phaseListener);
     }
   }
 }
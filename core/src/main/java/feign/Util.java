@@ -57,6 +57,10 @@ public class Util {
    * The HTTP Content-Encoding header field name.
    */
   public static final String CONTENT_ENCODING = "Content-Encoding";
+  /**
+   * The HTTP Accept-Encoding header field name.
+   */
+  public static final String ACCEPT_ENCODING = "Accept-Encoding";
   /**
    * The HTTP Retry-After header field name.
    */
@@ -0,0 +1,151 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import static feign.Util.ensureClosed;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily decodes the elements of a delimited body, each one with the element decoder. The response
+ * is closed once the last element was read, when decoding fails, or when the iterator is closed.
+ */
+abstract class ElementIterator implements Iterator<Object>, Closeable {
+
+  private final Response response;
+  private final Decoder decoder;
+  private final Type elementType;
+  final LineReader lines;
+
+  private Object next;
+  private boolean ready;
+  private boolean closed;
+
+  ElementIterator(Response response, Decoder decoder, Type elementType) throws IOException {
+    this.response = response;
+    this.decoder = decoder;
+    this.elementType = elementType;
+    this.lines = new LineReader(response.body().asInputStream());
+  }
+
+  /**
+   * Reads the next element, then available through {@link #element()}.
+   *
+   * @return false at the end of the body.
+   */
+  abstract boolean readElement() throws IOException;
+
+  /**
+   * The body of the element read last, valid until the next call to {@link #readElement()}.
+   */
+  abstract ByteArrayInputStream element();
+
+  @Override
+  public boolean hasNext() {
+    if (ready) {
+      return true;
+    }
+    if (closed) {
+      return false;
+    }
+    try {
+      if (!readElement()) {
+        close();
+        return false;
+      }
+      ByteArrayInputStream element = element();
+      next = decoder.decode(response.toBuilder()
+          .body(element, element.available())
+          .build(), elementType);
+      ready = true;
+      return true;
+    } catch (IOException e) {
+      close();
+      throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  @Override
+  public Object next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Object element = next;
+    next = null;
+    ready = false;
+    return element;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    ready = false;
+    next = null;
+    ensureClosed(lines);
+    ensureClosed(response);
+  }
+
+  /**
+   * The type of the elements of {@code Iterator<T>} or {@code Stream<T>}, or null for other types.
+   */
+  static Type elementType(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      return null;
+    }
+    Type rawType = ((ParameterizedType) type).getRawType();
+    if (Iterator.class.equals(rawType) || Stream.class.equals(rawType)) {
+      return ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+    return null;
+  }
+
+  /**
+   * Adapts the elements to the {@code type}, a {@code Stream} closing them when closed, or an
+   * {@code Iterator}.
+   */
+  static Object adapt(Type type, ElementIterator elements) {
+    if (Stream.class.equals(((ParameterizedType) type).getRawType())) {
+      return StreamSupport.stream(
+          Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+          .onClose(elements::close);
+    }
+    return elements;
+  }
+
+  /**
+   * No elements, for responses without a body.
+   */
+  static Object empty(Type type) {
+    if (Stream.class.equals(((ParameterizedType) type).getRawType())) {
+      return Stream.empty();
+    }
+    return Collections.emptyIterator();
+  }
+}
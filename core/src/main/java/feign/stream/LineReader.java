@@ -0,0 +1,119 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits a body in lines terminated by {@code \n}, {@code \r\n} or {@code \r}, without decoding
+ * characters. Lines are read in place from a single buffer that only grows to fit the longest line,
+ * and are valid until the next call to {@link #next()}.
+ */
+final class LineReader implements Closeable {
+
+  private static final int INITIAL_BUFFER_SIZE = 8192;
+
+  private final InputStream in;
+  private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+  private int start;
+  private int end;
+  private boolean skipLineFeed;
+
+  private int lineStart;
+  private int lineLength;
+
+  LineReader(InputStream in) {
+    this.in = in;
+  }
+
+  /**
+   * Reads the next line, excluding its terminator.
+   *
+   * @return false at the end of the body.
+   */
+  boolean next() throws IOException {
+    int scanned = 0;
+    while (true) {
+      if (skipLineFeed && start < end) {
+        // the previous line ended with \r, possibly followed by \n
+        skipLineFeed = false;
+        if (buffer[start] == '\n') {
+          start++;
+        }
+      }
+      if (!skipLineFeed) {
+        for (int i = start + scanned; i < end; i++) {
+          byte b = buffer[i];
+          if (b == '\n' || b == '\r') {
+            setLine(start, i - start);
+            start = i + 1;
+            skipLineFeed = b == '\r';
+            return true;
+          }
+        }
+        scanned = end - start;
+      }
+      if (!fill()) {
+        skipLineFeed = false;
+        if (start == end) {
+          return false;
+        }
+        setLine(start, end - start);
+        start = end;
+        return true;
+      }
+    }
+  }
+
+  byte[] buffer() {
+    return buffer;
+  }
+
+  int lineStart() {
+    return lineStart;
+  }
+
+  int lineLength() {
+    return lineLength;
+  }
+
+  private void setLine(int start, int length) {
+    this.lineStart = start;
+    this.lineLength = length;
+  }
+
+  private boolean fill() throws IOException {
+    if (start > 0) {
+      System.arraycopy(buffer, start, buffer, 0, end - start);
+      end -= start;
+      start = 0;
+    } else if (end == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    int read = in.read(buffer, end, buffer.length - end);
+    if (read < 0) {
+      return false;
+    }
+    end += read;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
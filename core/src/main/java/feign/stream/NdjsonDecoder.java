@@ -0,0 +1,118 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import static feign.Util.ensureClosed;
+import feign.Experimental;
+import feign.FeignException;
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Decodes newline delimited bodies, such as <a href="http://ndjson.org">NDJSON</a>, to
+ * {@code Iterator<T>} or {@code Stream<T>}. Lines are read as the elements are consumed, and each
+ * non blank line is decoded to {@code T} with the element decoder. Other types are decoded with the
+ * element decoder from the whole body.
+ * <p>
+ * The response is closed once all elements are read. Close the {@code Stream}, or cast the
+ * {@code Iterator} to {@link java.io.Closeable}, to release it earlier.
+ * </p>
+ * <p>
+ * Example: <br>
+ *
+ * <pre>
+ * <code>
+ * Feign.builder()
+ *   .decoder(NdjsonDecoder.create(new JacksonDecoder()))
+ *   .doNotCloseAfterDecode() // Required for streaming
+ *   .target(Analytics.class, "https://analytics.example.com");
+ * interface Analytics {
+ *  {@literal @}RequestLine("GET /events?since={since}")
+ *   Stream&lt;Event&gt; events(@Param("since") long since);
+ * }</code>
+ * </pre>
+ */
+@Experimental
+public final class NdjsonDecoder implements Decoder {
+
+  private final Decoder elementDecoder;
+
+  NdjsonDecoder(Decoder elementDecoder) {
+    this.elementDecoder = elementDecoder;
+  }
+
+  /**
+   * Decodes each line as a {@code String}.
+   */
+  public static NdjsonDecoder create() {
+    return new NdjsonDecoder(new Decoder.Default());
+  }
+
+  /**
+   * Decodes each line with the {@code elementDecoder}.
+   */
+  public static NdjsonDecoder create(Decoder elementDecoder) {
+    return new NdjsonDecoder(elementDecoder);
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException, FeignException {
+    Type elementType = ElementIterator.elementType(type);
+    if (elementType == null) {
+      try {
+        return elementDecoder.decode(response, type);
+      } finally {
+        ensureClosed(response.body());
+      }
+    }
+    if (response.body() == null) {
+      return ElementIterator.empty(type);
+    }
+    return ElementIterator.adapt(type, new LineIterator(response, elementDecoder, elementType));
+  }
+
+  private static final class LineIterator extends ElementIterator {
+
+    LineIterator(Response response, Decoder decoder, Type elementType) throws IOException {
+      super(response, decoder, elementType);
+    }
+
+    @Override
+    boolean readElement() throws IOException {
+      while (lines.next()) {
+        if (!isBlank(lines.buffer(), lines.lineStart(), lines.lineLength())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    ByteArrayInputStream element() {
+      return new ByteArrayInputStream(lines.buffer(), lines.lineStart(), lines.lineLength());
+    }
+
+    private static boolean isBlank(byte[] buffer, int start, int length) {
+      for (int i = start; i < start + length; i++) {
+        if (buffer[i] != ' ' && buffer[i] != '\t') {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
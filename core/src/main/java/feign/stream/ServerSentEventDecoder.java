@@ -0,0 +1,176 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import static feign.Util.ensureClosed;
+import feign.Experimental;
+import feign.FeignException;
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Decodes <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">Server-Sent
+ * Events</a> ({@code text/event-stream}) bodies to {@code Iterator<T>} or {@code Stream<T>}. Events
+ * are read as the elements are consumed, and the data of each one is decoded to {@code T} with the
+ * element decoder. Comments, events without data and an incomplete last event are skipped, as are
+ * the {@code event}, {@code id} and {@code retry} fields. Other types are decoded with the element
+ * decoder from the whole body.
+ * <p>
+ * The response is closed once all events are read. Close the {@code Stream}, or cast the
+ * {@code Iterator} to {@link java.io.Closeable}, to release it earlier.
+ * </p>
+ * <p>
+ * Example: <br>
+ *
+ * <pre>
+ * <code>
+ * Feign.builder()
+ *   .decoder(ServerSentEventDecoder.create(new JacksonDecoder()))
+ *   .doNotCloseAfterDecode() // Required for streaming
+ *   .target(ChangeFeed.class, "https://feed.example.com");
+ * interface ChangeFeed {
+ *  {@literal @}RequestLine("GET /changes")
+ *  {@literal @}Headers("Accept: text/event-stream")
+ *   Stream&lt;Change&gt; changes();
+ * }</code>
+ * </pre>
+ */
+@Experimental
+public final class ServerSentEventDecoder implements Decoder {
+
+  private final Decoder elementDecoder;
+
+  ServerSentEventDecoder(Decoder elementDecoder) {
+    this.elementDecoder = elementDecoder;
+  }
+
+  /**
+   * Decodes the data of each event as a {@code String}.
+   */
+  public static ServerSentEventDecoder create() {
+    return new ServerSentEventDecoder(new Decoder.Default());
+  }
+
+  /**
+   * Decodes the data of each event with the {@code elementDecoder}.
+   */
+  public static ServerSentEventDecoder create(Decoder elementDecoder) {
+    return new ServerSentEventDecoder(elementDecoder);
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException, FeignException {
+    Type elementType = ElementIterator.elementType(type);
+    if (elementType == null) {
+      try {
+        return elementDecoder.decode(response, type);
+      } finally {
+        ensureClosed(response.body());
+      }
+    }
+    if (response.body() == null) {
+      return ElementIterator.empty(type);
+    }
+    return ElementIterator.adapt(type, new EventIterator(response, elementDecoder, elementType));
+  }
+
+  private static final class EventIterator extends ElementIterator {
+
+    private static final byte[] DATA = {'d', 'a', 't', 'a'};
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /** Data of the current event, reused across events. */
+    private byte[] data = new byte[256];
+    private int dataLength;
+    private boolean hasData;
+    private boolean firstLine = true;
+
+    EventIterator(Response response, Decoder decoder, Type elementType) throws IOException {
+      super(response, decoder, elementType);
+    }
+
+    @Override
+    boolean readElement() throws IOException {
+      dataLength = 0;
+      hasData = false;
+      while (lines.next()) {
+        byte[] buffer = lines.buffer();
+        int start = lines.lineStart();
+        int length = lines.lineLength();
+        if (firstLine) {
+          firstLine = false;
+          if (startsWith(buffer, start, length, BYTE_ORDER_MARK)) {
+            start += BYTE_ORDER_MARK.length;
+            length -= BYTE_ORDER_MARK.length;
+          }
+        }
+        if (length == 0) {
+          if (hasData) {
+            return true;
+          }
+          continue;
+        }
+        if (buffer[start] == ':') {
+          continue; // comment
+        }
+        if (startsWith(buffer, start, length, DATA)
+            && (length == DATA.length || buffer[start + DATA.length] == ':')) {
+          int valueStart = start + DATA.length + 1;
+          int end = start + length;
+          if (valueStart < end && buffer[valueStart] == ' ') {
+            valueStart++;
+          }
+          appendData(buffer, Math.min(valueStart, end), end);
+        }
+      }
+      // an event is only dispatched once terminated by a blank line
+      return false;
+    }
+
+    @Override
+    ByteArrayInputStream element() {
+      return new ByteArrayInputStream(data, 0, dataLength);
+    }
+
+    private void appendData(byte[] buffer, int start, int end) {
+      int length = end - start;
+      int separator = hasData ? 1 : 0;
+      if (dataLength + separator + length > data.length) {
+        data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + separator + length));
+      }
+      if (hasData) {
+        data[dataLength++] = '\n';
+      }
+      System.arraycopy(buffer, start, data, dataLength, length);
+      dataLength += length;
+      hasData = true;
+    }
+
+    private static boolean startsWith(byte[] buffer, int start, int length, byte[] prefix) {
+      if (length < prefix.length) {
+        return false;
+      }
+      for (int i = 0; i < prefix.length; i++) {
+        if (buffer[start + i] != prefix[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -47,21 +47,27 @@ import static feign.Util.ensureClosed;
 public final class StreamDecoder implements Decoder {
 
   private final Decoder iteratorDecoder;
+  private final Decoder delegateDecoder;
 
   StreamDecoder(Decoder iteratorDecoder) {
+    this(iteratorDecoder, null);
+  }
+
+  StreamDecoder(Decoder iteratorDecoder, Decoder delegateDecoder) {
     this.iteratorDecoder = iteratorDecoder;
+    this.delegateDecoder = delegateDecoder;
   }
 
   @Override
   public Object decode(Response response, Type type)
       throws IOException, FeignException {
-    if (!(type instanceof ParameterizedType)) {
-      throw new IllegalArgumentException("StreamDecoder supports only stream: unknown " + type);
+    if (!isStream(type)) {
+      if (delegateDecoder == null) {
+        throw new IllegalArgumentException("StreamDecoder supports only stream: unknown " + type);
+      }
+      return delegateDecoder.decode(response, type);
     }
     ParameterizedType streamType = (ParameterizedType) type;
-    if (!Stream.class.equals(streamType.getRawType())) {
-      throw new IllegalArgumentException("StreamDecoder supports only stream: unknown " + type);
-    }
     Iterator<?> iterator =
         (Iterator) iteratorDecoder.decode(response, new IteratorParameterizedType(streamType));
 
@@ -76,10 +82,23 @@ public final class StreamDecoder implements Decoder {
         });
   }
 
+  private static boolean isStream(Type type) {
+    return type instanceof ParameterizedType
+        && Stream.class.equals(((ParameterizedType) type).getRawType());
+  }
+
   public static StreamDecoder create(Decoder iteratorDecoder) {
     return new StreamDecoder(iteratorDecoder);
   }
 
+  /**
+   * Decodes {@link Stream streams} with the {@code iteratorDecoder}, and any other type with the
+   * {@code delegateDecoder}.
+   */
+  public static StreamDecoder create(Decoder iteratorDecoder, Decoder delegateDecoder) {
+    return new StreamDecoder(iteratorDecoder, delegateDecoder);
+  }
+
   static final class IteratorParameterizedType implements ParameterizedType {
 
     private final ParameterizedType streamType;
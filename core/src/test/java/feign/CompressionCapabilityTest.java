@@ -0,0 +1,155 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.UTF_8;
+import static feign.assertj.MockWebServerAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.Rule;
+import org.junit.Test;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class CompressionCapabilityTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final String large = repeat("{\"name\":\"feign\"},", 200);
+
+  interface TestInterface {
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: application/json")
+    void postJson(String body);
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: image/png")
+    void postPng(String body);
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: application/vnd.feign+json; charset=UTF-8")
+    void postVendorJson(String body);
+
+    @RequestLine("POST /")
+    @Headers({"Content-Type: text/plain", "Content-Encoding: gzip"})
+    void postGzipped(String body);
+
+    @RequestLine("POST /")
+    @Headers({"Content-Type: text/plain", "Content-Encoding: deflate"})
+    void postDeflated(String body);
+  }
+
+  private TestInterface api(CompressionCapability capability) {
+    return Feign.builder()
+        .addCapability(capability)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void compressesLargeBodies() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.create()).postJson(large);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request).hasHeaders("Content-Encoding: gzip")
+        .hasGzippedBody(large.getBytes(UTF_8));
+    assertThat(request.getBodySize()).isLessThan(large.length() / 10);
+  }
+
+  @Test
+  public void compressesWithDeflate() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.builder().encoding("deflate").build()).postJson(large);
+
+    assertThat(server.takeRequest()).hasHeaders("Content-Encoding: deflate")
+        .hasDeflatedBody(large.getBytes(UTF_8));
+  }
+
+  @Test
+  public void compressesSuffixedTypes() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.create()).postVendorJson(large);
+
+    assertThat(server.takeRequest()).hasGzippedBody(large.getBytes(UTF_8));
+  }
+
+  @Test
+  public void skipsSmallBodies() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.builder().minBytes(large.length() + 1).build()).postJson(large);
+
+    assertThat(server.takeRequest()).hasNoHeaderNamed("Content-Encoding").hasBody(large);
+  }
+
+  @Test
+  public void skipsIncompressibleTypes() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.create()).postPng(large);
+
+    assertThat(server.takeRequest()).hasNoHeaderNamed("Content-Encoding").hasBody(large);
+  }
+
+  @Test
+  public void leavesRequestsWithContentEncodingToTheClient() throws Exception {
+    server.enqueue(new MockResponse());
+
+    api(CompressionCapability.create()).postGzipped(large);
+
+    // compressed once, by Client.Default
+    assertThat(server.takeRequest()).hasGzippedBody(large.getBytes(UTF_8));
+  }
+
+  @Test
+  public void compressesBodiesResemblingCompressedData() throws Exception {
+    server.enqueue(new MockResponse());
+
+    // "x^" is also a valid zlib header
+    api(CompressionCapability.create()).postDeflated("x^ marks the spot");
+
+    assertThat(server.takeRequest()).hasDeflatedBody("x^ marks the spot".getBytes(UTF_8));
+  }
+
+  @Test
+  public void reusesDeflaters() throws Exception {
+    RequestCompressor compressor = new RequestCompressor(true, 1, 1);
+    byte[] data = large.getBytes(UTF_8);
+
+    byte[] first = compressor.compress(data);
+    byte[] second = compressor.compress(data);
+
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  public void rejectsUnknownEncodings() {
+    assertThatThrownBy(() -> CompressionCapability.builder().encoding("br"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String repeat(String text, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(text);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+public class DecompressingClientTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final List<InvocationPhases> invocations = new CopyOnWriteArrayList<>();
+
+  interface TestInterface {
+
+    @RequestLine("GET /")
+    String get();
+
+    @RequestLine("GET /")
+    @Headers("Accept-Encoding: identity")
+    String getIdentity();
+
+    @RequestLine("GET /")
+    Response getResponse();
+  }
+
+  private TestInterface api() {
+    return Feign.builder()
+        .client(new DecompressingClient(new Client.Default(null, null)))
+        .phaseListener(invocations::add)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void reportsCompressedAndDecompressedBytes() throws Exception {
+    String text = repeat("compressible ", 100);
+    byte[] gzipped = gzip(text.getBytes(UTF_8));
+    server.enqueue(new MockResponse()
+        .addHeader("Content-Encoding", "gzip")
+        .setBody(new Buffer().write(gzipped)));
+
+    assertThat(api().get()).isEqualTo(text);
+
+    InvocationPhases phases = invocations.get(0);
+    assertThat(phases.compressedResponseBytes()).isEqualTo(gzipped.length);
+    assertThat(phases.responseBytes()).isEqualTo(text.length());
+  }
+
+  @Test
+  public void uncompressedResponsesReportNoCompressedBytes() {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    assertThat(api().get()).isEqualTo("foo");
+
+    assertThat(invocations.get(0).compressedResponseBytes()).isEqualTo(-1);
+  }
+
+  @Test
+  public void decompressesRawDeflate() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DeflaterOutputStream out =
+        new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+      out.write("foo".getBytes(UTF_8));
+    }
+    server.enqueue(new MockResponse()
+        .addHeader("Content-Encoding", "deflate")
+        .setBody(new Buffer().write(bytes.toByteArray())));
+
+    assertThat(api().get()).isEqualTo("foo");
+  }
+
+  @Test
+  public void keepsAcceptEncodingOfRequest() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    assertThat(api().getIdentity()).isEqualTo("foo");
+
+    assertThat(server.takeRequest().getHeader("Accept-Encoding")).isEqualTo("identity");
+  }
+
+  @Test
+  public void emptyCompressedBody() throws Exception {
+    server.enqueue(new MockResponse().addHeader("Content-Encoding", "gzip"));
+
+    try (Response response = api().getResponse()) {
+      assertThat(Util.toString(response.body().asReader(UTF_8))).isEmpty();
+    }
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(data);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String repeat(String text, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(text);
+    }
+    return builder.toString();
+  }
+}
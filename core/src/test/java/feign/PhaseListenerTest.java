@@ -0,0 +1,216 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.InvocationPhases.Phase;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class PhaseListenerTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final List<InvocationPhases> invocations = new CopyOnWriteArrayList<>();
+
+  interface TestInterface {
+
+    @RequestLine("POST /")
+    String post(String body);
+
+    @RequestLine("POST /")
+    CompletableFuture<String> postAsync(String body);
+  }
+
+  @Test
+  public void reportsPhasesOfEachInvocation() {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    TestInterface api = Feign.builder()
+        .requestInterceptor(template -> template.header("X-Test", "true"))
+        .phaseListener(invocations::add)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.post("bar")).isEqualTo("foo");
+
+    assertThat(invocations).hasSize(1);
+    InvocationPhases phases = invocations.get(0);
+    assertThat(phases.configKey()).isEqualTo("TestInterface#post(String)");
+    assertThat(phases.status()).isEqualTo(200);
+    assertThat(phases.retries()).isZero();
+    assertThat(phases.responseBytes()).isEqualTo(3);
+    assertThat(phases.error()).isNull();
+    assertThat(phases.request().headers()).containsKey("X-Test");
+    assertThat(phases.nanos(Phase.ENCODE)).isPositive();
+    assertThat(phases.nanos(Phase.INTERCEPTORS)).isPositive();
+    assertThat(phases.nanos(Phase.EXECUTE)).isPositive();
+    assertThat(phases.nanos(Phase.CONNECTION_ACQUIRE)).isPositive();
+    assertThat(phases.nanos(Phase.TIME_TO_FIRST_BYTE)).isPositive();
+    assertThat(phases.nanos(Phase.BODY_READ)).isPositive();
+    assertThat(phases.nanos(Phase.DECODE)).isPositive();
+    assertThat(phases.nanos(Phase.RETRY_WAIT)).isZero();
+    assertThat(phases.totalNanos()).isGreaterThanOrEqualTo(phases.nanos(Phase.EXECUTE));
+  }
+
+  @Test
+  public void startsEachInvocationWithTheReportedPhases() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("foo"));
+    final List<InvocationPhases> started = new CopyOnWriteArrayList<>();
+
+    PhaseListener listener = new PhaseListener() {
+      @Override
+      public void onStart(InvocationPhases phases) {
+        phases.attach(Long.class, System.nanoTime());
+        started.add(phases);
+      }
+
+      @Override
+      public void onInvocation(InvocationPhases phases) {
+        assertThat(phases.attachment(Long.class)).isNotNull();
+        invocations.add(phases);
+      }
+    };
+    TestInterface api = Feign.builder()
+        .phaseListener(listener)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+    TestInterface asyncApi = AsyncFeign.<Void>asyncBuilder()
+        .phaseListener(listener)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post("bar");
+    asyncApi.postAsync("bar").get(1, TimeUnit.SECONDS);
+
+    assertThat(invocations).hasSize(2);
+    assertThat(started).containsExactlyElementsOf(invocations);
+    assertThat(invocations.get(0).nanos(Phase.ENCODE)).isPositive();
+  }
+
+  @Test
+  public void reportsRetriesAndErrors() {
+    server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+    server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+
+    TestInterface api = Feign.builder()
+        .retryer(new Retryer.Default(1, 1, 2))
+        .errorDecoder(
+            (methodKey, response) -> new RetryableException(response.status(), "retry",
+                response.request().httpMethod(), null, response.request()))
+        .phaseListener(invocations::add)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThatThrownBy(() -> api.post("bar")).isInstanceOf(RetryableException.class);
+
+    assertThat(invocations).hasSize(1);
+    InvocationPhases phases = invocations.get(0);
+    assertThat(phases.status()).isEqualTo(503);
+    assertThat(phases.retries()).isEqualTo(1);
+    assertThat(phases.error()).isInstanceOf(RetryableException.class);
+    assertThat(phases.nanos(Phase.RETRY_WAIT)).isPositive();
+  }
+
+  @Test
+  public void reportsAsyncInvocationsOnCompletion() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    TestInterface api = AsyncFeign.<Void>asyncBuilder()
+        .phaseListener(invocations::add)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.postAsync("bar").get(1, TimeUnit.SECONDS)).isEqualTo("foo");
+
+    assertThat(invocations).hasSize(1);
+    InvocationPhases phases = invocations.get(0);
+    assertThat(phases.configKey()).isEqualTo("TestInterface#postAsync(String)");
+    assertThat(phases.status()).isEqualTo(200);
+    assertThat(phases.nanos(Phase.EXECUTE)).isPositive();
+    assertThat(phases.nanos(Phase.DECODE)).isPositive();
+  }
+
+  @Test
+  public void failingListenerFailsAsyncInvocation() {
+    server.enqueue(new MockResponse().setBody("foo"));
+    final IllegalStateException failure = new IllegalStateException("listener");
+
+    TestInterface api = AsyncFeign.<Void>asyncBuilder()
+        .phaseListener(phases -> {
+          throw failure;
+        })
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThatThrownBy(() -> api.postAsync("bar").get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(failure);
+  }
+
+  @Test
+  public void capabilitiesCanInstallListener() {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    TestInterface api = Feign.builder()
+        .addCapability(new Capability() {
+          @Override
+          public PhaseListener enrich(PhaseListener phaseListener) {
+            return invocations::add;
+          }
+        })
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post("bar");
+
+    assertThat(invocations).hasSize(1);
+  }
+
+  @Test
+  public void skipsMeasurementWhileDisabled() {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("foo"));
+    final AtomicBoolean enabled = new AtomicBoolean();
+    final List<InvocationPhases> templatePhases = new CopyOnWriteArrayList<>();
+
+    TestInterface api = Feign.builder()
+        .requestInterceptor(template -> templatePhases.add(template.invocationPhases()))
+        .phaseListener(new PhaseListener() {
+          @Override
+          public void onInvocation(InvocationPhases phases) {
+            invocations.add(phases);
+          }
+
+          @Override
+          public boolean isEnabled() {
+            return enabled.get();
+          }
+        })
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post("bar");
+    enabled.set(true);
+    api.post("bar");
+
+    assertThat(templatePhases).hasSize(2);
+    assertThat(templatePhases.get(0)).isNull();
+    assertThat(invocations).containsExactly(templatePhases.get(1));
+  }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.Logger.Level;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class SamplingLoggerTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final List<String> messages = new CopyOnWriteArrayList<>();
+  private final Logger recordingLogger = new Logger() {
+    @Override
+    protected void log(String configKey, String format, Object... args) {
+      messages.add(String.format(format, args));
+    }
+  };
+
+  interface TestInterface {
+
+    @RequestLine("GET /")
+    String get();
+
+    @RequestLine("GET /other")
+    String other();
+  }
+
+  private TestInterface target(Logger logger, Level level) {
+    return Feign.builder()
+        .logger(logger)
+        .logLevel(level)
+        .decode404()
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void samplesOneInNPerMethod() {
+    TestInterface api = target(SamplingLogger.builder(recordingLogger)
+        .sampleOneIn(2)
+        .sampleOneIn("TestInterface#other()", 3)
+        .build(), Level.BASIC);
+
+    for (int i = 0; i < 6; i++) {
+      server.enqueue(new MockResponse().setBody("foo"));
+      api.get();
+      server.enqueue(new MockResponse().setBody("foo"));
+      api.other();
+    }
+
+    assertThat(messages.stream().filter(message -> message.startsWith("---> GET")))
+        .hasSize(5);
+    assertThat(messages.stream().filter(message -> message.endsWith("/other HTTP/1.1")))
+        .hasSize(2);
+    assertThat(messages.stream().filter(message -> message.startsWith("<--- HTTP/1.1")))
+        .hasSize(5);
+  }
+
+  @Test
+  public void rateLimitsPerMethod() {
+    TestInterface api = target(SamplingLogger.builder(recordingLogger)
+        .rateLimit(1)
+        .build(), Level.BASIC);
+
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(new MockResponse().setBody("foo"));
+      api.get();
+    }
+    server.enqueue(new MockResponse().setBody("foo"));
+    api.other();
+
+    assertThat(messages.stream().filter(message -> message.startsWith("---> GET")))
+        .hasSize(2);
+  }
+
+  @Test
+  public void statusRulesApplyToCallsNotSampled() {
+    TestInterface api = target(SamplingLogger.builder(recordingLogger)
+        .sampleOneIn(1000)
+        .statusLevel(500, 599, Level.FULL)
+        .statusLevel(404, 404, Level.NONE)
+        .build(), Level.BASIC);
+
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("missing"));
+    api.get();
+    messages.clear();
+    server.enqueue(new MockResponse().setResponseCode(200).setBody("foo"));
+    api.get();
+    server.enqueue(new MockResponse().setResponseCode(503).setBody("unavailable"));
+    try {
+      api.get();
+    } catch (FeignException expected) {
+    }
+
+    assertThat(messages).hasSize(5);
+    assertThat(messages.get(0)).startsWith("<--- HTTP/1.1 503");
+    assertThat(messages).contains("unavailable", "<--- END HTTP (11-byte body)");
+  }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.Logger.Level;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class StreamingLoggerTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final List<String> messages = new CopyOnWriteArrayList<>();
+  private final Logger recordingLogger = new Logger() {
+    @Override
+    protected void log(String configKey, String format, Object... args) {
+      messages.add(String.format(format, args));
+    }
+  };
+
+  interface TestInterface {
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: text/plain; charset=UTF-8")
+    String post(String body);
+
+    @RequestLine("GET /")
+    Response get();
+  }
+
+  @Test
+  public void truncatesBodiesAtFull() {
+    server.enqueue(new MockResponse().setBody("0123456789"));
+
+    TestInterface api = Feign.builder()
+        .logger(new StreamingLogger(recordingLogger, 4))
+        .logLevel(Level.FULL)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.post("abcdefgh")).isEqualTo("0123456789");
+
+    assertThat(messages)
+        .contains("abcd... (4 more bytes)", "---> END HTTP (8-byte body)",
+            "0123... (6 more bytes)", "<--- END HTTP (10-byte body)")
+        .doesNotContain("abcdefgh", "0123456789");
+  }
+
+  @Test
+  public void logsResponseBodyAsItIsRead() throws Exception {
+    server.enqueue(new MockResponse().setChunkedBody("0123456789", 3));
+
+    TestInterface api = Feign.builder()
+        .logger(new StreamingLogger(recordingLogger, 20))
+        .logLevel(Level.FULL)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    try (Response response = api.get()) {
+      assertThat(response.body().isRepeatable()).isFalse();
+      assertThat(messages).noneMatch(message -> message.startsWith("<--- END HTTP"));
+
+      try (InputStream body = response.body().asInputStream()) {
+        assertThat(Util.toByteArray(body)).hasSize(10);
+      }
+    }
+
+    assertThat(messages).endsWith("0123456789", "<--- END HTTP (10-byte body)");
+  }
+
+  @Test
+  public void logsBytesReadWhenClosedEarly() throws Exception {
+    server.enqueue(new MockResponse().setChunkedBody("0123456789", 3));
+
+    TestInterface api = Feign.builder()
+        .logger(new StreamingLogger(recordingLogger, 20))
+        .logLevel(Level.FULL)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    try (Response response = api.get()) {
+      response.body().asInputStream().read(new byte[2]);
+    }
+
+    assertThat(messages).endsWith("01...", "<--- END HTTP (2 bytes read before close)");
+  }
+
+  @Test
+  public void countsBodyWithoutCapturingAtHeaders() {
+    server.enqueue(new MockResponse().setBody("0123456789"));
+
+    TestInterface api = Feign.builder()
+        .logger(new StreamingLogger(recordingLogger, 4))
+        .logLevel(Level.HEADERS)
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post("abcdefgh");
+
+    assertThat(messages)
+        .contains("---> END HTTP (8-byte body)", "<--- END HTTP (10-byte body)")
+        .doesNotContain("abcd... (4 more bytes)", "0123... (6 more bytes)");
+  }
+
+}
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assert.assertEquals;
 import feign.Client;
 import feign.CollectionFormat;
+import feign.CompressionCapability;
+import feign.DecompressionCapability;
 import feign.Feign.Builder;
 import feign.FeignException;
 import feign.Headers;
@@ -29,13 +31,18 @@ import feign.Response;
 import feign.Util;
 import feign.assertj.MockWebServerAssertions;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -383,6 +390,62 @@ public abstract class AbstractClientTest {
         .hasOneOfPath("/?foo=bar,baz", "/?foo=bar%2Cbaz");
   }
 
+  @Test
+  public void decompressesGzipResponse() throws Exception {
+    server.enqueue(new MockResponse()
+        .addHeader("Content-Encoding", "gzip")
+        .setBody(new Buffer().write(compress("foo", true))));
+
+    TestInterface api = newBuilder()
+        .addCapability(new DecompressionCapability())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    Response response = api.post("foo");
+    assertThat(response.headers()).doesNotContainKey("Content-Encoding");
+    assertEquals("foo", Util.toString(response.body().asReader(UTF_8)));
+    assertThat(server.takeRequest().getHeader("Accept-Encoding")).contains("gzip", "deflate");
+  }
+
+  @Test
+  public void decompressesDeflateResponse() throws Exception {
+    server.enqueue(new MockResponse()
+        .addHeader("Content-Encoding", "deflate")
+        .setBody(new Buffer().write(compress("foo", false))));
+
+    TestInterface api = newBuilder()
+        .addCapability(new DecompressionCapability())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertEquals("foo", api.postForString("foo"));
+  }
+
+  @Test
+  public void compressesLargeRequestBody() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      body.append("foo");
+    }
+
+    TestInterface api = newBuilder()
+        .addCapability(CompressionCapability.builder().minBytes(1024).build())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post(body.toString());
+    MockWebServerAssertions.assertThat(server.takeRequest())
+        .hasHeaders(entry("Content-Encoding", Collections.singletonList("gzip")))
+        .hasGzippedBody(body.toString().getBytes(UTF_8));
+  }
+
+  private static byte[] compress(String text, boolean gzip) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out =
+        gzip ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+      out.write(text.getBytes(UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
   @SuppressWarnings("UnusedReturnValue")
   public interface TestInterface {
 
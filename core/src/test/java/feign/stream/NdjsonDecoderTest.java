@@ -0,0 +1,198 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class NdjsonDecoderTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private static final Type STREAM_OF_STRINGS = new TypeReference<Stream<String>>() {}.getType();
+  private static final Type ITERATOR_OF_STRINGS =
+      new TypeReference<Iterator<String>>() {}.getType();
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final Decoder jsonDecoder =
+      (response, type) -> mapper.readValue(response.body().asInputStream(),
+          mapper.constructType(type));
+
+  interface Analytics {
+    @RequestLine("GET /events")
+    Stream<Event> events();
+
+    @RequestLine("GET /event")
+    Event event();
+  }
+
+  static class Event {
+    public String name;
+    public int count;
+  }
+
+  @Test
+  public void streamsJsonLines() {
+    server.enqueue(new MockResponse()
+        .setBody("{\"name\":\"a\",\"count\":1}\n{\"name\":\"b\",\"count\":2}\n"));
+    server.enqueue(new MockResponse().setBody("{\"name\":\"c\",\"count\":3}"));
+
+    Analytics api = Feign.builder()
+        .decoder(NdjsonDecoder.create(jsonDecoder))
+        .doNotCloseAfterDecode()
+        .target(Analytics.class, server.url("/").toString());
+
+    try (Stream<Event> events = api.events()) {
+      assertThat(events.map(event -> event.name + event.count).collect(Collectors.toList()))
+          .containsExactly("a1", "b2");
+    }
+    assertThat(api.event().name).isEqualTo("c");
+  }
+
+  @Test
+  public void splitsLinesOnAnyTerminatorAndSkipsBlankLines() throws IOException {
+    Iterator<?> lines = (Iterator<?>) NdjsonDecoder.create()
+        .decode(response("one\r\ntwo\n\n  \nthree\rfour"), ITERATOR_OF_STRINGS);
+
+    assertThat(toList(lines)).containsExactly("one", "two", "three", "four");
+  }
+
+  @Test
+  public void readsLinesLongerThanTheBuffer() throws IOException {
+    char[] chars = new char[20_000];
+    Arrays.fill(chars, 'x');
+    String longLine = new String(chars);
+
+    Stream<Object> lines = (Stream<Object>) NdjsonDecoder.create()
+        .decode(response("short\n" + longLine + "\nlast"), STREAM_OF_STRINGS);
+
+    assertThat(lines.collect(Collectors.toList())).containsExactly("short", longLine, "last");
+  }
+
+  @Test
+  public void readsLinesOnDemand() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response(new ByteArrayInputStream("one\ntwo\nthree".getBytes(UTF_8)) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+      }
+    });
+
+    Iterator<?> lines = (Iterator<?>) NdjsonDecoder.create().decode(response, ITERATOR_OF_STRINGS);
+    assertThat(lines.next()).isEqualTo("one");
+    assertThat(closed).isFalse();
+
+    ((Closeable) lines).close();
+    assertThat(closed).isTrue();
+    assertThat(lines.hasNext()).isFalse();
+  }
+
+  @Test
+  public void closesResponseAtTheEnd() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response(new ByteArrayInputStream("one\n".getBytes(UTF_8)) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+      }
+    });
+
+    Iterator<?> lines = (Iterator<?>) NdjsonDecoder.create().decode(response, ITERATOR_OF_STRINGS);
+    assertThat(toList(lines)).containsExactly("one");
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyWithoutBody() throws IOException {
+    Response response = response("").toBuilder().body((Response.Body) null).build();
+
+    Stream<Object> lines =
+        (Stream<Object>) NdjsonDecoder.create().decode(response, STREAM_OF_STRINGS);
+    assertThat(lines.count()).isZero();
+  }
+
+  @Test
+  public void closesResponseWhenElementDecodingFails() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response(new ByteArrayInputStream("{\"name\":\"a\"}\n{".getBytes(UTF_8)) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+      }
+    });
+
+    Iterator<?> events = (Iterator<?>) NdjsonDecoder.create(jsonDecoder)
+        .decode(response, new TypeReference<Iterator<Event>>() {}.getType());
+    assertThat(((Event) events.next()).name).isEqualTo("a");
+
+    thrown.expect(DecodeException.class);
+    try {
+      events.next();
+    } finally {
+      assertThat(closed).isTrue();
+    }
+  }
+
+  private static List<Object> toList(Iterator<?> iterator) {
+    List<Object> list = new ArrayList<>();
+    iterator.forEachRemaining(list::add);
+    return list;
+  }
+
+  private static Response response(String body) {
+    return response(new ByteArrayInputStream(body.getBytes(UTF_8)));
+  }
+
+  private static Response response(ByteArrayInputStream body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .headers(Collections.emptyMap())
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .body(body, body.available())
+        .build();
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.stream;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.Headers;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ServerSentEventDecoderTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private static final Type STREAM_OF_STRINGS = new TypeReference<Stream<String>>() {}.getType();
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final Decoder jsonDecoder =
+      (response, type) -> mapper.readValue(response.body().asInputStream(),
+          mapper.constructType(type));
+
+  interface ChangeFeed {
+    @RequestLine("GET /changes")
+    @Headers("Accept: text/event-stream")
+    Stream<Change> changes();
+  }
+
+  static class Change {
+    public String id;
+  }
+
+  @Test
+  public void streamsEventData() {
+    server.enqueue(new MockResponse()
+        .setHeader("Content-Type", "text/event-stream")
+        .setBody(": connected\n\n"
+            + "event: change\nid: 1\ndata: {\"id\":\"a\"}\n\n"
+            + "retry: 1000\n\n"
+            + "data: {\"id\":\"b\"}\n\n"));
+
+    ChangeFeed api = Feign.builder()
+        .decoder(ServerSentEventDecoder.create(jsonDecoder))
+        .doNotCloseAfterDecode()
+        .target(ChangeFeed.class, server.url("/").toString());
+
+    try (Stream<Change> changes = api.changes()) {
+      assertThat(changes.map(change -> change.id).collect(Collectors.toList()))
+          .containsExactly("a", "b");
+    }
+  }
+
+  @Test
+  public void joinsDataLines() throws IOException {
+    Stream<Object> events = (Stream<Object>) ServerSentEventDecoder.create()
+        .decode(response("data: first\ndata:second\ndata\n\ndata:  third\n\n"),
+            STREAM_OF_STRINGS);
+
+    assertThat(events.collect(Collectors.toList()))
+        .containsExactly("first\nsecond\n", " third");
+  }
+
+  @Test
+  public void acceptsAnyLineTerminatorAndByteOrderMark() throws IOException {
+    Stream<Object> events = (Stream<Object>) ServerSentEventDecoder.create()
+        .decode(response("\uFEFFdata: one\r\n\r\ndata: two\r\rdata: three\n\n"),
+            STREAM_OF_STRINGS);
+
+    assertThat(events.collect(Collectors.toList())).containsExactly("one", "two", "three");
+  }
+
+  @Test
+  public void skipsIncompleteLastEvent() throws IOException {
+    Stream<Object> events = (Stream<Object>) ServerSentEventDecoder.create()
+        .decode(response("data: one\n\ndata: two"), STREAM_OF_STRINGS);
+
+    assertThat(events.collect(Collectors.toList())).containsExactly("one");
+  }
+
+  @Test
+  public void closesResponseWhenStreamClosed() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response(new ByteArrayInputStream(
+        "data: one\n\ndata: two\n\n".getBytes(UTF_8)) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+      }
+    });
+
+    Iterator<?> events = (Iterator<?>) ServerSentEventDecoder.create()
+        .decode(response, new TypeReference<Iterator<String>>() {}.getType());
+    assertThat(events.next()).isEqualTo("one");
+    assertThat(closed).isFalse();
+
+    ((Closeable) events).close();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void delegatesOtherTypes() throws IOException {
+    Object decoded =
+        ServerSentEventDecoder.create().decode(response("data: one\n\n"), String.class);
+
+    assertThat(decoded).isEqualTo("data: one\n\n");
+  }
+
+  private static Response response(String body) {
+    return response(new ByteArrayInputStream(body.getBytes(UTF_8)));
+  }
+
+  private static Response response(ByteArrayInputStream body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .headers(Collections.emptyMap())
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .body(body, body.available())
+        .build();
+  }
+}
@@ -101,6 +101,22 @@ public class StreamDecoderTest {
     }
   }
 
+  @Test
+  public void delegatesTypesOtherThanStream() throws IOException {
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .headers(Collections.emptyMap())
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .body("foo", UTF_8)
+        .build();
+
+    StreamDecoder decoder = StreamDecoder.create((r, t) -> new TestCloseableIterator(),
+        (r, t) -> Util.toString(r.body().asReader(UTF_8)));
+
+    assertThat(decoder.decode(response, String.class)).isEqualTo("foo");
+  }
+
   static class TestCloseableIterator implements Iterator<String>, Closeable {
     boolean called;
     boolean closed;
@@ -105,15 +105,21 @@ public class GoogleHttpClient implements Client {
                                          final HttpResponse inputResponse)
       throws IOException {
     final HttpHeaders headers = inputResponse.getHeaders();
+    final Map<String, Collection<String>> responseHeaders = toMap(headers);
     Integer contentLength = null;
-    if (headers.getContentLength() != null && headers.getContentLength() <= Integer.MAX_VALUE) {
+    if (headers.getContentEncoding() != null && headers.getContentEncoding().contains("gzip")) {
+      // getContent() unzips, so the body no longer matches these headers
+      responseHeaders.keySet().removeIf(name -> name.equalsIgnoreCase("Content-Encoding")
+          || name.equalsIgnoreCase("Content-Length"));
+    } else if (headers.getContentLength() != null
+        && headers.getContentLength() <= Integer.MAX_VALUE) {
       contentLength = inputResponse.getHeaders().getContentLength().intValue();
     }
     return Response.builder()
         .body(inputResponse.getContent(), contentLength)
         .status(inputResponse.getStatusCode())
         .reason(inputResponse.getStatusMessage())
-        .headers(toMap(inputResponse.getHeaders()))
+        .headers(responseHeaders)
         .request(inputRequest)
         .build();
   }
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import static feign.Util.UTF_8;
+import static feign.Util.ensureClosed;
+
+/**
+ * Gson decoder which returns a closeable iterator over a top-level JSON array, decoding one element
+ * at a time. Returned iterator auto-close the {@code Response} when it reached json array end or
+ * failed to parse stream. If this iterator is not fetched till the end, it has to be casted to
+ * {@code Closeable} and explicity {@code Closeable#close} by the consumer.
+ * <p>
+ * Example: <br>
+ *
+ * <pre>
+ * <code>
+ * Feign.builder()
+ *   .decoder(StreamDecoder.create(GsonIteratorDecoder.create()))
+ *   .doNotCloseAfterDecode() // Required to fetch the iterator after the response is processed, need to be close
+ *   .target(GitHub.class, "https://api.github.com");
+ * interface GitHub {
+ *  {@literal @}RequestLine("GET /repos/{owner}/{repo}/contributors")
+ *   Stream<Contributor> contributors(@Param("owner") String owner, @Param("repo") String repo);
+ * }</code>
+ * </pre>
+ */
+public final class GsonIteratorDecoder implements Decoder {
+
+  private final Gson gson;
+
+  GsonIteratorDecoder(Gson gson) {
+    this.gson = gson;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    Reader reader = response.body().asReader(UTF_8);
+    if (!reader.markSupported()) {
+      reader = new BufferedReader(reader, 1);
+    }
+    // Read the first byte to see if we have any data
+    reader.mark(1);
+    if (reader.read() == -1) {
+      ensureClosed(response);
+      return null;
+    }
+    reader.reset();
+    return new GsonIterator<Object>(
+        gson.getAdapter(TypeToken.get(actualIteratorTypeArgument(type))), response, reader);
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  public static GsonIteratorDecoder create() {
+    return create(Collections.<TypeAdapter<?>>emptyList());
+  }
+
+  public static GsonIteratorDecoder create(Iterable<TypeAdapter<?>> adapters) {
+    return new GsonIteratorDecoder(GsonFactory.create(adapters));
+  }
+
+  public static GsonIteratorDecoder create(Gson gson) {
+    return new GsonIteratorDecoder(gson);
+  }
+
+  static final class GsonIterator<T> implements Iterator<T>, Closeable {
+    private final TypeAdapter<T> adapter;
+    private final Response response;
+    private final JsonReader reader;
+
+    private boolean started;
+    private boolean finished;
+
+    @SuppressWarnings("unchecked")
+    GsonIterator(TypeAdapter<?> adapter, Response response, Reader reader) {
+      this.adapter = (TypeAdapter<T>) adapter;
+      this.response = response;
+      this.reader = new JsonReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (finished) {
+        return false;
+      }
+      try {
+        if (!started) {
+          started = true;
+          if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+          }
+        }
+        if (reader.hasNext()) {
+          return true;
+        }
+        finished = true;
+        ensureClosed(this);
+        return false;
+      } catch (IOException | JsonParseException e) {
+        throw decodeException(e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        return adapter.read(reader);
+      } catch (IOException | JsonParseException e) {
+        throw decodeException(e);
+      }
+    }
+
+    private DecodeException decodeException(Exception e) {
+      finished = true;
+      ensureClosed(this);
+      return new DecodeException(response.status(), e.getMessage(), response.request(), e);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ensureClosed(this.response);
+    }
+  }
+}
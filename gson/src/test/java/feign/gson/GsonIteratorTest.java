@@ -0,0 +1,166 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.gson;
+
+import com.google.gson.reflect.TypeToken;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.gson.GsonCodecTest.Zone;
+import feign.stream.StreamDecoder;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GsonIteratorTest {
+
+  @Test
+  public void shouldDecodePrimitiveArrays() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<Integer>>() {}, "[0,1,2,3]")).containsExactly(0, 1,
+        2, 3);
+  }
+
+  @Test
+  public void shouldNotSkipElementsOnHasNext() throws IOException {
+    Iterator<Integer> iterator = iterator(new TypeToken<Iterator<Integer>>() {}, "[0]");
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(iterator.next()).isEqualTo(0);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void expectExceptionOnNoElements() throws IOException {
+    Iterator<Integer> iterator = iterator(new TypeToken<Iterator<Integer>>() {}, "[0]");
+    assertThat(iterator.next()).isEqualTo(0);
+    assertThatThrownBy(() -> iterator.next()).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void decodesNullElements() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<String>>() {}, "[\"a\",null,\"b\"]"))
+        .containsExactly("a", null, "b");
+  }
+
+  @Test
+  public void shouldDecodeObjects() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<Zone>>() {},
+        "[{\"name\":\"a.\"},{\"name\":\"b.\",\"id\":\"ABCD\"}]"))
+            .containsExactly(new Zone("a."), new Zone("b.", "ABCD"));
+  }
+
+  @Test
+  public void malformedObjectThrowsDecodeException() throws IOException {
+    Iterator<Zone> iterator =
+        iterator(new TypeToken<Iterator<Zone>>() {}, "[{\"name\":\"a.\"},{\"name\":\"b...");
+    assertThat(iterator.next()).isEqualTo(new Zone("a."));
+    assertThatThrownBy(() -> iterator.next())
+        .isInstanceOf(DecodeException.class)
+        .hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws IOException {
+    assertThat(GsonIteratorDecoder.create().decode(response(""),
+        new TypeToken<Iterator<String>>() {}.getType()))
+            .isNull();
+  }
+
+  @Test
+  public void responseIsClosedAfterIteration() throws IOException {
+    final AtomicBoolean closed = new AtomicBoolean();
+    Response response = response("[false, true]", closed);
+
+    assertThat(iterator(new TypeToken<Iterator<Boolean>>() {}, response)).containsExactly(false,
+        true);
+    assertThat(closed.get()).isTrue();
+  }
+
+  @Test
+  public void responseIsClosedOnParseError() throws IOException {
+    final AtomicBoolean closed = new AtomicBoolean();
+    Response response = response("[error", closed);
+
+    assertThatThrownBy(() -> iterator(new TypeToken<Iterator<Boolean>>() {}, response).next())
+        .isInstanceOf(DecodeException.class);
+    assertThat(closed.get()).isTrue();
+  }
+
+  @Test
+  public void decodesStreamsWithStreamDecoder() throws IOException {
+    final AtomicBoolean closed = new AtomicBoolean();
+    Type type = new TypeToken<Stream<Integer>>() {}.getType();
+
+    @SuppressWarnings("unchecked")
+    Stream<Integer> stream = (Stream<Integer>) StreamDecoder.create(GsonIteratorDecoder.create())
+        .decode(response("[1,2,3]", closed), type);
+
+    try (Stream<Integer> integers = stream) {
+      assertThat(integers.collect(Collectors.toList())).containsExactly(1, 2, 3);
+    }
+    assertThat(closed.get()).isTrue();
+  }
+
+  <T> Iterator<T> iterator(TypeToken<Iterator<T>> type, String json) throws IOException {
+    return iterator(type, response(json));
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> Iterator<T> iterator(TypeToken<Iterator<T>> type, Response response) throws IOException {
+    return (Iterator<T>) GsonIteratorDecoder.create().decode(response, type.getType());
+  }
+
+  @SuppressWarnings("deprecation")
+  private static Response response(String json) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(json, UTF_8)
+        .build();
+  }
+
+  @SuppressWarnings("deprecation")
+  private static Response response(String json, AtomicBoolean closed) {
+    byte[] jsonBytes = json.getBytes(UTF_8);
+    InputStream inputStream = new ByteArrayInputStream(jsonBytes) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+        super.close();
+      }
+    };
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(inputStream, jsonBytes.length)
+        .build();
+  }
+}
@@ -18,6 +18,7 @@ import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.config.Configurable;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.*;
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
@@ -26,6 +27,7 @@ import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
 import org.apache.hc.core5.net.URIBuilder;
 import org.apache.hc.core5.net.URLEncodedUtils;
+import org.apache.hc.core5.pool.ConnPoolStats;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -43,17 +45,32 @@ import feign.*;
  */
 /*
  */
-public final class ApacheHttp5Client implements Client {
+public final class ApacheHttp5Client implements Client, ConnectionPoolStats {
   private static final String ACCEPT_HEADER_NAME = "Accept";
 
   private final HttpClient client;
+  private final ConnPoolStats<?> pool;
 
   public ApacheHttp5Client() {
-    this(HttpClientBuilder.create().build());
+    this(new PoolingHttpClientConnectionManager());
+  }
+
+  private ApacheHttp5Client(PoolingHttpClientConnectionManager connectionManager) {
+    this(HttpClientBuilder.create().setConnectionManager(connectionManager).build(),
+        connectionManager);
   }
 
   public ApacheHttp5Client(HttpClient client) {
+    this(client, null);
+  }
+
+  /**
+   * @param pool the connection manager of {@code client}, reported through
+   *        {@link ConnectionPoolStats}.
+   */
+  public ApacheHttp5Client(HttpClient client, ConnPoolStats<?> pool) {
     this.client = client;
+    this.pool = pool;
   }
 
   @Override
@@ -231,4 +248,29 @@ public final class ApacheHttp5Client implements Client {
       }
     };
   }
+
+  @Override
+  public int leasedConnections() {
+    return pool != null ? pool.getTotalStats().getLeased() : -1;
+  }
+
+  @Override
+  public int idleConnections() {
+    return pool != null ? pool.getTotalStats().getAvailable() : -1;
+  }
+
+  @Override
+  public int maxConnections() {
+    return pool != null ? pool.getTotalStats().getMax() : -1;
+  }
+
+  @Override
+  public int pendingRequests() {
+    return pool != null ? pool.getTotalStats().getPending() : -1;
+  }
+
+  @Override
+  public int activeRequests() {
+    return leasedConnections();
+  }
 }
@@ -19,11 +19,13 @@ import org.apache.hc.client5.http.config.Configurable;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolStats;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import feign.*;
@@ -39,24 +41,41 @@ import feign.Request.Options;
  */
 /*
  */
-public final class AsyncApacheHttp5Client implements AsyncClient<HttpClientContext>, AutoCloseable {
+public final class AsyncApacheHttp5Client
+    implements AsyncClient<HttpClientContext>, ConnectionPoolStats, AutoCloseable {
 
   private static final String ACCEPT_HEADER_NAME = "Accept";
 
   private final CloseableHttpAsyncClient client;
+  private final ConnPoolStats<?> pool;
 
   public AsyncApacheHttp5Client() {
-    this(createStartedClient());
+    this(new PoolingAsyncClientConnectionManager());
   }
 
-  private static CloseableHttpAsyncClient createStartedClient() {
-    final CloseableHttpAsyncClient client = HttpAsyncClients.custom().build();
+  private AsyncApacheHttp5Client(PoolingAsyncClientConnectionManager connectionManager) {
+    this(createStartedClient(connectionManager), connectionManager);
+  }
+
+  private static CloseableHttpAsyncClient createStartedClient(
+                                                              PoolingAsyncClientConnectionManager connectionManager) {
+    final CloseableHttpAsyncClient client =
+        HttpAsyncClients.custom().setConnectionManager(connectionManager).build();
     client.start();
     return client;
   }
 
   public AsyncApacheHttp5Client(CloseableHttpAsyncClient client) {
+    this(client, null);
+  }
+
+  /**
+   * @param pool the connection manager of {@code client}, reported through
+   *        {@link ConnectionPoolStats}.
+   */
+  public AsyncApacheHttp5Client(CloseableHttpAsyncClient client, ConnPoolStats<?> pool) {
     this.client = client;
+    this.pool = pool;
   }
 
   @Override
@@ -188,6 +207,31 @@ public final class AsyncApacheHttp5Client implements AsyncClient<HttpClientConte
         .build();
   }
 
+  @Override
+  public int leasedConnections() {
+    return pool != null ? pool.getTotalStats().getLeased() : -1;
+  }
+
+  @Override
+  public int idleConnections() {
+    return pool != null ? pool.getTotalStats().getAvailable() : -1;
+  }
+
+  @Override
+  public int maxConnections() {
+    return pool != null ? pool.getTotalStats().getMax() : -1;
+  }
+
+  @Override
+  public int pendingRequests() {
+    return pool != null ? pool.getTotalStats().getPending() : -1;
+  }
+
+  @Override
+  public int activeRequests() {
+    return leasedConnections();
+  }
+
   @Override
   public void close() throws Exception {
     client.close(CloseMode.GRACEFUL);
@@ -29,6 +29,8 @@ import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.util.EntityUtils;
 import java.io.IOException;
 import java.io.InputStream;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import feign.Client;
+import feign.ConnectionPoolStats;
 import feign.Request;
 import feign.Response;
 import feign.Util;
@@ -59,17 +62,32 @@ import static feign.Util.UTF_8;
 /*
  * Based on Square, Inc's Retrofit ApacheClient implementation
  */
-public final class ApacheHttpClient implements Client {
+public final class ApacheHttpClient implements Client, ConnectionPoolStats {
   private static final String ACCEPT_HEADER_NAME = "Accept";
 
   private final HttpClient client;
+  private final ConnPoolControl<?> pool;
 
   public ApacheHttpClient() {
-    this(HttpClientBuilder.create().build());
+    this(new PoolingHttpClientConnectionManager());
+  }
+
+  private ApacheHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+    this(HttpClientBuilder.create().setConnectionManager(connectionManager).build(),
+        connectionManager);
   }
 
   public ApacheHttpClient(HttpClient client) {
+    this(client, null);
+  }
+
+  /**
+   * @param pool the connection manager of {@code client}, reported through
+   *        {@link ConnectionPoolStats}.
+   */
+  public ApacheHttpClient(HttpClient client, ConnPoolControl<?> pool) {
     this.client = client;
+    this.pool = pool;
   }
 
   @Override
@@ -236,4 +254,29 @@ public final class ApacheHttpClient implements Client {
       }
     };
   }
+
+  @Override
+  public int leasedConnections() {
+    return pool != null ? pool.getTotalStats().getLeased() : -1;
+  }
+
+  @Override
+  public int idleConnections() {
+    return pool != null ? pool.getTotalStats().getAvailable() : -1;
+  }
+
+  @Override
+  public int maxConnections() {
+    return pool != null ? pool.getTotalStats().getMax() : -1;
+  }
+
+  @Override
+  public int pendingRequests() {
+    return pool != null ? pool.getTotalStats().getPending() : -1;
+  }
+
+  @Override
+  public int activeRequests() {
+    return leasedConnections();
+  }
 }
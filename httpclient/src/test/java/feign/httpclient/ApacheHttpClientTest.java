@@ -38,6 +38,24 @@ public class ApacheHttpClientTest extends AbstractClientTest {
     return Feign.builder().client(new ApacheHttpClient());
   }
 
+  @Test
+  public void reportsConnectionPoolStats() {
+    final ApacheHttpClient client = new ApacheHttpClient();
+    final JaxRsTestInterface testInterface = Feign.builder()
+        .contract(new JAXRSContract())
+        .client(client)
+        .target(JaxRsTestInterface.class, "http://localhost:" + server.getPort());
+
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    assertEquals("foo", testInterface.withoutBody("foo"));
+    assertEquals(0, client.leasedConnections());
+    assertEquals(1, client.idleConnections());
+    assertEquals(20, client.maxConnections());
+    assertEquals(0, client.pendingRequests());
+    assertEquals(-1, new ApacheHttpClient(HttpClientBuilder.create().build()).leasedConnections());
+  }
+
   @Test
   public void queryParamsAreRespectedWhenBodyIsEmpty() throws InterruptedException {
     final HttpClient httpClient = HttpClientBuilder.create().build();
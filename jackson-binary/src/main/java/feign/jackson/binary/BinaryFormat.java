@@ -0,0 +1,80 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Binary data formats supported through Jackson. Each needs its Jackson dataformat on the
+ * classpath.
+ */
+public enum BinaryFormat {
+
+  /**
+   * Requires {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile}.
+   */
+  SMILE("com.fasterxml.jackson.dataformat.smile.SmileFactory", "application/x-jackson-smile"),
+
+  /**
+   * Requires {@code com.fasterxml.jackson.dataformat:jackson-dataformat-cbor}.
+   */
+  CBOR("com.fasterxml.jackson.dataformat.cbor.CBORFactory", "application/cbor"),
+
+  /**
+   * Requires {@code org.msgpack:jackson-dataformat-msgpack}.
+   */
+  MESSAGE_PACK("org.msgpack.jackson.dataformat.MessagePackFactory", "application/x-msgpack",
+      "application/msgpack", "application/vnd.msgpack");
+
+  // referenced by name, so formats not in use don't need to be on the classpath
+  private final String factoryClassName;
+  private final String[] mediaTypes;
+
+  BinaryFormat(String factoryClassName, String... mediaTypes) {
+    this.factoryClassName = factoryClassName;
+    this.mediaTypes = mediaTypes;
+  }
+
+  /**
+   * Media type sent as {@code Content-Type} for this format.
+   */
+  public String mediaType() {
+    return mediaTypes[0];
+  }
+
+  /**
+   * @param mediaType a media type, possibly followed by parameters such as {@code ;q=0.9}.
+   */
+  boolean matches(String mediaType) {
+    final int end = mediaType.indexOf(';');
+    final String type = (end == -1 ? mediaType : mediaType.substring(0, end)).trim();
+    for (String candidate : mediaTypes) {
+      if (candidate.equalsIgnoreCase(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  JsonFactory createFactory() {
+    try {
+      return (JsonFactory) Class.forName(factoryClassName).getConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(
+          "Add the Jackson dataformat providing " + factoryClassName + " to use " + this, e);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create " + factoryClassName, e);
+    }
+  }
+}
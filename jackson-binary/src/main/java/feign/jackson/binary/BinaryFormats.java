@@ -0,0 +1,155 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import static feign.Util.checkArgument;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import feign.RequestTemplate;
+import feign.Response;
+
+/**
+ * The {@link BinaryFormat formats} a client speaks, with their {@link ObjectMapper} and the
+ * {@link ObjectReader readers} and {@link ObjectWriter writers} cached per type. Share one instance
+ * between the encoder and decoders of a client:
+ *
+ * <pre>
+ * BinaryFormats formats = BinaryFormats.create(BinaryFormat.SMILE, BinaryFormat.CBOR);
+ * Feign.builder()
+ *     .encoder(new JacksonBinaryEncoder(formats))
+ *     .decoder(new JacksonBinaryDecoder(formats))
+ * </pre>
+ *
+ * The format of a body is chosen from its {@code Content-Type}, then from the request's
+ * {@code Accept} header, defaulting to the first format given.
+ */
+public final class BinaryFormats {
+
+  static final String CONTENT_TYPE = "Content-Type";
+  static final String ACCEPT = "Accept";
+
+  private final List<Codec> codecs;
+
+  private BinaryFormats(List<Codec> codecs) {
+    this.codecs = codecs;
+  }
+
+  public static BinaryFormats create(BinaryFormat... formats) {
+    return create(Collections.<Module>emptyList(), formats);
+  }
+
+  public static BinaryFormats create(Iterable<Module> modules, BinaryFormat... formats) {
+    checkArgument(formats.length > 0, "at least one format is required");
+    final List<Codec> codecs = new ArrayList<>(formats.length);
+    for (BinaryFormat format : formats) {
+      codecs.add(new Codec(format, new ObjectMapper(format.createFactory())
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .registerModules(modules)));
+    }
+    return new BinaryFormats(codecs);
+  }
+
+  /**
+   * Uses the given mapper for {@code format}, for example to customize its features.
+   */
+  public static BinaryFormats create(BinaryFormat format, ObjectMapper mapper) {
+    return new BinaryFormats(Collections.singletonList(new Codec(format, mapper)));
+  }
+
+  /**
+   * @return {@code null} if the request has a {@code Content-Type} none of the formats supports.
+   */
+  Codec forRequest(RequestTemplate template) {
+    final Collection<String> contentType = header(template.headers(), CONTENT_TYPE);
+    if (contentType != null && !contentType.isEmpty()) {
+      return find(contentType);
+    }
+    final Codec accepted = find(header(template.headers(), ACCEPT));
+    return accepted != null ? accepted : codecs.get(0);
+  }
+
+  Codec forResponse(Response response) {
+    Codec codec = find(header(response.headers(), CONTENT_TYPE));
+    if (codec == null && response.request() != null) {
+      codec = find(header(response.request().headers(), ACCEPT));
+    }
+    return codec != null ? codec : codecs.get(0);
+  }
+
+  static Collection<String> header(Map<String, Collection<String>> headers,
+                                   String name) {
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  private Codec find(Collection<String> values) {
+    if (values == null) {
+      return null;
+    }
+    for (String value : values) {
+      for (String mediaType : value.split(",")) {
+        for (int i = 0; i < codecs.size(); i++) {
+          if (codecs.get(i).format.matches(mediaType)) {
+            return codecs.get(i);
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  static final class Codec {
+
+    final BinaryFormat format;
+    final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private Codec(BinaryFormat format, ObjectMapper mapper) {
+      this.format = format;
+      this.mapper = mapper;
+    }
+
+    ObjectReader reader(Type type) {
+      final ObjectReader reader = readers.get(type);
+      if (reader != null) {
+        return reader;
+      }
+      return readers.computeIfAbsent(type, key -> mapper.readerFor(mapper.constructType(key)));
+    }
+
+    ObjectWriter writer(Type type) {
+      final ObjectWriter writer = writers.get(type);
+      if (writer != null) {
+        return writer;
+      }
+      return writers.computeIfAbsent(type, key -> mapper.writerFor(mapper.constructType(key)));
+    }
+  }
+}
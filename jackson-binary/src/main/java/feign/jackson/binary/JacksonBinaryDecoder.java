@@ -0,0 +1,79 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Type;
+import feign.Response;
+import feign.codec.Decoder;
+
+/**
+ * Decodes bodies in the format named by the response's {@code Content-Type}, or else the request's
+ * {@code Accept} header, or else the default {@link BinaryFormats format}.
+ */
+public class JacksonBinaryDecoder implements Decoder {
+
+  private final BinaryFormats formats;
+
+  public JacksonBinaryDecoder(BinaryFormat... formats) {
+    this(BinaryFormats.create(formats));
+  }
+
+  public JacksonBinaryDecoder(BinaryFormats formats) {
+    this.formats = formats;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    final InputStream inputStream = nonEmptyBody(response);
+    if (inputStream == null) {
+      return null;
+    }
+    try {
+      return formats.forResponse(response).reader(type).readValue(inputStream);
+    } catch (RuntimeJsonMappingException e) {
+      if (e.getCause() != null && e.getCause() instanceof IOException) {
+        throw IOException.class.cast(e.getCause());
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return {@code null} if the response has no body.
+   */
+  static InputStream nonEmptyBody(Response response) throws IOException {
+    if (response.body() == null)
+      return null;
+    final Integer length = response.body().length();
+    if (length != null && length == 0) {
+      return null;
+    }
+    final InputStream inputStream = response.body().asInputStream();
+    if (length != null) {
+      return inputStream;
+    }
+    // Read the first byte to see if we have any data
+    final PushbackInputStream pushback = new PushbackInputStream(inputStream, 1);
+    final int first = pushback.read();
+    if (first == -1) {
+      return null; // Eagerly returning null avoids "No content to map due to end-of-input"
+    }
+    pushback.unread(first);
+    return pushback;
+  }
+}
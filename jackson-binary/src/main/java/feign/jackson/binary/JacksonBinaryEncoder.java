@@ -0,0 +1,58 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import static feign.jackson.binary.BinaryFormats.CONTENT_TYPE;
+import static feign.jackson.binary.BinaryFormats.header;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.lang.reflect.Type;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import feign.jackson.binary.BinaryFormats.Codec;
+
+/**
+ * Encodes bodies in the format named by the request's {@code Content-Type}, or else its
+ * {@code Accept} header, or else the default {@link BinaryFormats format}. The {@code Content-Type}
+ * is set when missing.
+ */
+public class JacksonBinaryEncoder implements Encoder {
+
+  private final BinaryFormats formats;
+
+  public JacksonBinaryEncoder(BinaryFormat... formats) {
+    this(BinaryFormats.create(formats));
+  }
+
+  public JacksonBinaryEncoder(BinaryFormats formats) {
+    this.formats = formats;
+  }
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    final Codec codec = formats.forRequest(template);
+    if (codec == null) {
+      throw new EncodeException("No binary format supports Content-Type "
+          + header(template.headers(), CONTENT_TYPE));
+    }
+    if (header(template.headers(), CONTENT_TYPE) == null) {
+      template.header(CONTENT_TYPE, codec.format.mediaType());
+    }
+    try {
+      template.body(codec.writer(bodyType).writeValueAsBytes(object), null);
+    } catch (JsonProcessingException e) {
+      throw new EncodeException(e.getMessage(), e);
+    }
+  }
+}
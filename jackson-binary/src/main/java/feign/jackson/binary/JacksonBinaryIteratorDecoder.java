@@ -0,0 +1,150 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import static feign.Util.ensureClosed;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.jackson.binary.BinaryFormats.Codec;
+
+/**
+ * Decodes a binary array into an iterator that reads one element at a time, like
+ * {@code feign.jackson.JacksonIteratorDecoder} does for JSON. The iterator closes the
+ * {@code Response} when it reaches the end of the array or fails to parse it; if it is not fully
+ * consumed, cast it to {@code Closeable} and close it.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .decoder(new JacksonBinaryIteratorDecoder(BinaryFormat.SMILE))
+ *     .doNotCloseAfterDecode()
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public final class JacksonBinaryIteratorDecoder implements Decoder {
+
+  private final BinaryFormats formats;
+
+  public JacksonBinaryIteratorDecoder(BinaryFormat... formats) {
+    this(BinaryFormats.create(formats));
+  }
+
+  public JacksonBinaryIteratorDecoder(BinaryFormats formats) {
+    this.formats = formats;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    final Type elementType = actualIteratorTypeArgument(type);
+    final InputStream inputStream = JacksonBinaryDecoder.nonEmptyBody(response);
+    if (inputStream == null) {
+      return null;
+    }
+    final Codec codec = formats.forResponse(response);
+    return new BinaryIterator<>(response, codec.mapper.getFactory().createParser(inputStream),
+        codec.reader(elementType));
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  static final class BinaryIterator<T> implements Iterator<T>, Closeable {
+    private final Response response;
+    private final JsonParser parser;
+    private final ObjectReader objectReader;
+
+    private boolean started;
+    private boolean hasCurrent;
+    private boolean finished;
+    private T current;
+
+    BinaryIterator(Response response, JsonParser parser, ObjectReader objectReader) {
+      this.response = response;
+      this.parser = parser;
+      this.objectReader = objectReader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!hasCurrent && !finished) {
+        readNext();
+      }
+      return hasCurrent;
+    }
+
+    private void readNext() {
+      try {
+        JsonToken token = parser.nextToken();
+        if (!started) {
+          started = true;
+          if (token == JsonToken.START_ARRAY) {
+            token = parser.nextToken();
+          }
+        }
+        if (token == null || token == JsonToken.END_ARRAY) {
+          finished = true;
+          ensureClosed(this);
+          return;
+        }
+        current = objectReader.readValue(parser);
+        hasCurrent = true;
+      } catch (IOException e) {
+        finished = true;
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final T next = current;
+      current = null;
+      hasCurrent = false;
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ensureClosed(parser);
+      ensureClosed(response);
+    }
+  }
+}
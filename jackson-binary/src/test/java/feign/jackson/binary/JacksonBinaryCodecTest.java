@@ -0,0 +1,235 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.EncodeException;
+
+public class JacksonBinaryCodecTest {
+
+  private static final Type ZONES = new TypeReference<List<Zone>>() {}.getType();
+  private static final Type ZONE_ITERATOR = new TypeReference<Iterator<Zone>>() {}.getType();
+
+  private final BinaryFormats formats =
+      BinaryFormats.create(BinaryFormat.SMILE, BinaryFormat.CBOR, BinaryFormat.MESSAGE_PACK);
+  private final List<Zone> zones =
+      Arrays.asList(new Zone("denominator.io."), new Zone("denominator.io.", "ABCD"));
+
+  @Test
+  public void roundTripsEachFormat() throws Exception {
+    for (BinaryFormat format : BinaryFormat.values()) {
+      RequestTemplate template = new RequestTemplate();
+      template.header("Content-Type", format.mediaType());
+      new JacksonBinaryEncoder(formats).encode(zones, ZONES, template);
+
+      assertThat(template.requestBody().asBytes()).isNotEmpty();
+      assertThat(new JacksonBinaryDecoder(formats).decode(response(format.mediaType(),
+          template.requestBody().asBytes()), ZONES)).isEqualTo(zones);
+    }
+  }
+
+  @Test
+  public void encodesDefaultFormatAndSetsContentType() {
+    RequestTemplate template = new RequestTemplate();
+    new JacksonBinaryEncoder(formats).encode(zones, ZONES, template);
+
+    assertThat(template.headers().get("Content-Type"))
+        .containsExactly("application/x-jackson-smile");
+  }
+
+  @Test
+  public void encodesFormatAccepted() {
+    RequestTemplate template = new RequestTemplate();
+    template.header("Accept", "application/json;q=0.5, application/msgpack");
+    new JacksonBinaryEncoder(formats).encode(zones, ZONES, template);
+
+    assertThat(template.headers().get("Content-Type")).containsExactly("application/x-msgpack");
+  }
+
+  @Test
+  public void rejectsUnsupportedContentType() {
+    RequestTemplate template = new RequestTemplate();
+    template.header("Content-Type", "application/json");
+
+    assertThatThrownBy(() -> new JacksonBinaryEncoder(formats).encode(zones, ZONES, template))
+        .isInstanceOf(EncodeException.class)
+        .hasMessageContaining("application/json");
+  }
+
+  @Test
+  public void decodesFormatAcceptedWhenResponseHasNoContentType() throws Exception {
+    byte[] cbor = encode(BinaryFormat.CBOR);
+    Map<String, Collection<String>> headers = new LinkedHashMap<>();
+    headers.put("Accept", Collections.singletonList("application/cbor"));
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", headers, null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(cbor)
+        .build();
+
+    assertThat(new JacksonBinaryDecoder(formats).decode(response, ZONES)).isEqualTo(zones);
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws Exception {
+    assertThat(new JacksonBinaryDecoder(formats).decode(response(null, new byte[0]), ZONES))
+        .isNull();
+    assertThat(new JacksonBinaryIteratorDecoder(formats).decode(response(null, new byte[0]),
+        ZONE_ITERATOR)).isNull();
+  }
+
+  @Test
+  public void iteratesEachFormat() throws Exception {
+    for (BinaryFormat format : BinaryFormat.values()) {
+      @SuppressWarnings("unchecked")
+      Iterator<Zone> iterator = (Iterator<Zone>) new JacksonBinaryIteratorDecoder(formats)
+          .decode(response(format.mediaType(), encode(format)), ZONE_ITERATOR);
+
+      assertThat(iterator).containsExactlyElementsOf(zones);
+    }
+  }
+
+  @Test
+  public void iteratorClosesResponseAtEnd() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response(null, new byte[0]).toBuilder()
+        .body(new ClosingBody(encode(BinaryFormat.SMILE), closed))
+        .build();
+
+    Iterator<?> iterator =
+        (Iterator<?>) new JacksonBinaryIteratorDecoder(formats).decode(response, ZONE_ITERATOR);
+    iterator.next();
+    assertThat(closed).isFalse();
+    iterator.next();
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void iteratorFailsOnMalformedInput() throws Exception {
+    byte[] truncated = Arrays.copyOf(encode(BinaryFormat.CBOR), 20);
+    Iterator<?> iterator = (Iterator<?>) new JacksonBinaryIteratorDecoder(formats)
+        .decode(response("application/cbor", truncated), ZONE_ITERATOR);
+
+    assertThatThrownBy(() -> {
+      while (iterator.hasNext()) {
+        iterator.next();
+      }
+    }).isInstanceOf(DecodeException.class);
+    ((Closeable) iterator).close();
+  }
+
+  private byte[] encode(BinaryFormat format) {
+    RequestTemplate template = new RequestTemplate();
+    template.header("Content-Type", format.mediaType());
+    new JacksonBinaryEncoder(formats).encode(zones, ZONES, template);
+    return template.requestBody().asBytes();
+  }
+
+  private static Response response(String contentType, byte[] body) {
+    Map<String, Collection<String>> headers = new LinkedHashMap<>();
+    if (contentType != null) {
+      headers.put("Content-Type", Collections.singletonList(contentType));
+    }
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(headers)
+        .body(body)
+        .build();
+  }
+
+  static class Zone extends LinkedHashMap<String, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    Zone() {
+      // for reflective instantiation.
+    }
+
+    Zone(String name) {
+      this(name, null);
+    }
+
+    Zone(String name, String id) {
+      put("name", name);
+      if (id != null) {
+        put("id", id);
+      }
+    }
+  }
+
+  private static final class ClosingBody implements Response.Body {
+
+    private final byte[] data;
+    private final AtomicBoolean closed;
+
+    ClosingBody(byte[] data, AtomicBoolean closed) {
+      this.data = data;
+      this.closed = closed;
+    }
+
+    @Override
+    public Integer length() {
+      return data.length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return false;
+    }
+
+    @Override
+    public InputStream asInputStream() {
+      return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    public Reader asReader(Charset charset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      closed.set(true);
+    }
+  }
+}
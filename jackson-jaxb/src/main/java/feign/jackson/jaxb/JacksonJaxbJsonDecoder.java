@@ -14,31 +14,75 @@
 package feign.jackson.jaxb;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.FeignException;
 import feign.Response;
 import feign.codec.Decoder;
 import static com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider.DEFAULT_ANNOTATIONS;
-import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
+/**
+ * Decodes JSON bodies honoring both Jackson and JAXB annotations. The mapper is resolved from a
+ * {@link JacksonJaxbJsonProvider} once, then bodies are read with an {@link ObjectReader} cached
+ * per type rather than through the provider on every call.
+ */
 public final class JacksonJaxbJsonDecoder implements Decoder {
-  private final JacksonJaxbJsonProvider jacksonJaxbJsonProvider;
+  private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
 
   public JacksonJaxbJsonDecoder() {
-    this.jacksonJaxbJsonProvider = new JacksonJaxbJsonProvider();
+    this(new JacksonJaxbJsonProvider());
   }
 
   public JacksonJaxbJsonDecoder(ObjectMapper objectMapper) {
-    this.jacksonJaxbJsonProvider = new JacksonJaxbJsonProvider(objectMapper, DEFAULT_ANNOTATIONS);
+    this(new JacksonJaxbJsonProvider(objectMapper, DEFAULT_ANNOTATIONS));
+  }
+
+  private JacksonJaxbJsonDecoder(JacksonJaxbJsonProvider jacksonJaxbJsonProvider) {
+    this.mapper = jacksonJaxbJsonProvider.locateMapper(Object.class, null);
   }
 
   @Override
   public Object decode(Response response, Type type) throws IOException, FeignException {
     if (response.body() == null)
       return null;
-    return jacksonJaxbJsonProvider.readFrom(Object.class, type, null, APPLICATION_JSON_TYPE, null,
-        response.body().asInputStream());
+    final Integer length = response.body().length();
+    if (length != null && length == 0) {
+      return null;
+    }
+    InputStream inputStream = response.body().asInputStream();
+    if (length == null) {
+      // as the provider does, decode an empty body to null
+      final PushbackInputStream pushback = new PushbackInputStream(inputStream, 1);
+      final int first = pushback.read();
+      if (first == -1) {
+        return null;
+      }
+      pushback.unread(first);
+      inputStream = pushback;
+    }
+    try {
+      return reader(type).readValue(inputStream);
+    } catch (RuntimeJsonMappingException e) {
+      if (e.getCause() != null && e.getCause() instanceof IOException) {
+        throw IOException.class.cast(e.getCause());
+      }
+      throw e;
+    }
+  }
+
+  private ObjectReader reader(Type type) {
+    final ObjectReader reader = readers.get(type);
+    if (reader != null) {
+      return reader;
+    }
+    return readers.computeIfAbsent(type, key -> mapper.readerFor(mapper.constructType(key)));
   }
 }
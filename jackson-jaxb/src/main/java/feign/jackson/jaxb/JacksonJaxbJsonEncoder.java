@@ -1,5 +1,5 @@
 /**
- * Copyright 2012-2019 The Feign Authors
+ * Copyright 2012-2020 The Feign Authors
  *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
  * in compliance with the License. You may obtain a copy of the License at
@@ -13,40 +13,69 @@
  */
 package feign.jackson.jaxb;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.RequestTemplate;
+import feign.Util;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
 import static com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider.DEFAULT_ANNOTATIONS;
-import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
+/**
+ * Encodes bodies as JSON honoring both Jackson and JAXB annotations. The mapper is resolved from a
+ * {@link JacksonJaxbJsonProvider} once, then bodies are written with an {@link ObjectWriter} cached
+ * per type rather than through the provider on every call.
+ *
+ * <p>
+ * Like the provider, bodies declared with a plain class are written using their runtime type, and
+ * only generic body types, such as {@code List<Item>}, are written as declared.
+ */
 public final class JacksonJaxbJsonEncoder implements Encoder {
-  private final JacksonJaxbJsonProvider jacksonJaxbJsonProvider;
+  private final ObjectMapper mapper;
+  private final ObjectWriter runtimeTypeWriter;
+  private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
   public JacksonJaxbJsonEncoder() {
-    this.jacksonJaxbJsonProvider = new JacksonJaxbJsonProvider();
+    this(new JacksonJaxbJsonProvider());
   }
 
   public JacksonJaxbJsonEncoder(ObjectMapper objectMapper) {
-    this.jacksonJaxbJsonProvider = new JacksonJaxbJsonProvider(objectMapper, DEFAULT_ANNOTATIONS);
+    this(new JacksonJaxbJsonProvider(objectMapper, DEFAULT_ANNOTATIONS));
   }
 
+  private JacksonJaxbJsonEncoder(JacksonJaxbJsonProvider jacksonJaxbJsonProvider) {
+    this.mapper = jacksonJaxbJsonProvider.locateMapper(Object.class, null);
+    this.runtimeTypeWriter = mapper.writer();
+  }
 
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template)
       throws EncodeException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     try {
-      jacksonJaxbJsonProvider.writeTo(object, bodyType.getClass(), null, null,
-          APPLICATION_JSON_TYPE, null, outputStream);
-      template.body(outputStream.toByteArray(), Charset.defaultCharset());
+      template.body(writer(bodyType).writeValueAsBytes(object), Util.UTF_8);
     } catch (IOException e) {
       throw new EncodeException(e.getMessage(), e);
     }
   }
+
+  private ObjectWriter writer(Type bodyType) {
+    if (bodyType == null || bodyType instanceof Class) {
+      return runtimeTypeWriter;
+    }
+    final ObjectWriter writer = writers.get(bodyType);
+    if (writer != null) {
+      return writer;
+    }
+    return writers.computeIfAbsent(bodyType, key -> {
+      JavaType javaType = mapper.getTypeFactory().constructType(key);
+      return javaType.getRawClass() == Object.class ? runtimeTypeWriter
+          : mapper.writerFor(javaType);
+    });
+  }
 }
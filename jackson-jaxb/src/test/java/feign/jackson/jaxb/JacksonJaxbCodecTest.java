@@ -20,7 +20,11 @@ import feign.Request.HttpMethod;
 import feign.RequestTemplate;
 import feign.Response;
 import feign.Util;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -55,6 +59,80 @@ public class JacksonJaxbCodecTest {
         .isEqualTo(new MockObject("Test"));
   }
 
+  @Test
+  public void honorsJaxbElementNames() throws Exception {
+    RequestTemplate template = new RequestTemplate();
+    new JacksonJaxbJsonEncoder().encode(new RenamedObject("Test"), RenamedObject.class, template);
+
+    assertThat(template).hasBody("{\"renamed\":\"Test\"}");
+
+    Response response = response("{\"renamed\":\"Test\"}");
+    assertThat(((RenamedObject) new JacksonJaxbJsonDecoder().decode(response,
+        RenamedObject.class)).value).isEqualTo("Test");
+  }
+
+  @Test
+  public void encodesRuntimeTypeOfPlainClasses() {
+    RequestTemplate template = new RequestTemplate();
+
+    new JacksonJaxbJsonEncoder().encode(new MockObject("Test"), Object.class, template);
+
+    assertThat(template).hasBody("{\"value\":\"Test\"}");
+  }
+
+  @Test
+  public void encodesAndDecodesGenericTypes() throws Exception {
+    Type type = ListHolder.class.getDeclaredField("list").getGenericType();
+    RequestTemplate template = new RequestTemplate();
+    JacksonJaxbJsonEncoder encoder = new JacksonJaxbJsonEncoder();
+    JacksonJaxbJsonDecoder decoder = new JacksonJaxbJsonDecoder();
+
+    for (int i = 0; i < 2; i++) {
+      encoder.encode(Arrays.asList(new MockObject("a"), new MockObject("b")), type, template);
+
+      assertThat(template).hasBody("[{\"value\":\"a\"},{\"value\":\"b\"}]");
+      assertThat(decoder.decode(response("[{\"value\":\"a\"},{\"value\":\"b\"}]"), type))
+          .isEqualTo(Arrays.asList(new MockObject("a"), new MockObject("b")));
+    }
+  }
+
+  @Test
+  public void decodesEmptyBodyToNull() throws Exception {
+    Response response = response("").toBuilder()
+        .body(new ByteArrayInputStream(new byte[0]), null)
+        .build();
+
+    assertThat(new JacksonJaxbJsonDecoder().decode(response, MockObject.class)).isNull();
+  }
+
+  private static Response response(String body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(body, UTF_8)
+        .build();
+  }
+
+  static class ListHolder {
+    List<MockObject> list;
+  }
+
+  @XmlRootElement
+  @XmlAccessorType(XmlAccessType.FIELD)
+  static class RenamedObject {
+
+    @XmlElement(name = "renamed")
+    private String value;
+
+    RenamedObject() {}
+
+    RenamedObject(String value) {
+      this.value = value;
+    }
+  }
+
   /**
    * Enabled via {@link feign.Feign.Builder#decode404()}
    */
@@ -16,19 +16,26 @@ package feign.jackson;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.Response;
-import feign.Util;
 import feign.codec.Decoder;
 
+/**
+ * Decodes JSON bodies with an {@link ObjectReader} cached per type. Bodies are read as bytes, so
+ * Jackson's UTF-8 parser is used instead of a {@link java.io.Reader}.
+ */
 public class JacksonDecoder implements Decoder {
 
   private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
 
   public JacksonDecoder() {
     this(Collections.<Module>emptyList());
@@ -47,18 +54,23 @@ public class JacksonDecoder implements Decoder {
   public Object decode(Response response, Type type) throws IOException {
     if (response.body() == null)
       return null;
-    Reader reader = response.body().asReader(Util.UTF_8);
-    if (!reader.markSupported()) {
-      reader = new BufferedReader(reader, 1);
+    final Integer length = response.body().length();
+    if (length != null && length == 0) {
+      return null;
     }
-    try {
+    InputStream inputStream = response.body().asInputStream();
+    if (length == null) {
       // Read the first byte to see if we have any data
-      reader.mark(1);
-      if (reader.read() == -1) {
+      final PushbackInputStream pushback = new PushbackInputStream(inputStream, 1);
+      final int first = pushback.read();
+      if (first == -1) {
         return null; // Eagerly returning null avoids "No content to map due to end-of-input"
       }
-      reader.reset();
-      return mapper.readValue(reader, mapper.constructType(type));
+      pushback.unread(first);
+      inputStream = pushback;
+    }
+    try {
+      return reader(type).readValue(inputStream);
     } catch (RuntimeJsonMappingException e) {
       if (e.getCause() != null && e.getCause() instanceof IOException) {
         throw IOException.class.cast(e.getCause());
@@ -66,4 +78,12 @@ public class JacksonDecoder implements Decoder {
       throw e;
     }
   }
+
+  private ObjectReader reader(Type type) {
+    final ObjectReader reader = readers.get(type);
+    if (reader != null) {
+      return reader;
+    }
+    return readers.computeIfAbsent(type, key -> mapper.readerFor(mapper.constructType(key)));
+  }
 }
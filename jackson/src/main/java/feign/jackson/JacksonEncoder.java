@@ -18,17 +18,25 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
 import feign.Util;
 
+/**
+ * Encodes bodies as JSON with an {@link ObjectWriter} cached per body type, so the type and its
+ * serializers are resolved once rather than on every call.
+ */
 public class JacksonEncoder implements Encoder {
 
   private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
   public JacksonEncoder() {
     this(Collections.<Module>emptyList());
@@ -48,10 +56,20 @@ public class JacksonEncoder implements Encoder {
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template) {
     try {
-      JavaType javaType = mapper.getTypeFactory().constructType(bodyType);
-      template.body(mapper.writerFor(javaType).writeValueAsBytes(object), Util.UTF_8);
+      template.body(writer(bodyType).writeValueAsBytes(object), Util.UTF_8);
     } catch (JsonProcessingException e) {
       throw new EncodeException(e.getMessage(), e);
     }
   }
+
+  private ObjectWriter writer(Type bodyType) {
+    final ObjectWriter writer = writers.get(bodyType);
+    if (writer != null) {
+      return writer;
+    }
+    return writers.computeIfAbsent(bodyType, key -> {
+      JavaType javaType = mapper.getTypeFactory().constructType(key);
+      return mapper.writerFor(javaType);
+    });
+  }
 }
@@ -26,8 +26,10 @@ import feign.Request;
 import feign.Request.HttpMethod;
 import feign.Util;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -128,6 +130,34 @@ public class JacksonCodecTest {
     assertNull(new JacksonDecoder().decode(response, String.class));
   }
 
+  @Test
+  public void decodesBodyOfUnknownLength() throws Exception {
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(zonesJson.getBytes(UTF_8)), null)
+        .build();
+    JacksonDecoder decoder = new JacksonDecoder();
+    Type type = new TypeReference<List<Zone>>() {}.getType();
+
+    assertEquals(Arrays.asList(new Zone("denominator.io."), new Zone("denominator.io.", "ABCD")),
+        decoder.decode(response, type));
+  }
+
+  @Test
+  public void emptyBodyOfUnknownLengthDecodesToNull() throws Exception {
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(new byte[0]), null)
+        .build();
+    assertNull(new JacksonDecoder().decode(response, String.class));
+  }
+
   @Test
   public void customDecoder() throws Exception {
     JacksonDecoder decoder = new JacksonDecoder(
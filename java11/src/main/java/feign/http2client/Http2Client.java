@@ -27,14 +27,16 @@ import java.net.http.HttpRequest.Builder;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandlers;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import feign.*;
 import feign.Request.Options;
 
-public class Http2Client implements Client {
+public class Http2Client implements Client, ConnectionPoolStats {
 
   private final HttpClient client;
+  private final AtomicInteger activeRequests = new AtomicInteger();
 
   public Http2Client() {
     this(HttpClient.newBuilder()
@@ -52,10 +54,13 @@ public class Http2Client implements Client {
     final HttpRequest httpRequest = newRequestBuilder(request).build();
 
     HttpResponse<byte[]> httpResponse;
+    activeRequests.incrementAndGet();
     try {
       httpResponse = client.send(httpRequest, BodyHandlers.ofByteArray());
     } catch (final InterruptedException e) {
       throw new IOException("Invalid uri " + request.url(), e);
+    } finally {
+      activeRequests.decrementAndGet();
     }
 
     final OptionalLong length = httpResponse.headers().firstValueAsLong("Content-Length");
@@ -71,6 +76,35 @@ public class Http2Client implements Client {
     return response;
   }
 
+  /**
+   * The JDK {@link HttpClient} does not expose its connections, only requests in flight through
+   * this client are known.
+   */
+  @Override
+  public int leasedConnections() {
+    return -1;
+  }
+
+  @Override
+  public int idleConnections() {
+    return -1;
+  }
+
+  @Override
+  public int maxConnections() {
+    return -1;
+  }
+
+  @Override
+  public int pendingRequests() {
+    return -1;
+  }
+
+  @Override
+  public int activeRequests() {
+    return activeRequests.get();
+  }
+
   private Builder newRequestBuilder(Request request) throws IOException {
     URI uri;
     try {
@@ -17,7 +17,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -28,15 +31,26 @@ import javax.xml.bind.Unmarshaller;
  * Creates and caches JAXB contexts as well as creates Marshallers and Unmarshallers for each
  * context. Since JAXB contexts creation can be an expensive task, JAXB context can be preloaded on
  * factory creation otherwise they will be created and cached dynamically when needed.
+ *
+ * <p>
+ * The encoders and decoders of this module reuse Marshallers and Unmarshallers, keeping up to
+ * {@link Builder#withPoolSize(int) poolSize} idle instances per class.
+ * </p>
  */
 public final class JAXBContextFactory {
 
   private final ConcurrentHashMap<Class<?>, JAXBContext> jaxbContexts =
       new ConcurrentHashMap<>(64);
   private final Map<String, Object> properties;
+  private final int poolSize;
+  private final ConcurrentMap<Class<?>, BlockingQueue<Marshaller>> marshallers =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, BlockingQueue<Unmarshaller>> unmarshallers =
+      new ConcurrentHashMap<>();
 
-  private JAXBContextFactory(Map<String, Object> properties) {
+  private JAXBContextFactory(Map<String, Object> properties, int poolSize) {
     this.properties = properties;
+    this.poolSize = poolSize;
   }
 
   /**
@@ -55,6 +69,42 @@ public final class JAXBContextFactory {
     return marshaller;
   }
 
+  /**
+   * Takes an idle {@link Marshaller} for the supplied class, or creates one. Not to be shared
+   * between threads, and to be {@link #releaseMarshaller(Class, Marshaller) released} after use.
+   */
+  public Marshaller acquireMarshaller(Class<?> clazz) throws JAXBException {
+    Marshaller marshaller = pool(marshallers, clazz).poll();
+    return marshaller != null ? marshaller : createMarshaller(clazz);
+  }
+
+  public void releaseMarshaller(Class<?> clazz, Marshaller marshaller) {
+    pool(marshallers, clazz).offer(marshaller);
+  }
+
+  /**
+   * Takes an idle {@link Unmarshaller} for the supplied class, or creates one. Not to be shared
+   * between threads, and to be {@link #releaseUnmarshaller(Class, Unmarshaller) released} after
+   * use.
+   */
+  public Unmarshaller acquireUnmarshaller(Class<?> clazz) throws JAXBException {
+    Unmarshaller unmarshaller = pool(unmarshallers, clazz).poll();
+    return unmarshaller != null ? unmarshaller : createUnmarshaller(clazz);
+  }
+
+  public void releaseUnmarshaller(Class<?> clazz, Unmarshaller unmarshaller) {
+    pool(unmarshallers, clazz).offer(unmarshaller);
+  }
+
+  private <T> BlockingQueue<T> pool(ConcurrentMap<Class<?>, BlockingQueue<T>> pools,
+                                    Class<?> clazz) {
+    BlockingQueue<T> pool = pools.get(clazz);
+    if (pool != null) {
+      return pool;
+    }
+    return pools.computeIfAbsent(clazz, key -> new ArrayBlockingQueue<>(poolSize));
+  }
+
   private void setMarshallerProperties(Marshaller marshaller) throws PropertyException {
     for (Entry<String, Object> en : properties.entrySet()) {
       marshaller.setProperty(en.getKey(), en.getValue());
@@ -90,6 +140,7 @@ public final class JAXBContextFactory {
   public static class Builder {
 
     private final Map<String, Object> properties = new HashMap<>(10);
+    private int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
     /**
      * Sets the jaxb.encoding property of any Marshaller created by this factory.
@@ -149,12 +200,24 @@ public final class JAXBContextFactory {
       return this;
     }
 
+    /**
+     * Sets how many idle Marshallers and Unmarshallers are kept for reuse, per class. Defaults to
+     * twice the number of processors.
+     */
+    public Builder withPoolSize(int poolSize) {
+      if (poolSize <= 0) {
+        throw new IllegalArgumentException("poolSize must be positive");
+      }
+      this.poolSize = poolSize;
+      return this;
+    }
+
     /**
      * Creates a new {@link feign.jaxb.JAXBContextFactory} instance with a lazy loading cached
      * context
      */
     public JAXBContextFactory build() {
-      return new JAXBContextFactory(properties);
+      return new JAXBContextFactory(properties, poolSize);
     }
 
     /**
@@ -167,7 +230,7 @@ public final class JAXBContextFactory {
      *         likely due to missing JAXB annotations
      */
     public JAXBContextFactory build(List<Class<?>> classes) throws JAXBException {
-      JAXBContextFactory factory = new JAXBContextFactory(properties);
+      JAXBContextFactory factory = new JAXBContextFactory(properties, poolSize);
       factory.preloadContextCache(classes);
       return factory;
     }
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.sax.SAXSource;
@@ -88,9 +89,15 @@ public class JAXBDecoder implements Decoder {
           false);
       saxParserFactory.setNamespaceAware(namespaceAware);
 
-      return jaxbContextFactory.createUnmarshaller((Class<?>) type).unmarshal(new SAXSource(
-          saxParserFactory.newSAXParser().getXMLReader(),
-          new InputSource(response.body().asInputStream())));
+      Class<?> clazz = (Class<?>) type;
+      Unmarshaller unmarshaller = jaxbContextFactory.acquireUnmarshaller(clazz);
+      try {
+        return unmarshaller.unmarshal(new SAXSource(
+            saxParserFactory.newSAXParser().getXMLReader(),
+            new InputSource(response.body().asInputStream())));
+      } finally {
+        jaxbContextFactory.releaseUnmarshaller(clazz, unmarshaller);
+      }
     } catch (JAXBException | ParserConfigurationException | SAXException e) {
       throw new DecodeException(response.status(), e.toString(), response.request(), e);
     } finally {
@@ -56,9 +56,14 @@ public class JAXBEncoder implements Encoder {
           "JAXB only supports encoding raw types. Found " + bodyType);
     }
     try {
-      Marshaller marshaller = jaxbContextFactory.createMarshaller((Class<?>) bodyType);
+      Class<?> clazz = (Class<?>) bodyType;
+      Marshaller marshaller = jaxbContextFactory.acquireMarshaller(clazz);
       StringWriter stringWriter = new StringWriter();
-      marshaller.marshal(object, stringWriter);
+      try {
+        marshaller.marshal(object, stringWriter);
+      } finally {
+        jaxbContextFactory.releaseMarshaller(clazz, marshaller);
+      }
       template.body(stringWriter.toString());
     } catch (JAXBException e) {
       throw new EncodeException(e.toString(), e);
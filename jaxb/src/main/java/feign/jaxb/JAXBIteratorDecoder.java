@@ -0,0 +1,249 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxb;
+
+import static feign.Util.ensureClosed;
+import java.beans.Introspector;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+/**
+ * Decodes a response into an {@code Iterator<T>}, unmarshalling the children of the root element
+ * one at a time with StAX instead of materializing the whole document. Combine with
+ * {@link feign.stream.StreamDecoder} to return a {@code Stream<T>}:
+ *
+ * <pre>
+ * interface Inventory {
+ *   &#64;RequestLine("GET /items")
+ *   Stream&lt;Item&gt; items();
+ * }
+ *
+ * JAXBIteratorDecoder iteratorDecoder = new JAXBIteratorDecoder.Builder()
+ *     .withJAXBContextFactory(jaxbFactory)
+ *     .build();
+ *
+ * api = Feign.builder()
+ *     .decoder(StreamDecoder.create(iteratorDecoder, new JAXBDecoder(jaxbFactory)))
+ *     .doNotCloseAfterDecode()
+ *     .target(Inventory.class, &quot;http://api&quot;);
+ * </pre>
+ * <p>
+ * When {@code T} is annotated with {@link XmlRootElement}, only children with that name are
+ * unmarshalled and other children are skipped. Otherwise every child is unmarshalled as {@code T}.
+ * </p>
+ * <p>
+ * The response is kept open until the iterator is exhausted or {@link Closeable#close() closed},
+ * and an {@link Unmarshaller} of the {@link JAXBContextFactory} pool is held meanwhile.
+ * </p>
+ */
+public class JAXBIteratorDecoder implements Decoder {
+
+  private final JAXBContextFactory jaxbContextFactory;
+  private final XMLInputFactory xmlInputFactory;
+
+  private JAXBIteratorDecoder(Builder builder) {
+    this.jaxbContextFactory = builder.jaxbContextFactory;
+    this.xmlInputFactory = XMLInputFactory.newInstance();
+    /* Explicitly control StAX configuration to prevent XXE attacks */
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, builder.namespaceAware);
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not an iterator type " + type.getTypeName());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException("Not an iterator type " + type.getTypeName());
+    }
+    Type elementType = parameterizedType.getActualTypeArguments()[0];
+    while (elementType instanceof ParameterizedType) {
+      elementType = ((ParameterizedType) elementType).getRawType();
+    }
+    if (!(elementType instanceof Class)) {
+      throw new UnsupportedOperationException(
+          "JAXB only supports decoding raw types. Found " + elementType);
+    }
+    if (response.status() == 204 || response.body() == null) {
+      ensureClosed(response.body());
+      return Util.emptyValueOf(type);
+    }
+    return new ElementIterator<>((Class<?>) elementType, response);
+  }
+
+  private final class ElementIterator<T> implements Iterator<T>, Closeable {
+
+    private final Class<T> elementClass;
+    private final String elementName;
+    private final Response response;
+    private Unmarshaller unmarshaller;
+    private XMLStreamReader reader;
+    private boolean closed;
+    private T current;
+
+    private ElementIterator(Class<T> elementClass, Response response) {
+      this.elementClass = elementClass;
+      this.elementName = elementName(elementClass);
+      this.response = response;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null && !closed) {
+        try {
+          current = advance();
+        } catch (JAXBException | XMLStreamException | IOException | RuntimeException e) {
+          close();
+          throw new DecodeException(response.status(), e.toString(), response.request(), e);
+        }
+        if (current == null) {
+          close();
+        }
+      }
+      return current != null;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T result = current;
+      current = null;
+      return result;
+    }
+
+    private T advance() throws JAXBException, XMLStreamException, IOException {
+      if (reader == null) {
+        reader = xmlInputFactory.createXMLStreamReader(response.body().asInputStream());
+        unmarshaller = jaxbContextFactory.acquireUnmarshaller(elementClass);
+        // step into the root element
+        while (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+          if (!reader.hasNext()) {
+            return null;
+          }
+          reader.next();
+        }
+        reader.next();
+      }
+      while (true) {
+        switch (reader.getEventType()) {
+          case XMLStreamConstants.START_ELEMENT:
+            if (elementName == null || elementName.equals(reader.getLocalName())) {
+              // leaves the reader on the event following the child
+              T element = unmarshaller.unmarshal(reader, elementClass).getValue();
+              if (element != null) {
+                return element;
+              }
+              continue;
+            }
+            skipElement();
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+          case XMLStreamConstants.END_DOCUMENT:
+            // end of the root element
+            return null;
+          default:
+            break;
+        }
+        reader.next();
+      }
+    }
+
+    private void skipElement() throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      current = null;
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException ignored) {
+        }
+      }
+      if (unmarshaller != null) {
+        jaxbContextFactory.releaseUnmarshaller(elementClass, unmarshaller);
+        unmarshaller = null;
+      }
+      ensureClosed(response);
+    }
+  }
+
+  private static String elementName(Class<?> elementClass) {
+    XmlRootElement root = elementClass.getAnnotation(XmlRootElement.class);
+    if (root == null) {
+      return null;
+    }
+    return "##default".equals(root.name())
+        ? Introspector.decapitalize(elementClass.getSimpleName())
+        : root.name();
+  }
+
+  public static class Builder {
+    private boolean namespaceAware = true;
+    private JAXBContextFactory jaxbContextFactory;
+
+    /**
+     * Controls whether the underlying XML parser is namespace aware. Default is true.
+     */
+    public Builder withNamespaceAware(boolean namespaceAware) {
+      this.namespaceAware = namespaceAware;
+      return this;
+    }
+
+    public Builder withJAXBContextFactory(JAXBContextFactory jaxbContextFactory) {
+      this.jaxbContextFactory = jaxbContextFactory;
+      return this;
+    }
+
+    public JAXBIteratorDecoder build() {
+      if (jaxbContextFactory == null) {
+        throw new IllegalStateException("JAXBContextFactory must be non-null");
+      }
+      return new JAXBIteratorDecoder(this);
+    }
+  }
+}
@@ -19,9 +19,12 @@ import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class JAXBContextFactoryTest {
@@ -93,4 +96,21 @@ public class JAXBContextFactoryTest {
 
   }
 
+  @Test
+  public void reusesReleasedMarshallersAndUnmarshallers() throws Exception {
+    JAXBContextFactory factory = new JAXBContextFactory.Builder().withPoolSize(1).build();
+
+    Marshaller marshaller = factory.acquireMarshaller(String.class);
+    assertNotSame(marshaller, factory.acquireMarshaller(String.class));
+    factory.releaseMarshaller(String.class, marshaller);
+    assertSame(marshaller, factory.acquireMarshaller(String.class));
+
+    Unmarshaller unmarshaller = factory.acquireUnmarshaller(String.class);
+    factory.releaseUnmarshaller(String.class, unmarshaller);
+    // the pool is full, so this one is discarded
+    factory.releaseUnmarshaller(String.class, factory.createUnmarshaller(String.class));
+    assertSame(unmarshaller, factory.acquireUnmarshaller(String.class));
+    assertNotSame(unmarshaller, factory.acquireUnmarshaller(String.class));
+  }
+
 }
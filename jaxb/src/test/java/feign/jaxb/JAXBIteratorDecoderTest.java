@@ -0,0 +1,176 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxb;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import org.junit.Test;
+import feign.stream.StreamDecoder;
+
+public class JAXBIteratorDecoderTest {
+
+  private final JAXBContextFactory jaxbFactory = new JAXBContextFactory.Builder().build();
+  private final JAXBIteratorDecoder decoder = new JAXBIteratorDecoder.Builder()
+      .withJAXBContextFactory(jaxbFactory)
+      .build();
+
+  @XmlRootElement
+  @XmlAccessorType(XmlAccessType.FIELD)
+  static class Item {
+
+    @XmlElement
+    String value;
+  }
+
+  interface Api {
+    Iterator<Item> iterator();
+
+    Stream<Item> stream();
+  }
+
+  @Test
+  public void decodesChildrenOneAtATime() throws Exception {
+    String xml = "<?xml version=\"1.0\"?>\n<items>\n"
+        + "  <item><value>a</value></item>\n"
+        + "  <other><item><value>ignored</value></item></other>\n"
+        + "  <item><value>b</value></item>"
+        + "<item><value>c</value></item>\n"
+        + "</items>";
+
+    Iterator<?> iterator = (Iterator<?>) decoder.decode(response(xml), type("iterator"));
+
+    assertThat(iterator.hasNext()).isTrue();
+    assertThat(((Item) iterator.next()).value).isEqualTo("a");
+    assertThat(((Item) iterator.next()).value).isEqualTo("b");
+    assertThat(((Item) iterator.next()).value).isEqualTo("c");
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void decodesEmptyRoot() throws Exception {
+    Iterator<?> iterator = (Iterator<?>) decoder.decode(response("<items/>"), type("iterator"));
+
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  @Test
+  public void decodesNoContentAsEmptyIterator() throws Exception {
+    Response response = response("").toBuilder().status(204).body((byte[]) null).build();
+
+    assertThat((Iterator<?>) decoder.decode(response, type("iterator"))).isEmpty();
+  }
+
+  @Test
+  public void closesResponseWhenExhausted() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+    Response response = response("<items><item><value>a</value></item></items>")
+        .toBuilder()
+        .body(new ByteArrayInputStream(
+            "<items><item><value>a</value></item></items>".getBytes(UTF_8)) {
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+          }
+        }, null)
+        .build();
+
+    Iterator<?> iterator = (Iterator<?>) decoder.decode(response, type("iterator"));
+    iterator.next();
+    assertThat(closed.get()).isFalse();
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(closed.get()).isTrue();
+  }
+
+  @Test
+  public void closingReleasesUnmarshaller() throws Exception {
+    JAXBContextFactory factory = new JAXBContextFactory.Builder().withPoolSize(1).build();
+    JAXBIteratorDecoder decoder = new JAXBIteratorDecoder.Builder()
+        .withJAXBContextFactory(factory)
+        .build();
+
+    Iterator<?> iterator = (Iterator<?>) decoder.decode(
+        response("<items><item><value>a</value></item>"
+            + "<item><value>b</value></item></items>"),
+        type("iterator"));
+    iterator.next();
+    ((Closeable) iterator).close();
+
+    assertThat(iterator.hasNext()).isFalse();
+    // acquiring twice only succeeds from the pool once
+    assertThat(factory.acquireUnmarshaller(Item.class))
+        .isNotSameAs(factory.acquireUnmarshaller(Item.class));
+  }
+
+  @Test
+  public void malformedXmlThrowsDecodeException() throws Exception {
+    Iterator<?> iterator = (Iterator<?>) decoder.decode(
+        response("<items><item><value>a</value></item><mock"), type("iterator"));
+
+    assertThatThrownBy(() -> iterator.forEachRemaining(item -> {
+    })).isInstanceOf(DecodeException.class);
+  }
+
+  @Test
+  public void decodesStreamWithStreamDecoder() throws Exception {
+    StreamDecoder streamDecoder = StreamDecoder.create(decoder, new JAXBDecoder(jaxbFactory));
+
+    @SuppressWarnings("unchecked")
+    Stream<Item> stream = (Stream<Item>) streamDecoder.decode(
+        response("<items><item><value>a</value></item>"
+            + "<item><value>b</value></item></items>"),
+        type("stream"));
+
+    assertThat(stream.map(item -> item.value).collect(Collectors.toList()))
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  public void rejectsNonIteratorTypes() {
+    assertThatThrownBy(() -> decoder.decode(response("<items/>"), Item.class))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Type type(String method) throws NoSuchMethodException {
+    return Api.class.getDeclaredMethod(method).getGenericReturnType();
+  }
+
+  private static Response response(String body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(body, UTF_8)
+        .build();
+  }
+}
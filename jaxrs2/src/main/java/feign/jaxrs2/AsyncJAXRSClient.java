@@ -0,0 +1,172 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxrs2;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Response;
+import feign.AsyncClient;
+import feign.Request.Options;
+
+/**
+ * This module directs Feign's asynchronous http requests to javax.ws.rs.client.Client, through its
+ * {@link javax.ws.rs.client.AsyncInvoker}. Whether a thread is blocked per request depends on the
+ * JAX-RS implementation and its connector. Cancelling the result cancels the invocation, and
+ * response entities are streamed. Ex:
+ *
+ * <pre>
+ * GitHub github = AsyncFeign.asyncBuilder().client(new AsyncJAXRSClient()).target(GitHub.class,
+ *     "https://api.github.com");
+ * </pre>
+ *
+ * <p>
+ * A client is built for each combination of timeouts, from a copy of the configuration of the given
+ * builder, and reused for later requests. Once {@value #MAX_SIZE} clients are cached, a client is
+ * built per request for further combinations, and closed with its response. Close this client to
+ * close the cached ones.
+ * </p>
+ *
+ * @param <C> unused context.
+ */
+public class AsyncJAXRSClient<C> implements AsyncClient<C>, AutoCloseable {
+
+  static final int MAX_SIZE = 32;
+
+  private final ClientBuilder clientBuilder;
+  private final ConcurrentMap<Long, Client> clients = new ConcurrentHashMap<>();
+
+  public AsyncJAXRSClient() {
+    this(ClientBuilder.newBuilder());
+  }
+
+  public AsyncJAXRSClient(ClientBuilder clientBuilder) {
+    this.clientBuilder = clientBuilder;
+  }
+
+  @Override
+  public CompletableFuture<feign.Response> execute(feign.Request request,
+                                                   Options options,
+                                                   Optional<C> requestContext) {
+    final Client cached = cachedClient(options);
+    final Client client = cached != null ? cached : build(options);
+    final CompletableFuture<feign.Response> result = new CompletableFuture<>();
+    final Future<Response> invocation = client
+        .target(request.url())
+        .request()
+        .headers(JAXRSClient.toMultivaluedMap(request.headers()))
+        .async()
+        .method(request.httpMethod().name(), JAXRSClient.createRequestEntity(request),
+            new InvocationCallback<Response>() {
+
+              @Override
+              public void completed(Response response) {
+                try {
+                  feign.Response feignResponse = JAXRSClient.toFeignResponse(request, response);
+                  if (client != cached) {
+                    feignResponse = closingClient(feignResponse, client);
+                  }
+                  if (!result.complete(feignResponse)) {
+                    // cancelled meanwhile
+                    response.close();
+                  }
+                } catch (RuntimeException e) {
+                  response.close();
+                  result.completeExceptionally(e);
+                }
+              }
+
+              @Override
+              public void failed(Throwable throwable) {
+                result.completeExceptionally(throwable);
+              }
+            });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        invocation.cancel(true);
+      }
+      if (client != cached && throwable != null) {
+        client.close();
+      }
+    });
+    return result;
+  }
+
+  private Client cachedClient(Options options) {
+    final Long timeouts =
+        ((long) options.connectTimeoutMillis() << 32) | options.readTimeoutMillis();
+    final Client client = clients.get(timeouts);
+    if (client != null || clients.size() >= MAX_SIZE) {
+      return client;
+    }
+    return clients.computeIfAbsent(timeouts, key -> build(options));
+  }
+
+  private Client build(Options options) {
+    // copies the configuration, leaving the caller's builder as it was
+    return ClientBuilder.newBuilder()
+        .withConfig(clientBuilder.getConfiguration())
+        .connectTimeout(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS)
+        .readTimeout(options.readTimeoutMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Closes the uncached {@code client} once the body of the {@code response} is closed.
+   */
+  private static feign.Response closingClient(feign.Response response, Client client) {
+    if (response.body() == null) {
+      client.close();
+      return response;
+    }
+    final InputStream body;
+    try {
+      body = response.body().asInputStream();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return response.toBuilder()
+        .body(new FilterInputStream(body) {
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            } finally {
+              client.close();
+            }
+          }
+        }, response.body().length())
+        .build();
+  }
+
+  int size() {
+    return clients.size();
+  }
+
+  @Override
+  public void close() {
+    clients.values().forEach(Client::close);
+    clients.clear();
+  }
+}
@@ -58,6 +58,10 @@ public class JAXRSClient implements Client {
         .headers(toMultivaluedMap(request.headers()))
         .method(request.httpMethod().name(), createRequestEntity(request));
 
+    return toFeignResponse(request, response);
+  }
+
+  static feign.Response toFeignResponse(feign.Request request, Response response) {
     return feign.Response.builder()
         .request(request)
         .body(response.readEntity(InputStream.class),
@@ -68,7 +72,7 @@ public class JAXRSClient implements Client {
         .build();
   }
 
-  private Entity<byte[]> createRequestEntity(feign.Request request) {
+  static Entity<byte[]> createRequestEntity(feign.Request request) {
     if (request.body() == null) {
       return null;
     }
@@ -76,10 +80,10 @@ public class JAXRSClient implements Client {
     return Entity.entity(
         request.body(),
         new Variant(mediaType(request.headers()), locale(request.headers()),
-            encoding(request.charset())));
+            encoding(request.headers(), request.charset())));
   }
 
-  private Integer integerHeader(Response response, String header) {
+  private static Integer integerHeader(Response response, String header) {
     final MultivaluedMap<String, String> headers = response.getStringHeaders();
     if (!headers.containsKey(header)) {
       return null;
@@ -93,28 +97,32 @@ public class JAXRSClient implements Client {
     }
   }
 
-  private String encoding(Charset charset) {
+  private static String encoding(Map<String, Collection<String>> headers, Charset charset) {
+    // the variant replaces the Content-Encoding header, for example of compressed bodies
+    if (headers.containsKey(HttpHeaders.CONTENT_ENCODING))
+      return headers.get(HttpHeaders.CONTENT_ENCODING).iterator().next();
+
     if (charset == null)
       return null;
 
     return charset.name();
   }
 
-  private String locale(Map<String, Collection<String>> headers) {
+  private static String locale(Map<String, Collection<String>> headers) {
     if (!headers.containsKey(HttpHeaders.CONTENT_LANGUAGE))
       return null;
 
     return headers.get(HttpHeaders.CONTENT_LANGUAGE).iterator().next();
   }
 
-  private MediaType mediaType(Map<String, Collection<String>> headers) {
+  private static MediaType mediaType(Map<String, Collection<String>> headers) {
     if (!headers.containsKey(HttpHeaders.CONTENT_TYPE))
       return null;
 
     return MediaType.valueOf(headers.get(HttpHeaders.CONTENT_TYPE).iterator().next());
   }
 
-  private MultivaluedMap<String, Object> toMultivaluedMap(Map<String, Collection<String>> headers) {
+  static MultivaluedMap<String, Object> toMultivaluedMap(Map<String, Collection<String>> headers) {
     final MultivaluedHashMap<String, Object> mvHeaders = new MultivaluedHashMap<>();
 
     headers.forEach((key, value1) -> value1
@@ -123,7 +131,7 @@ public class JAXRSClient implements Client {
     return mvHeaders;
   }
 
-  private Map<String, Collection<String>> toMap(MultivaluedMap<String, String> headers) {
+  private static Map<String, Collection<String>> toMap(MultivaluedMap<String, String> headers) {
     return headers.entrySet().stream()
         .collect(Collectors.toMap(
             Entry::getKey,
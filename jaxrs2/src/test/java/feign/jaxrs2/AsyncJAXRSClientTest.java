@@ -0,0 +1,145 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxrs2;
+
+import static feign.assertj.MockWebServerAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import feign.AsyncFeign;
+import feign.Body;
+import feign.FeignException;
+import feign.Headers;
+import feign.Param;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.client.ClientBuilder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class AsyncJAXRSClientTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final AsyncJAXRSClient<Void> client = new AsyncJAXRSClient<>();
+
+  interface TestInterfaceAsync {
+    @RequestLine("GET /")
+    CompletableFuture<String> get();
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: text/plain")
+    @Body("{body}")
+    CompletableFuture<String> post(@Param("body") String body);
+
+    @RequestLine("GET /")
+    CompletableFuture<Response> response();
+  }
+
+  @After
+  public void closeClient() {
+    client.close();
+  }
+
+  private TestInterfaceAsync api() {
+    return AsyncFeign.<Void>asyncBuilder()
+        .client(client)
+        .target(TestInterfaceAsync.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void getsAndPosts() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    assertEquals("foo", unwrap(api().get()));
+    assertThat(server.takeRequest()).hasMethod("GET");
+    assertEquals("bar", unwrap(api().post("baz")));
+    assertThat(server.takeRequest()).hasMethod("POST").hasBody("baz");
+  }
+
+  @Test
+  public void completesExceptionallyOnErrorStatus() throws Throwable {
+    server.enqueue(new MockResponse().setResponseCode(500).setBody("oops"));
+
+    thrown.expect(FeignException.class);
+    thrown.expectMessage("oops");
+    unwrap(api().get());
+  }
+
+  @Test
+  public void streamsResponseEntity() throws Throwable {
+    server.enqueue(new MockResponse().setChunkedBody("streamed body", 4));
+
+    Response response = unwrap(api().response());
+
+    assertThat(response.body().length()).isNull();
+    assertEquals("streamed body", Util.toString(response.body().asReader(Util.UTF_8)));
+  }
+
+  @Test
+  public void boundsClientsCachedPerTimeouts() throws Throwable {
+    int requests = AsyncJAXRSClient.MAX_SIZE + 8;
+    for (int i = 0; i < requests; i++) {
+      server.enqueue(new MockResponse().setBody("foo"));
+    }
+    Request request = Request.create(HttpMethod.GET, "http://localhost:" + server.getPort(),
+        Collections.emptyMap(), null, Util.UTF_8, null);
+
+    for (int i = 0; i < requests; i++) {
+      Request.Options options = new Request.Options(1000 + i, 1000 + i);
+      try (Response response = unwrap(client.execute(request, options, Optional.empty()))) {
+        assertEquals("foo", Util.toString(response.body().asReader(Util.UTF_8)));
+      }
+    }
+
+    assertThat(client.size()).isEqualTo(AsyncJAXRSClient.MAX_SIZE);
+  }
+
+  @Test
+  public void doesNotChangeTimeoutsOfTheBuilder() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    ClientBuilder builder = ClientBuilder.newBuilder();
+
+    try (AsyncJAXRSClient<Void> client = new AsyncJAXRSClient<>(builder)) {
+      Request request = Request.create(HttpMethod.GET, "http://localhost:" + server.getPort(),
+          Collections.emptyMap(), null, Util.UTF_8, null);
+      unwrap(client.execute(request, new Request.Options(1234, 5678), Optional.empty())).close();
+    }
+
+    assertThat(builder.getConfiguration().getProperties()).isEmpty();
+  }
+
+  private static <T> T unwrap(CompletableFuture<T> cf) throws Throwable {
+    try {
+      return cf.get(5, TimeUnit.SECONDS);
+    } catch (final ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+}
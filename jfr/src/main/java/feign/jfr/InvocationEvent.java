@@ -0,0 +1,112 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Recorded once per Feign invocation, on the thread that completed it. The event is committed when
+ * the invocation completes, so its duration is zero and {@link #totalDuration} holds the time spent
+ * on the whole invocation.
+ */
+@Name("feign.Invocation")
+@Label("Feign Invocation")
+@Category("Feign")
+@Description("Latency breakdown of a Feign method invocation")
+@StackTrace(false)
+class InvocationEvent extends Event {
+
+  @Label("Config Key")
+  @Description("Method invoked, as Interface#method(ParameterTypes)")
+  String configKey;
+
+  @Label("HTTP Method")
+  String httpMethod;
+
+  @Label("Host")
+  String host;
+
+  @Label("Status")
+  @Description("Status of the last response, or -1 if none was received")
+  int status;
+
+  @Label("Request Size")
+  @DataAmount
+  long requestSize;
+
+  @Label("Response Size")
+  @Description("Bytes read from the response body")
+  @DataAmount
+  long responseSize;
+
+  @Label("Compressed Response Size")
+  @Description("Bytes received before decompression, or -1 if the response was not decompressed")
+  @DataAmount
+  long compressedResponseSize;
+
+  @Label("Retries")
+  int retries;
+
+  @Label("Error")
+  @Description("Exception type the invocation failed with")
+  String error;
+
+  @Label("Total")
+  @Timespan
+  long totalDuration;
+
+  @Label("Template")
+  @Timespan
+  long templateDuration;
+
+  @Label("Interceptors")
+  @Timespan
+  long interceptorsDuration;
+
+  @Label("Encode")
+  @Timespan
+  long encodeDuration;
+
+  @Label("Execute")
+  @Timespan
+  long executeDuration;
+
+  @Label("Connection Acquire")
+  @Timespan
+  long connectionAcquireDuration;
+
+  @Label("Time to First Byte")
+  @Timespan
+  long timeToFirstByteDuration;
+
+  @Label("Body Read")
+  @Timespan
+  long bodyReadDuration;
+
+  @Label("Decode")
+  @Timespan
+  long decodeDuration;
+
+  @Label("Retry Wait")
+  @Timespan
+  long retryWaitDuration;
+
+}
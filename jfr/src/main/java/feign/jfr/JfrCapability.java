@@ -0,0 +1,38 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import feign.Capability;
+import feign.PhaseListener;
+
+/**
+ * Records a {@code feign.Invocation} Java Flight Recorder event for each invocation, carrying the
+ * config key, host, status, request and response sizes, retries and the duration of each
+ * {@link feign.InvocationPhases.Phase phase}.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .addCapability(new JfrCapability())
+ * </pre>
+ *
+ * Phases are only measured while a recording has the event enabled, so there is no cost otherwise.
+ */
+public class JfrCapability implements Capability {
+
+  @Override
+  public PhaseListener enrich(PhaseListener phaseListener) {
+    return new JfrPhaseListener(phaseListener);
+  }
+
+}
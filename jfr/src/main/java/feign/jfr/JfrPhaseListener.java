@@ -0,0 +1,104 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import java.net.URI;
+import feign.InvocationPhases;
+import feign.InvocationPhases.Phase;
+import feign.PhaseListener;
+import feign.Request;
+import jdk.jfr.EventType;
+
+/**
+ * Commits an {@link InvocationEvent} spanning each invocation, then notifies the {@code delegate}.
+ * Phases are only measured while a recording has the event enabled, or the {@code delegate} is.
+ */
+class JfrPhaseListener implements PhaseListener {
+
+  private static final EventType EVENT_TYPE = EventType.getEventType(InvocationEvent.class);
+
+  private final PhaseListener delegate;
+
+  JfrPhaseListener(PhaseListener delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void onStart(InvocationPhases phases) {
+    if (EVENT_TYPE.isEnabled()) {
+      final InvocationEvent event = new InvocationEvent();
+      event.begin();
+      phases.attach(InvocationEvent.class, event);
+    }
+    if (delegate.isEnabled()) {
+      delegate.onStart(phases);
+    }
+  }
+
+  @Override
+  public void onInvocation(InvocationPhases phases) {
+    final InvocationEvent event = phases.attachment(InvocationEvent.class);
+    if (event != null) {
+      event.end();
+      if (event.shouldCommit()) {
+        populate(event, phases);
+        event.commit();
+      }
+    }
+    if (delegate.isEnabled()) {
+      delegate.onInvocation(phases);
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return EVENT_TYPE.isEnabled() || delegate.isEnabled();
+  }
+
+  private static void populate(InvocationEvent event, InvocationPhases phases) {
+    event.configKey = phases.configKey();
+    final Request request = phases.request();
+    if (request != null) {
+      event.httpMethod = request.httpMethod().name();
+      event.host = host(request.url());
+      event.requestSize = request.body() != null ? request.body().length : 0;
+    }
+    event.status = phases.status();
+    event.responseSize = phases.responseBytes();
+    event.compressedResponseSize = phases.compressedResponseBytes();
+    event.retries = phases.retries();
+    if (phases.error() != null) {
+      event.error = phases.error().getClass().getName();
+    }
+    event.totalDuration = phases.totalNanos();
+    event.templateDuration = phases.nanos(Phase.TEMPLATE);
+    event.interceptorsDuration = phases.nanos(Phase.INTERCEPTORS);
+    event.encodeDuration = phases.nanos(Phase.ENCODE);
+    event.executeDuration = phases.nanos(Phase.EXECUTE);
+    event.connectionAcquireDuration = phases.nanos(Phase.CONNECTION_ACQUIRE);
+    event.timeToFirstByteDuration = phases.nanos(Phase.TIME_TO_FIRST_BYTE);
+    event.bodyReadDuration = phases.nanos(Phase.BODY_READ);
+    event.decodeDuration = phases.nanos(Phase.DECODE);
+    event.retryWaitDuration = phases.nanos(Phase.RETRY_WAIT);
+  }
+
+  private static String host(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import feign.Feign;
+import feign.InvocationPhases;
+import feign.RequestLine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class JfrCapabilityTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  interface TestInterface {
+
+    @RequestLine("POST /")
+    String post(String body);
+  }
+
+  @Test
+  public void recordsInvocationEvents() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    TestInterface api = Feign.builder()
+        .addCapability(new JfrCapability())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    final Path file = folder.newFile("feign.jfr").toPath();
+    try (Recording recording = new Recording()) {
+      recording.enable("feign.Invocation");
+      recording.start();
+      assertThat(api.post("bar")).isEqualTo("foo");
+      recording.stop();
+      recording.dump(file);
+    }
+
+    final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().equals("feign.Invocation"))
+        .collect(Collectors.toList());
+    assertThat(events).hasSize(1);
+    final RecordedEvent event = events.get(0);
+    assertThat(event.getString("configKey")).isEqualTo("TestInterface#post(String)");
+    assertThat(event.getString("httpMethod")).isEqualTo("POST");
+    assertThat(event.getString("host")).isEqualTo(server.getHostName());
+    assertThat(event.getInt("status")).isEqualTo(200);
+    assertThat(event.getLong("requestSize")).isEqualTo(3);
+    assertThat(event.getLong("responseSize")).isEqualTo(3);
+    assertThat(event.getLong("compressedResponseSize")).isEqualTo(-1);
+    assertThat(event.getInt("retries")).isZero();
+    assertThat(event.getString("error")).isNull();
+    assertThat(event.getDuration("executeDuration")).isGreaterThan(Duration.ZERO);
+    assertThat(event.getDuration("totalDuration"))
+        .isGreaterThanOrEqualTo(event.getDuration("executeDuration"));
+    assertThat(event.getDuration()).isGreaterThanOrEqualTo(event.getDuration("executeDuration"));
+  }
+
+  @Test
+  public void notifiesConfiguredListener() {
+    server.enqueue(new MockResponse().setBody("foo"));
+    final AtomicInteger invocations = new AtomicInteger();
+
+    TestInterface api = Feign.builder()
+        .phaseListener(phases -> invocations.incrementAndGet())
+        .addCapability(new JfrCapability())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    api.post("bar");
+
+    assertThat(invocations).hasValue(1);
+  }
+
+  @Test
+  public void measuresNothingWithoutRecording() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+    final List<InvocationPhases> templatePhases = new CopyOnWriteArrayList<>();
+
+    TestInterface api = Feign.builder()
+        .requestInterceptor(template -> templatePhases.add(template.invocationPhases()))
+        .addCapability(new JfrCapability())
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.post("bar")).isEqualTo("foo");
+    assertThat(templatePhases).containsExactly((InvocationPhases) null);
+  }
+}
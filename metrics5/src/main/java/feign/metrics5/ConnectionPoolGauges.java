@@ -0,0 +1,100 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.ToIntFunction;
+import feign.ConnectionPoolStats;
+import io.dropwizard.metrics5.Gauge;
+import io.dropwizard.metrics5.MetricName;
+import io.dropwizard.metrics5.MetricRegistry;
+
+/**
+ * Registers a gauge for each value a {@link ConnectionPoolStats} client reports. Values the client
+ * does not expose are skipped. Gauges are tagged with the client type, and sum the values of all
+ * clients of that type registered with a registry. Clients are held weakly, so discarded ones stop
+ * being counted once collected.
+ *
+ * <p>
+ * {@link Metrics5Capability} does this for synchronous clients. Asynchronous clients can be
+ * registered directly:
+ *
+ * <pre>
+ * ConnectionPoolGauges.register(registry, asyncClient);
+ * </pre>
+ */
+public final class ConnectionPoolGauges {
+
+  private ConnectionPoolGauges() {}
+
+  public static void register(MetricRegistry metricRegistry, ConnectionPoolStats stats) {
+    final MetricName metricName = MetricRegistry.name(ConnectionPoolStats.class)
+        .tagged("client", stats.getClass().getName());
+    register(metricRegistry, metricName.resolve("leased_connections"), stats,
+        ConnectionPoolStats::leasedConnections);
+    register(metricRegistry, metricName.resolve("idle_connections"), stats,
+        ConnectionPoolStats::idleConnections);
+    register(metricRegistry, metricName.resolve("max_connections"), stats,
+        ConnectionPoolStats::maxConnections);
+    register(metricRegistry, metricName.resolve("pending_requests"), stats,
+        ConnectionPoolStats::pendingRequests);
+    register(metricRegistry, metricName.resolve("active_requests"), stats,
+        ConnectionPoolStats::activeRequests);
+  }
+
+  private static void register(MetricRegistry metricRegistry,
+                               MetricName metricName,
+                               ConnectionPoolStats stats,
+                               ToIntFunction<ConnectionPoolStats> value) {
+    if (value.applyAsInt(stats) < 0) {
+      return;
+    }
+    final Gauge<?> gauge = metricRegistry.gauge(metricName, () -> new PoolGauge(value));
+    if (gauge instanceof PoolGauge) {
+      ((PoolGauge) gauge).add(stats);
+    }
+  }
+
+  /**
+   * Sums a value over the clients of a type, skipping those that do not expose it.
+   */
+  static final class PoolGauge implements Gauge<Integer> {
+
+    private final ToIntFunction<ConnectionPoolStats> value;
+    private final Set<ConnectionPoolStats> clients =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    PoolGauge(ToIntFunction<ConnectionPoolStats> value) {
+      this.value = value;
+    }
+
+    void add(ConnectionPoolStats client) {
+      clients.add(client);
+    }
+
+    @Override
+    public Integer getValue() {
+      int total = 0;
+      synchronized (clients) {
+        for (ConnectionPoolStats client : clients) {
+          total += Math.max(0, value.applyAsInt(client));
+        }
+      }
+      return total;
+    }
+  }
+
+}
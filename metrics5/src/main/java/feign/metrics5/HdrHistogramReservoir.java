@@ -0,0 +1,90 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import io.dropwizard.metrics5.Clock;
+import io.dropwizard.metrics5.Reservoir;
+import io.dropwizard.metrics5.Snapshot;
+
+/**
+ * {@link Reservoir} backed by an <a href="http://hdrhistogram.org/">HdrHistogram</a>
+ * {@link Recorder}.
+ *
+ * <p>
+ * Updates are wait-free and allocation-free, which makes this reservoir a lot cheaper than
+ * {@link io.dropwizard.metrics5.SlidingTimeWindowArrayReservoir} on hot paths. Snapshots report the
+ * values recorded in the current window; the window is reset the first time a snapshot is taken
+ * after it expires.
+ *
+ * <p>
+ * Requires {@code org.hdrhistogram:HdrHistogram} on the classpath.
+ */
+public final class HdrHistogramReservoir implements Reservoir {
+
+  private static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+  private final Recorder recorder;
+  private final long windowNanos;
+  private final Clock clock;
+
+  // guarded by this
+  private final Histogram windowHistogram;
+  private Histogram intervalHistogram;
+  private long windowStart;
+
+  /**
+   * Keeps one minute of data, same as the default {@link MetricSuppliers}.
+   */
+  public HdrHistogramReservoir() {
+    this(1, TimeUnit.MINUTES);
+  }
+
+  public HdrHistogramReservoir(long window, TimeUnit windowUnit) {
+    this(window, windowUnit, DEFAULT_SIGNIFICANT_DIGITS, Clock.defaultClock());
+  }
+
+  HdrHistogramReservoir(long window, TimeUnit windowUnit, int significantDigits, Clock clock) {
+    this.recorder = new Recorder(significantDigits);
+    this.windowHistogram = new Histogram(significantDigits);
+    this.windowNanos = windowUnit.toNanos(window);
+    this.clock = clock;
+    this.windowStart = clock.getTick();
+  }
+
+  @Override
+  public int size() {
+    return getSnapshot().size();
+  }
+
+  @Override
+  public void update(long value) {
+    recorder.recordValue(value);
+  }
+
+  @Override
+  public synchronized Snapshot getSnapshot() {
+    final long now = clock.getTick();
+    if (now - windowStart >= windowNanos) {
+      windowHistogram.reset();
+      windowStart = now;
+    }
+    intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+    windowHistogram.add(intervalHistogram);
+    return new HdrHistogramSnapshot(windowHistogram.copy());
+  }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import static feign.Util.UTF_8;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.HistogramIterationValue;
+import io.dropwizard.metrics5.Snapshot;
+
+/**
+ * {@link Snapshot} view over an immutable copy of an HdrHistogram.
+ */
+final class HdrHistogramSnapshot extends Snapshot {
+
+  private final AbstractHistogram histogram;
+
+  HdrHistogramSnapshot(AbstractHistogram histogram) {
+    this.histogram = histogram;
+  }
+
+  @Override
+  public double getValue(double quantile) {
+    if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+      throw new IllegalArgumentException(quantile + " is not in [0..1]");
+    }
+    return histogram.getValueAtPercentile(quantile * 100.0);
+  }
+
+  /**
+   * Values are rebuilt from the histogram buckets, as HdrHistogram does not keep individual
+   * samples.
+   */
+  @Override
+  public long[] getValues() {
+    final long[] values = new long[(int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE)];
+    int index = 0;
+    for (final HistogramIterationValue value : histogram.recordedValues()) {
+      for (long i = 0; i < value.getCountAtValueIteratedTo() && index < values.length; i++) {
+        values[index++] = value.getValueIteratedTo();
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public long getMax() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+  }
+
+  @Override
+  public double getMean() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+  }
+
+  @Override
+  public long getMin() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+  }
+
+  @Override
+  public double getStdDev() {
+    return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+  }
+
+  @Override
+  public void dump(OutputStream output) {
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+      for (final long value : getValues()) {
+        out.printf("%d%n", value);
+      }
+    }
+  }
+
+}
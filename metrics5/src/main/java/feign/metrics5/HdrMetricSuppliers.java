@@ -0,0 +1,41 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import io.dropwizard.metrics5.Histogram;
+import io.dropwizard.metrics5.MetricRegistry.MetricSupplier;
+import io.dropwizard.metrics5.Timer;
+
+/**
+ * {@link MetricSuppliers} that back timers and histograms with a {@link HdrHistogramReservoir}, for
+ * clients where recording cost matters.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .addCapability(new Metrics5Capability(registry, new HdrMetricSuppliers()))
+ * </pre>
+ */
+public class HdrMetricSuppliers extends MetricSuppliers {
+
+  @Override
+  public MetricSupplier<Timer> timers() {
+    return () -> new Timer(new HdrHistogramReservoir());
+  }
+
+  @Override
+  public MetricSupplier<Histogram> histograms() {
+    return () -> new Histogram(new HdrHistogramReservoir());
+  }
+
+}
@@ -18,6 +18,7 @@ import java.io.IOException;
 import feign.*;
 import feign.Request.Options;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -29,6 +30,7 @@ public class MeteredClient implements Client {
   private final MetricRegistry metricRegistry;
   private final FeignMetricName metricName;
   private final MetricSuppliers metricSuppliers;
+  private final MetricCache<Timer> timers;
 
   public MeteredClient(Client client, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -36,15 +38,16 @@ public class MeteredClient implements Client {
     this.metricRegistry = metricRegistry;
     this.metricSuppliers = metricSuppliers;
     this.metricName = new FeignMetricName(Client.class);
+    this.timers = new MetricCache<>(key -> metricRegistry.timer(
+        metricName.metricName(key.targetType, key.method, key.url),
+        metricSuppliers.timers()));
   }
 
   @Override
   public Response execute(Request request, Options options) throws IOException {
     final RequestTemplate template = request.requestTemplate();
     try (final Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+        timers.get(template.methodMetadata(), template.feignTarget()).time()) {
       return client.execute(request, options);
     }
   }
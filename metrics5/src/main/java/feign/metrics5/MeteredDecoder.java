@@ -21,7 +21,9 @@ import feign.RequestTemplate;
 import feign.Response;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import io.dropwizard.metrics5.Histogram;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -33,6 +35,8 @@ public class MeteredDecoder implements Decoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MetricCache<Timer> timers;
+  private final MetricCache<Histogram> responseSizes;
 
   public MeteredDecoder(Decoder decoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -40,6 +44,12 @@ public class MeteredDecoder implements Decoder {
     this.metricRegistry = metricRegistry;
     this.metricSuppliers = metricSuppliers;
     this.metricName = new FeignMetricName(Decoder.class);
+    this.timers = new MetricCache<>(key -> metricRegistry.timer(
+        metricName.metricName(key.targetType, key.method, key.url),
+        metricSuppliers.timers()));
+    this.responseSizes = new MetricCache<>(key -> metricRegistry.histogram(
+        metricName.metricName(key.targetType, key.method, key.url).resolve("response_size"),
+        metricSuppliers.histograms()));
   }
 
   @Override
@@ -54,18 +64,13 @@ public class MeteredDecoder implements Decoder {
 
     final Object decoded;
     try (final Context classTimer =
-        metricRegistry
-            .timer(metricName.metricName(template.methodMetadata(), template.feignTarget()),
-                metricSuppliers.timers())
-            .time()) {
+        timers.get(template.methodMetadata(), template.feignTarget()).time()) {
       decoded = decoder.decode(response, type);
     }
 
     if (body != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(),
-              "response_size"),
-          metricSuppliers.histograms()).update(body.count());
+      responseSizes.get(template.methodMetadata(), template.feignTarget())
+          .update(body.count());
     }
 
     return decoded;
@@ -18,7 +18,9 @@ import java.lang.reflect.Type;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import io.dropwizard.metrics5.Histogram;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -30,6 +32,8 @@ public class MeteredEncoder implements Encoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MetricCache<Timer> timers;
+  private final MetricCache<Histogram> requestSizes;
 
   public MeteredEncoder(Encoder encoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -37,22 +41,25 @@ public class MeteredEncoder implements Encoder {
     this.metricRegistry = metricRegistry;
     this.metricSuppliers = metricSuppliers;
     this.metricName = new FeignMetricName(Encoder.class);
+    this.timers = new MetricCache<>(key -> metricRegistry.timer(
+        metricName.metricName(key.targetType, key.method, key.url),
+        metricSuppliers.timers()));
+    this.requestSizes = new MetricCache<>(key -> metricRegistry.histogram(
+        metricName.metricName(key.targetType, key.method, key.url).resolve("request_size"),
+        metricSuppliers.histograms()));
   }
 
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template)
       throws EncodeException {
     try (final Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+        timers.get(template.methodMetadata(), template.feignTarget()).time()) {
       encoder.encode(object, bodyType, template);
     }
 
     if (template.body() != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(), "request_size"),
-          metricSuppliers.histograms()).update(template.body().length);
+      requestSizes.get(template.methodMetadata(), template.feignTarget())
+          .update(template.body().length);
     }
   }
 
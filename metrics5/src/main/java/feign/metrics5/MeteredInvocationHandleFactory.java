@@ -19,10 +19,13 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import feign.*;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -59,23 +62,33 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
   public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
     final Class clientClass = target.type();
 
+    // resolve names and timers once, when the handler is built, instead of on every invocation
+    final Map<Method, MethodMetrics> methodMetrics = new HashMap<>();
+    for (final Method method : dispatch.keySet()) {
+      if (!isSkipped(method)) {
+        methodMetrics.put(method, new MethodMetrics(clientClass, method, target.url()));
+      }
+    }
+
     final InvocationHandler invocationHandle = invocationHandler.create(target, dispatch);
     return (proxy, method, args) -> {
 
-      if (JAVA_OBJECT_METHODS.contains(method.getName())
-          || Util.isDefault(method)) {
+      if (isSkipped(method)) {
         LOG.trace("Skipping metrics for method={}", method);
         return invocationHandle.invoke(proxy, method, args);
       }
 
-      try (final Context classTimer =
-          metricRegistry.timer(metricName.metricName(clientClass, method, target.url()),
-              metricSuppliers.timers()).time()) {
+      MethodMetrics metrics = methodMetrics.get(method);
+      if (metrics == null) {
+        metrics = new MethodMetrics(clientClass, method, target.url());
+      }
+
+      try (final Context classTimer = metrics.timer.time()) {
 
         return invocationHandle.invoke(proxy, method, args);
       } catch (final FeignException e) {
         metricRegistry.meter(
-            metricName.metricName(clientClass, method, target.url())
+            metrics.name
                 .resolve("http_error")
                 .tagged("http_status", String.valueOf(e.status()))
                 .tagged("error_group", e.status() / 100 + "xx"),
@@ -84,7 +97,7 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
         throw e;
       } catch (final Throwable e) {
         metricRegistry
-            .meter(metricName.metricName(clientClass, method, target.url())
+            .meter(metrics.name
                 .resolve("exception")
                 .tagged("exception_name", e.getClass().getSimpleName()),
                 metricSuppliers.meters())
@@ -95,5 +108,20 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
     };
   }
 
+  private static boolean isSkipped(Method method) {
+    return JAVA_OBJECT_METHODS.contains(method.getName())
+        || Util.isDefault(method);
+  }
+
+  private final class MethodMetrics {
+
+    private final MetricName name;
+    private final Timer timer;
+
+    private MethodMetrics(Class<?> clientClass, Method method, String url) {
+      this.name = metricName.metricName(clientClass, method, url);
+      this.timer = metricRegistry.timer(name, metricSuppliers.timers());
+    }
+  }
 
 }
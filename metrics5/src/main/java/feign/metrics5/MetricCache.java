@@ -0,0 +1,90 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import feign.MethodMetadata;
+import feign.Target;
+
+/**
+ * Keeps the metrics resolved for each (client, method, url) triple, so metric names are built and
+ * looked up in the {@link io.dropwizard.metrics5.MetricRegistry} once, instead of on every request.
+ *
+ * <p>
+ * Keys are value based, so clients recreated through {@link feign.Feign#newInstance(Target)} share
+ * the same entries instead of growing the cache.
+ */
+final class MetricCache<V> {
+
+  private final ConcurrentMap<Key, V> cache = new ConcurrentHashMap<>();
+  private final Function<Key, V> factory;
+
+  MetricCache(Function<Key, V> factory) {
+    this.factory = factory;
+  }
+
+  V get(MethodMetadata methodMetadata, Target<?> target) {
+    return get(methodMetadata.targetType(), methodMetadata.method(), target.url());
+  }
+
+  V get(Class<?> targetType, Method method, String url) {
+    final Key key = new Key(targetType, method, url);
+    // plain get first: computeIfAbsent locks the bin even when the value is present on java 8
+    final V value = cache.get(key);
+    if (value != null) {
+      return value;
+    }
+    return cache.computeIfAbsent(key, factory);
+  }
+
+  static final class Key {
+
+    final Class<?> targetType;
+    final Method method;
+    final String url;
+    private final int hashCode;
+
+    Key(Class<?> targetType, Method method, String url) {
+      this.targetType = targetType;
+      this.method = method;
+      this.url = url;
+      int result = targetType.hashCode();
+      result = 31 * result + method.hashCode();
+      result = 31 * result + url.hashCode();
+      this.hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return targetType.equals(other.targetType)
+          && method.equals(other.method)
+          && url.equals(other.url);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
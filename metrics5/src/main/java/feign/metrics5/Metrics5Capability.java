@@ -15,6 +15,7 @@ package feign.metrics5;
 
 import feign.Capability;
 import feign.Client;
+import feign.ConnectionPoolStats;
 import feign.InvocationHandlerFactory;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
@@ -41,6 +42,10 @@ public class Metrics5Capability implements Capability {
 
   @Override
   public Client enrich(Client client) {
+    final ConnectionPoolStats stats = ConnectionPoolStats.of(client);
+    if (stats != null) {
+      ConnectionPoolGauges.register(metricRegistry, stats);
+    }
     return new MeteredClient(client, metricRegistry, metricSuppliers);
   }
 
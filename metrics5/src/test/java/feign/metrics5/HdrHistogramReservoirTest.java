@@ -0,0 +1,78 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics5;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import io.dropwizard.metrics5.Clock;
+import io.dropwizard.metrics5.Snapshot;
+
+public class HdrHistogramReservoirTest {
+
+  private long tick;
+  private final Clock clock = new Clock() {
+    @Override
+    public long getTick() {
+      return tick;
+    }
+  };
+
+  @Test
+  public void snapshotOfRecordedValues() {
+    final HdrHistogramReservoir reservoir =
+        new HdrHistogramReservoir(1, TimeUnit.MINUTES, 3, clock);
+    for (int i = 1; i <= 100; i++) {
+      reservoir.update(i);
+    }
+
+    final Snapshot snapshot = reservoir.getSnapshot();
+    assertThat(snapshot.size(), equalTo(100));
+    assertThat(snapshot.getMin(), equalTo(1L));
+    assertThat(snapshot.getMax(), equalTo(100L));
+    assertThat(snapshot.getMean(), closeTo(50.5, 0.1));
+    assertThat(snapshot.getMedian(), closeTo(50, 1));
+    assertThat(snapshot.get99thPercentile(), closeTo(99, 1));
+    assertThat(snapshot.getValues().length, equalTo(100));
+  }
+
+  @Test
+  public void snapshotsAccumulateUntilWindowExpires() {
+    final HdrHistogramReservoir reservoir =
+        new HdrHistogramReservoir(1, TimeUnit.MINUTES, 3, clock);
+    reservoir.update(10);
+    assertThat(reservoir.getSnapshot().size(), equalTo(1));
+
+    reservoir.update(20);
+    assertThat(reservoir.getSnapshot().size(), equalTo(2));
+
+    tick += TimeUnit.MINUTES.toNanos(1);
+    reservoir.update(30);
+    final Snapshot snapshot = reservoir.getSnapshot();
+    assertThat(snapshot.size(), equalTo(1));
+    assertThat(snapshot.getMin(), equalTo(30L));
+  }
+
+  @Test
+  public void emptySnapshot() {
+    final Snapshot snapshot = new HdrHistogramReservoir().getSnapshot();
+
+    assertThat(snapshot.size(), equalTo(0));
+    assertThat(snapshot.getMax(), equalTo(0L));
+    assertThat(snapshot.getMean(), equalTo(0.0));
+  }
+
+}
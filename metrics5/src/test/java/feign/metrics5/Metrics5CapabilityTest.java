@@ -14,14 +14,19 @@
 package feign.metrics5;
 
 import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.junit.Assert.assertThat;
 import org.junit.Test;
+import feign.CompressionCapability;
+import feign.ConnectionPoolStats;
+import feign.DecompressionCapability;
 import feign.Feign;
 import feign.RequestLine;
 import feign.mock.HttpMethod;
 import feign.mock.MockClient;
 import feign.mock.MockTarget;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
 import io.dropwizard.metrics5.SharedMetricRegistries;
 
@@ -64,4 +69,110 @@ public class Metrics5CapabilityTest {
             hasEntry("host", null)));
   }
 
+  @Test
+  public void reusesMetricsAcrossCalls() {
+    final MetricRegistry registry = new MetricRegistry();
+
+    final SimpleSource source = Feign.builder()
+        .client(new MockClient()
+            .ok(HttpMethod.GET, "/get", "1234567890abcde"))
+        .addCapability(new Metrics5Capability(registry, new HdrMetricSuppliers()))
+        .target(new MockTarget<>(Metrics5CapabilityTest.SimpleSource.class));
+
+    source.get("0x3456789");
+    source.get("0x3456789");
+    source.get("0x3456789");
+
+    assertThat(registry.getMetrics(), aMapWithSize(6));
+    registry.getTimers().values().forEach(timer -> {
+      assertThat(timer.getCount(), equalTo(3L));
+      assertThat(timer.getSnapshot().size(), equalTo(3));
+    });
+  }
+
+  @Test
+  public void exportsConnectionPoolStats() {
+    final MetricRegistry registry = new MetricRegistry();
+
+    Feign.builder()
+        .client(new PooledClient())
+        .addCapability(new Metrics5Capability(registry))
+        .target(new MockTarget<>(Metrics5CapabilityTest.SimpleSource.class));
+
+    final MetricName metricName = MetricRegistry.name(ConnectionPoolStats.class)
+        .tagged("client", PooledClient.class.getName());
+    assertThat(registry.getGauges(), aMapWithSize(4));
+    assertThat(registry.getGauges().get(metricName.resolve("leased_connections")).getValue(),
+        equalTo(3));
+    assertThat(registry.getGauges().get(metricName.resolve("idle_connections")).getValue(),
+        equalTo(2));
+    assertThat(registry.getGauges().get(metricName.resolve("pending_requests")).getValue(),
+        equalTo(1));
+    assertThat(registry.getGauges().get(metricName.resolve("active_requests")).getValue(),
+        equalTo(3));
+  }
+
+  @Test
+  public void sumsConnectionPoolStatsOfEachClient() {
+    final MetricRegistry registry = new MetricRegistry();
+    final PooledClient first = new PooledClient();
+    final PooledClient second = new PooledClient();
+
+    ConnectionPoolGauges.register(registry, first);
+    ConnectionPoolGauges.register(registry, second);
+
+    final MetricName metricName = MetricRegistry.name(ConnectionPoolStats.class)
+        .tagged("client", PooledClient.class.getName());
+    assertThat(registry.getGauges(), aMapWithSize(4));
+    assertThat(registry.getGauges().get(metricName.resolve("leased_connections")).getValue(),
+        equalTo(6));
+    assertThat(registry.getGauges().get(metricName.resolve("active_requests")).getValue(),
+        equalTo(6));
+  }
+
+  @Test
+  public void exportsConnectionPoolStatsOfDecoratedClients() {
+    final MetricRegistry registry = new MetricRegistry();
+
+    Feign.builder()
+        .client(new PooledClient())
+        .addCapability(new DecompressionCapability())
+        .addCapability(CompressionCapability.create())
+        .addCapability(new Metrics5Capability(registry))
+        .target(new MockTarget<>(Metrics5CapabilityTest.SimpleSource.class));
+
+    final MetricName metricName = MetricRegistry.name(ConnectionPoolStats.class)
+        .tagged("client", PooledClient.class.getName());
+    assertThat(registry.getGauges().get(metricName.resolve("leased_connections")).getValue(),
+        equalTo(3));
+  }
+
+  static class PooledClient extends MockClient implements ConnectionPoolStats {
+
+    @Override
+    public int leasedConnections() {
+      return 3;
+    }
+
+    @Override
+    public int idleConnections() {
+      return 2;
+    }
+
+    @Override
+    public int maxConnections() {
+      return -1;
+    }
+
+    @Override
+    public int pendingRequests() {
+      return 1;
+    }
+
+    @Override
+    public int activeRequests() {
+      return 3;
+    }
+  }
+
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import static feign.Util.UTF_8;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import feign.Response;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * A response body read in pooled buffers, which are released on close.
+ */
+final class ByteBufBody implements Response.Body {
+
+  private final ByteBuf content;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  ByteBufBody(ByteBuf content) {
+    this.content = content;
+  }
+
+  @Override
+  public Integer length() {
+    return content.readableBytes();
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return true;
+  }
+
+  @Override
+  public InputStream asInputStream() throws IOException {
+    if (released.get()) {
+      throw new IOException("Response body is closed");
+    }
+    return new ByteBufInputStream(content.duplicate());
+  }
+
+  @Override
+  public Reader asReader(Charset charset) throws IOException {
+    return new InputStreamReader(asInputStream(), charset);
+  }
+
+  @Override
+  public void close() {
+    if (released.compareAndSet(false, true)) {
+      content.release();
+    }
+  }
+
+  boolean isReleased() {
+    return content.refCnt() == 0;
+  }
+
+  @Override
+  public String toString() {
+    return released.get() ? "" : content.toString(UTF_8);
+  }
+}
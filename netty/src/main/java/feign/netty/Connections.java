@@ -0,0 +1,65 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.Future;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * Provides the channels requests are exchanged on. Their pipelines convert written
+ * {@link io.netty.handler.codec.http.FullHttpRequest requests} and read
+ * {@link io.netty.handler.codec.http.FullHttpResponse responses}.
+ */
+abstract class Connections {
+
+  /**
+   * A channel for a single exchange with the {@code endpoint}.
+   *
+   * @param connectTimeoutMillis of the connection, if one is opened for this exchange.
+   */
+  abstract Future<Channel> acquire(Endpoint endpoint, int connectTimeoutMillis);
+
+  /**
+   * Returns the {@code channel} once the exchange is over.
+   *
+   * @param reusable false when the channel is in an unknown state, and must be closed.
+   */
+  abstract void release(Endpoint endpoint, Channel channel, boolean reusable);
+
+  /**
+   * Whether requests are sent as HTTP/2 streams.
+   */
+  abstract boolean multiplexed();
+
+  abstract void close();
+
+  /**
+   * Encrypts the connection, verifying that the certificate of the server matches its host.
+   */
+  static SslHandler newSslHandler(SslContext sslContext,
+                                  ByteBufAllocator alloc,
+                                  Endpoint endpoint) {
+    final SslHandler sslHandler = sslContext.newHandler(alloc, endpoint.host, endpoint.port);
+    final SSLEngine engine = sslHandler.engine();
+    final SSLParameters parameters = engine.getSSLParameters();
+    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+    engine.setSSLParameters(parameters);
+    return sslHandler;
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Where connections are made to. Connections are shared by all requests to the same endpoint,
+ * whatever their {@link feign.Request.Options}.
+ */
+final class Endpoint {
+
+  final boolean secure;
+  final String host;
+  final int port;
+
+  private Endpoint(boolean secure, String host, int port) {
+    this.secure = secure;
+    this.host = host;
+    this.port = port;
+  }
+
+  static Endpoint of(URI uri) {
+    final boolean secure;
+    if ("https".equalsIgnoreCase(uri.getScheme())) {
+      secure = true;
+    } else if ("http".equalsIgnoreCase(uri.getScheme())) {
+      secure = false;
+    } else {
+      throw new IllegalArgumentException("Unsupported scheme: " + uri);
+    }
+    if (uri.getHost() == null) {
+      throw new IllegalArgumentException("Missing host: " + uri);
+    }
+    final int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+    return new Endpoint(secure, uri.getHost().toLowerCase(Locale.ROOT), port);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof Endpoint)) {
+      return false;
+    }
+    final Endpoint other = (Endpoint) obj;
+    return secure == other.secure
+        && port == other.port
+        && host.equals(other.host);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = host.hashCode();
+    result = 31 * result + port;
+    return 31 * result + (secure ? 1 : 0);
+  }
+
+  @Override
+  public String toString() {
+    return (secure ? "https://" : "http://") + host + ":" + port;
+  }
+}
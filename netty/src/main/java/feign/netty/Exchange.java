@@ -0,0 +1,245 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import feign.Request;
+import feign.Response;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Sends a request on an acquired channel, and completes the result with its response. The handler
+ * is added to the channel's pipeline for the duration of the exchange, and only accessed from the
+ * channel's event loop.
+ */
+final class Exchange extends ChannelInboundHandlerAdapter {
+
+  private static final String READ_TIMEOUT_HANDLER = "feign-read-timeout";
+  private static final String EXCHANGE_HANDLER = "feign-exchange";
+  private static final String EXTENSION_HEADER_PREFIX = "x-http2-";
+
+  private final Request request;
+  private final Endpoint endpoint;
+  private final Connections connections;
+  private final CompletableFuture<Response> result;
+  private final int readTimeoutMillis;
+
+  private volatile Channel channel;
+  private boolean done;
+
+  Exchange(Request request, Endpoint endpoint, Connections connections,
+      CompletableFuture<Response> result, int readTimeoutMillis) {
+    this.request = request;
+    this.endpoint = endpoint;
+    this.connections = connections;
+    this.result = result;
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
+  void start(Channel channel) {
+    this.channel = channel;
+    if (channel.eventLoop().inEventLoop()) {
+      send();
+    } else {
+      channel.eventLoop().execute(this::send);
+    }
+  }
+
+  /**
+   * Closes the channel of a cancelled exchange, if not completed yet.
+   */
+  void abort() {
+    final Channel channel = this.channel;
+    if (channel != null) {
+      channel.eventLoop().execute(() -> fail(new CancellationException()));
+    }
+  }
+
+  private void send() {
+    if (result.isDone()) {
+      // cancelled before anything was sent
+      done = true;
+      connections.release(endpoint, channel, true);
+      return;
+    }
+    final ChannelPipeline pipeline = channel.pipeline();
+    if (readTimeoutMillis > 0) {
+      // ahead of the aggregator, which only passes on complete responses
+      pipeline.addFirst(READ_TIMEOUT_HANDLER,
+          new IdleStateHandler(readTimeoutMillis, 0, 0, TimeUnit.MILLISECONDS));
+    }
+    pipeline.addLast(EXCHANGE_HANDLER, this);
+    channel.writeAndFlush(toHttpRequest(channel.alloc())).addListener(written -> {
+      if (!written.isSuccess()) {
+        fail(written.cause());
+      }
+    });
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (msg instanceof FullHttpResponse) {
+      complete((FullHttpResponse) msg);
+    } else {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  @Override
+  public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+    if (evt instanceof IdleStateEvent) {
+      fail(new SocketTimeoutException("Read timed out"));
+    } else {
+      ctx.fireUserEventTriggered(evt);
+    }
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) {
+    fail(new IOException("Connection to " + endpoint + " closed before the response"));
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    fail(cause);
+  }
+
+  private void complete(FullHttpResponse httpResponse) {
+    if (done) {
+      httpResponse.release();
+      return;
+    }
+    done = true;
+    detach();
+    final Response response;
+    try {
+      response = toFeignResponse(httpResponse);
+    } catch (RuntimeException e) {
+      httpResponse.release();
+      connections.release(endpoint, channel, false);
+      result.completeExceptionally(e);
+      return;
+    }
+    connections.release(endpoint, channel, HttpUtil.isKeepAlive(httpResponse));
+    if (!result.complete(response)) {
+      // cancelled meanwhile
+      response.close();
+    }
+  }
+
+  private void fail(Throwable cause) {
+    if (done) {
+      return;
+    }
+    done = true;
+    detach();
+    connections.release(endpoint, channel, false);
+    result.completeExceptionally(cause);
+  }
+
+  private void detach() {
+    final ChannelPipeline pipeline = channel.pipeline();
+    if (pipeline.get(READ_TIMEOUT_HANDLER) != null) {
+      pipeline.remove(READ_TIMEOUT_HANDLER);
+    }
+    if (pipeline.context(this) != null) {
+      pipeline.remove(this);
+    }
+  }
+
+  private FullHttpRequest toHttpRequest(ByteBufAllocator alloc) {
+    final URI uri = URI.create(request.url());
+    final String path = uri.getRawPath() == null || uri.getRawPath().isEmpty()
+        ? "/"
+        : uri.getRawPath();
+    final String pathAndQuery = uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+
+    final byte[] body = request.body();
+    final ByteBuf content = body != null && body.length > 0
+        ? alloc.ioBuffer(body.length).writeBytes(body)
+        : Unpooled.EMPTY_BUFFER;
+    final FullHttpRequest httpRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+        HttpMethod.valueOf(request.httpMethod().name()), pathAndQuery, content);
+
+    final HttpHeaders headers = httpRequest.headers();
+    request.headers().forEach(headers::add);
+    if (!headers.contains(HttpHeaderNames.HOST)) {
+      headers.set(HttpHeaderNames.HOST,
+          uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+    }
+    if (body != null && !headers.contains(HttpHeaderNames.TRANSFER_ENCODING)) {
+      HttpUtil.setContentLength(httpRequest, content.readableBytes());
+    }
+    if (connections.multiplexed()) {
+      headers.set(ExtensionHeaderNames.SCHEME.text(), endpoint.secure ? "https" : "http");
+    }
+    return httpRequest;
+  }
+
+  private Response toFeignResponse(FullHttpResponse httpResponse) {
+    final ByteBuf content = httpResponse.content();
+    final ByteBufBody body;
+    if (content.isReadable()) {
+      body = new ByteBufBody(content);
+    } else {
+      content.release();
+      body = null;
+    }
+    return Response.builder()
+        .status(httpResponse.status().code())
+        .reason(httpResponse.status().reasonPhrase())
+        .headers(toMap(httpResponse.headers()))
+        .request(request)
+        .body(body)
+        .build();
+  }
+
+  private static Map<String, Collection<String>> toMap(HttpHeaders headers) {
+    final Map<String, Collection<String>> map = new LinkedHashMap<>();
+    for (String name : headers.names()) {
+      if (!name.regionMatches(true, 0, EXTENSION_HEADER_PREFIX, 0,
+          EXTENSION_HEADER_PREFIX.length())) {
+        map.put(name, headers.getAll(name));
+      }
+    }
+    return map;
+  }
+}
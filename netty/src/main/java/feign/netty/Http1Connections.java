@@ -0,0 +1,135 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.ssl.SslContext;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Keeps HTTP/1.1 connections alive in a bounded pool per endpoint. Requests wait for a connection
+ * once all of an endpoint's connections are in use.
+ */
+final class Http1Connections extends Connections {
+
+  private final Bootstrap bootstrap;
+  private final SslContext sslContext;
+  private final int maxConnectionsPerHost;
+  private final int maxContentLength;
+  private final ConcurrentMap<Endpoint, EndpointPool> pools = new ConcurrentHashMap<>();
+
+  Http1Connections(Bootstrap bootstrap, SslContext sslContext, int maxConnectionsPerHost,
+      int maxContentLength) {
+    this.bootstrap = bootstrap;
+    this.sslContext = sslContext;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.maxContentLength = maxContentLength;
+  }
+
+  @Override
+  Future<Channel> acquire(Endpoint endpoint, int connectTimeoutMillis) {
+    return pool(endpoint).acquire(connectTimeoutMillis);
+  }
+
+  @Override
+  void release(Endpoint endpoint, Channel channel, boolean reusable) {
+    if (!reusable) {
+      // the pool discards closed channels
+      channel.close();
+    }
+    pool(endpoint).release(channel);
+  }
+
+  @Override
+  boolean multiplexed() {
+    return false;
+  }
+
+  private EndpointPool pool(Endpoint endpoint) {
+    final EndpointPool pool = pools.get(endpoint);
+    if (pool != null) {
+      return pool;
+    }
+    return pools.computeIfAbsent(endpoint, this::newPool);
+  }
+
+  private EndpointPool newPool(Endpoint endpoint) {
+    final EventLoop eventLoop = bootstrap.config().group().next();
+    final Bootstrap endpointBootstrap = bootstrap.clone(eventLoop)
+        .remoteAddress(InetSocketAddress.createUnresolved(endpoint.host, endpoint.port));
+    return new EndpointPool(endpointBootstrap, eventLoop, new AbstractChannelPoolHandler() {
+      @Override
+      public void channelCreated(Channel channel) {
+        if (endpoint.secure) {
+          channel.pipeline().addLast(newSslHandler(sslContext, channel.alloc(), endpoint));
+        }
+        channel.pipeline().addLast(
+            new HttpClientCodec(),
+            new HttpObjectAggregator(maxContentLength));
+      }
+    }, maxConnectionsPerHost);
+  }
+
+  @Override
+  void close() {
+    pools.values().forEach(EndpointPool::close);
+    pools.clear();
+  }
+
+  /**
+   * Opens connections with the timeout of the request acquiring them. The pool and its channels run
+   * on a single event loop, where each acquisition either leases a channel or connects a new one
+   * before the next starts. Acquisitions queued behind busy channels connect, if they have to, with
+   * the timeout of the latest request.
+   */
+  private static final class EndpointPool extends FixedChannelPool {
+
+    private final EventLoop eventLoop;
+    private int connectTimeoutMillis;
+
+    EndpointPool(Bootstrap bootstrap, EventLoop eventLoop, ChannelPoolHandler handler,
+        int maxConnections) {
+      super(bootstrap, handler, maxConnections);
+      this.eventLoop = eventLoop;
+    }
+
+    Future<Channel> acquire(int connectTimeoutMillis) {
+      final Promise<Channel> promise = eventLoop.newPromise();
+      eventLoop.execute(() -> {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        acquire(promise);
+      });
+      return promise;
+    }
+
+    @Override
+    protected ChannelFuture connectChannel(Bootstrap bootstrap) {
+      return bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+          .connect();
+    }
+  }
+}
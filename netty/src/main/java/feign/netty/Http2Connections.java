@@ -0,0 +1,243 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Multiplexes requests as streams of a single HTTP/2 connection per endpoint. Connections are
+ * negotiated through ALPN over TLS, and assume HTTP/2 support with cleartext. Streams exceeding the
+ * concurrency limit of the server are queued until active ones complete.
+ */
+final class Http2Connections extends Connections {
+
+  private final Bootstrap bootstrap;
+  private final SslContext sslContext;
+  private final int maxContentLength;
+  private final ConcurrentMap<Endpoint, Future<Channel>> connections = new ConcurrentHashMap<>();
+
+  Http2Connections(Bootstrap bootstrap, SslContext sslContext, int maxContentLength) {
+    this.bootstrap = bootstrap;
+    this.sslContext = sslContext;
+    this.maxContentLength = maxContentLength;
+  }
+
+  @Override
+  Future<Channel> acquire(Endpoint endpoint, int connectTimeoutMillis) {
+    final Promise<Channel> stream = bootstrap.config().group().next().newPromise();
+    openStream(endpoint, connectTimeoutMillis, stream, true);
+    return stream;
+  }
+
+  private void openStream(Endpoint endpoint,
+                          int connectTimeoutMillis,
+                          Promise<Channel> stream,
+                          boolean reconnect) {
+    final Future<Channel> connection = connection(endpoint, connectTimeoutMillis);
+    connection.addListener(connected -> {
+      if (!connected.isSuccess()) {
+        stream.tryFailure(connected.cause());
+        return;
+      }
+      final Channel parent = connection.getNow();
+      if (!parent.isActive()) {
+        connections.remove(endpoint, connection);
+        if (reconnect) {
+          openStream(endpoint, connectTimeoutMillis, stream, false);
+        } else {
+          stream.tryFailure(new IOException("Connection to " + endpoint + " closed"));
+        }
+        return;
+      }
+      new Http2StreamChannelBootstrap(parent)
+          .handler(new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(Http2StreamChannel channel) {
+              channel.pipeline().addLast(
+                  new Http2StreamFrameToHttpObjectCodec(false),
+                  new HttpObjectAggregator(maxContentLength));
+            }
+          })
+          .open()
+          .addListener(opened -> {
+            if (opened.isSuccess()) {
+              stream.trySuccess((Channel) opened.getNow());
+            } else {
+              stream.tryFailure(opened.cause());
+            }
+          });
+    });
+  }
+
+  /**
+   * The connection to the {@code endpoint}, opened with the timeout of the request that found none.
+   */
+  private Future<Channel> connection(Endpoint endpoint, int connectTimeoutMillis) {
+    final Future<Channel> connection = connections.get(endpoint);
+    if (connection != null) {
+      return connection;
+    }
+    final Promise<Channel> created = bootstrap.config().group().next().newPromise();
+    final Future<Channel> existing = connections.putIfAbsent(endpoint, created);
+    if (existing != null) {
+      return existing;
+    }
+    // connects outside of the map, as failures may be notified right away
+    connect(endpoint, connectTimeoutMillis, created);
+    return created;
+  }
+
+  private void connect(Endpoint endpoint, int connectTimeoutMillis, Promise<Channel> connection) {
+    final ChannelFuture connect = bootstrap.clone()
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+        .handler(new ChannelInitializer<Channel>() {
+          @Override
+          protected void initChannel(Channel channel) {
+            if (endpoint.secure) {
+              channel.pipeline().addLast(newSslHandler(sslContext, channel.alloc(), endpoint));
+            }
+            channel.pipeline().addLast(
+                Http2FrameCodecBuilder.forClient()
+                    .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                    // queues streams beyond the server's SETTINGS_MAX_CONCURRENT_STREAMS
+                    .encoderEnforceMaxConcurrentStreams(true)
+                    .build(),
+                new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                  @Override
+                  protected void initChannel(Channel pushed) {
+                    // server push is disabled
+                    pushed.close();
+                  }
+                }),
+                new SettingsHandler(connection));
+          }
+        })
+        .connect(InetSocketAddress.createUnresolved(endpoint.host, endpoint.port));
+    connect.addListener(connected -> {
+      if (!connected.isSuccess()) {
+        connection.tryFailure(connected.cause());
+        return;
+      }
+      final Channel channel = connect.channel();
+      // the limit of concurrent streams is only known once the server's settings are received
+      final ScheduledFuture<?> timeout = channel.eventLoop().schedule(() -> {
+        if (connection.tryFailure(new ConnectTimeoutException(
+            "No HTTP/2 settings received from " + endpoint))) {
+          channel.close();
+        }
+      }, connectTimeoutMillis, TimeUnit.MILLISECONDS);
+      connection.addListener(settled -> timeout.cancel(false));
+      channel.closeFuture().addListener(closed -> connection
+          .tryFailure(new IOException("Connection to " + endpoint + " closed")));
+      final SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+      if (sslHandler == null) {
+        return;
+      }
+      sslHandler.handshakeFuture().addListener(handshake -> {
+        if (!handshake.isSuccess()) {
+          connection.tryFailure(handshake.cause());
+          channel.close();
+        } else if (!ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol())) {
+          connection.tryFailure(
+              new IOException("Server at " + endpoint + " did not negotiate HTTP/2"));
+          channel.close();
+        }
+      });
+    });
+    connection.addListener(connected -> {
+      if (connected.isSuccess()) {
+        connection.getNow().closeFuture()
+            .addListener(closed -> connections.remove(endpoint, connection));
+      } else {
+        connections.remove(endpoint, connection);
+      }
+    });
+  }
+
+  /**
+   * Completes the {@code connection} when the initial settings of the server are received. The
+   * client preface is flushed right away, as servers may wait for it before sending theirs.
+   */
+  private static final class SettingsHandler extends ChannelInboundHandlerAdapter {
+
+    private final Promise<Channel> connection;
+
+    SettingsHandler(Promise<Channel> connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+      ctx.fireChannelActive();
+      ctx.flush();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      if (msg instanceof Http2SettingsFrame) {
+        ctx.pipeline().remove(this);
+        connection.trySuccess(ctx.channel());
+      } else {
+        ctx.fireChannelRead(msg);
+      }
+    }
+  }
+
+  @Override
+  void release(Endpoint endpoint, Channel channel, boolean reusable) {
+    // streams are not reused, and closing an unfinished one resets it
+    channel.close();
+  }
+
+  @Override
+  boolean multiplexed() {
+    return true;
+  }
+
+  @Override
+  void close() {
+    connections.values().forEach(connection -> connection.addListener(connected -> {
+      if (connected.isSuccess()) {
+        ((Channel) connected.getNow()).close();
+      }
+    }));
+    connections.clear();
+  }
+}
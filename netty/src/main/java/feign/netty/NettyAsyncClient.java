@@ -0,0 +1,231 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.net.ssl.SSLException;
+import feign.AsyncClient;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.util.concurrent.Future;
+
+/**
+ * This module directs Feign's asynchronous http requests to <a href="https://netty.io">Netty</a>.
+ * Requests are exchanged on the channels of an event loop group, without blocking a thread per
+ * request. Ex.
+ *
+ * <pre>
+ * GitHub github = AsyncFeign.asyncBuilder().client(new NettyAsyncClient()).target(GitHub.class,
+ *     "https://api.github.com");
+ * </pre>
+ *
+ * <p>
+ * HTTP/1.1 connections are kept alive in a bounded pool per host, or requests are multiplexed on a
+ * single HTTP/2 connection per host when {@link Builder#http2(boolean) enabled}. Request and
+ * response bodies are held in pooled buffers, released once the response is closed. Responses are
+ * read fully, up to a {@link Builder#maxContentLength(int) maximum length}, before the result
+ * completes on the event loop, so move lengthy processing of results off that thread. Redirects are
+ * not followed.
+ * </p>
+ *
+ * @param <C> unused context.
+ */
+public final class NettyAsyncClient<C> implements AsyncClient<C>, AutoCloseable {
+
+  private final EventLoopGroup eventLoopGroup;
+  private final boolean ownsEventLoopGroup;
+  private final Connections connections;
+
+  public NettyAsyncClient() {
+    this(new Builder());
+  }
+
+  private NettyAsyncClient(Builder builder) {
+    this.ownsEventLoopGroup = builder.eventLoopGroup == null;
+    this.eventLoopGroup = ownsEventLoopGroup ? new NioEventLoopGroup() : builder.eventLoopGroup;
+    final Bootstrap bootstrap = new Bootstrap()
+        .group(eventLoopGroup)
+        .channel(NioSocketChannel.class)
+        .option(ChannelOption.TCP_NODELAY, true)
+        .option(ChannelOption.SO_KEEPALIVE, true);
+    final SslContext sslContext =
+        builder.sslContext != null ? builder.sslContext : builder.defaultSslContext();
+    this.connections = builder.http2
+        ? new Http2Connections(bootstrap, sslContext, builder.maxContentLength)
+        : new Http1Connections(bootstrap, sslContext, builder.maxConnectionsPerHost,
+            builder.maxContentLength);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request,
+                                             Options options,
+                                             Optional<C> requestContext) {
+    final CompletableFuture<Response> result = new CompletableFuture<>();
+    final Endpoint endpoint;
+    try {
+      endpoint = Endpoint.of(URI.create(request.url()));
+    } catch (IllegalArgumentException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+    final Exchange exchange =
+        new Exchange(request, endpoint, connections, result, options.readTimeoutMillis());
+    final Future<Channel> channel = connections.acquire(endpoint, options.connectTimeoutMillis());
+    channel.addListener(acquired -> {
+      if (acquired.isSuccess()) {
+        exchange.start(channel.getNow());
+      } else {
+        result.completeExceptionally(acquired.cause());
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        exchange.abort();
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Closes the connections, and shuts down the event loop group unless it was
+   * {@link Builder#eventLoopGroup(EventLoopGroup) provided}.
+   */
+  @Override
+  public void close() {
+    connections.close();
+    if (ownsEventLoopGroup) {
+      eventLoopGroup.shutdownGracefully();
+    }
+  }
+
+  public static final class Builder {
+
+    static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 64;
+    static final int DEFAULT_MAX_CONTENT_LENGTH = 16 * 1024 * 1024;
+
+    private EventLoopGroup eventLoopGroup;
+    private int maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+    private int maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
+    private boolean http2;
+    private SslContext sslContext;
+    private SslProvider sslProvider;
+
+    Builder() {}
+
+    /**
+     * Shares an event loop group of {@link NioSocketChannel NIO channels}, which is not shut down
+     * when the client is closed. By default, the client creates its own.
+     */
+    public Builder eventLoopGroup(EventLoopGroup eventLoopGroup) {
+      this.eventLoopGroup = eventLoopGroup;
+      return this;
+    }
+
+    /**
+     * Maximum number of HTTP/1.1 connections kept per host. Further requests wait for a connection
+     * to be released. Defaults to {@value #DEFAULT_MAX_CONNECTIONS_PER_HOST}.
+     */
+    public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+      if (maxConnectionsPerHost <= 0) {
+        throw new IllegalArgumentException(
+            "maxConnectionsPerHost must be positive: " + maxConnectionsPerHost);
+      }
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    /**
+     * Maximum length of response bodies, beyond which requests fail. Defaults to 16 MiB.
+     */
+    public Builder maxContentLength(int maxContentLength) {
+      if (maxContentLength < 0) {
+        throw new IllegalArgumentException(
+            "maxContentLength must not be negative: " + maxContentLength);
+      }
+      this.maxContentLength = maxContentLength;
+      return this;
+    }
+
+    /**
+     * Sends requests as streams of a single HTTP/2 connection per host, negotiated through ALPN
+     * over TLS. Cleartext connections assume HTTP/2 support, without upgrade.
+     */
+    public Builder http2(boolean http2) {
+      this.http2 = http2;
+      return this;
+    }
+
+    /**
+     * Uses the {@code sslContext} for TLS connections, which must negotiate {@code h2} through ALPN
+     * when {@link #http2(boolean) HTTP/2} is enabled.
+     */
+    public Builder sslContext(SslContext sslContext) {
+      this.sslContext = sslContext;
+      return this;
+    }
+
+    /**
+     * The TLS implementation of the default context, {@link SslProvider#OPENSSL} or
+     * {@link SslProvider#JDK}. By default, OpenSSL is used when available.
+     */
+    public Builder sslProvider(SslProvider sslProvider) {
+      this.sslProvider = sslProvider;
+      return this;
+    }
+
+    public <C> NettyAsyncClient<C> build() {
+      return new NettyAsyncClient<>(this);
+    }
+
+    private SslContext defaultSslContext() {
+      final SslContextBuilder builder = SslContextBuilder.forClient().sslProvider(sslProvider);
+      if (http2) {
+        builder
+            .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+            .applicationProtocolConfig(new ApplicationProtocolConfig(Protocol.ALPN,
+                SelectorFailureBehavior.NO_ADVERTISE,
+                SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2));
+      }
+      try {
+        return builder.build();
+      } catch (SSLException e) {
+        throw new IllegalStateException("Unable to create the TLS context", e);
+      }
+    }
+  }
+}
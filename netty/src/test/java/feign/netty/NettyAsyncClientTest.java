@@ -0,0 +1,395 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.netty;
+
+import static feign.assertj.MockWebServerAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.isA;
+import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import feign.AsyncFeign;
+import feign.Body;
+import feign.FeignException;
+import feign.Headers;
+import feign.Param;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.util.ReferenceCountUtil;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class NettyAsyncClientTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private NettyAsyncClient<Void> client = new NettyAsyncClient<>();
+
+  interface TestInterfaceAsync {
+    @RequestLine("GET /?q={q}")
+    CompletableFuture<String> get(@Param("q") String q);
+
+    @RequestLine("POST /")
+    @Headers("Content-Type: text/plain")
+    @Body("{body}")
+    CompletableFuture<String> post(@Param("body") String body);
+  }
+
+  @After
+  public void closeClient() {
+    client.close();
+  }
+
+  private TestInterfaceAsync api() {
+    return AsyncFeign.<Void>asyncBuilder()
+        .client(client)
+        .target(TestInterfaceAsync.class, server.url("/").toString());
+  }
+
+  @Test
+  public void getsAndPosts() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    assertEquals("foo", unwrap(api().get("a b")));
+    assertThat(server.takeRequest())
+        .hasMethod("GET")
+        .hasPath("/?q=a%20b");
+    assertEquals("bar", unwrap(api().post("baz")));
+    assertThat(server.takeRequest())
+        .hasMethod("POST")
+        .hasHeaders("Content-Length: 3", "Host: localhost:" + server.getPort())
+        .hasBody("baz");
+  }
+
+  @Test
+  public void reusesConnections() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    unwrap(api().get("1"));
+    unwrap(api().get("2"));
+
+    assertEquals(0, server.takeRequest().getSequenceNumber());
+    assertEquals(1, server.takeRequest().getSequenceNumber());
+  }
+
+  @Test
+  public void sharesConnectionsAcrossConnectTimeouts() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    unwrap(client.execute(get(),
+        new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true), Optional.empty()));
+    unwrap(client.execute(get(),
+        new Request.Options(2, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true), Optional.empty()));
+
+    assertEquals(0, server.takeRequest().getSequenceNumber());
+    assertEquals(1, server.takeRequest().getSequenceNumber());
+  }
+
+  @Test
+  public void reconnectsWhenServerClosesConnection() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo").addHeader("Connection", "close"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    assertEquals("foo", unwrap(api().get("1")));
+    assertEquals("bar", unwrap(api().get("2")));
+
+    assertEquals(0, server.takeRequest().getSequenceNumber());
+    assertEquals(0, server.takeRequest().getSequenceNumber());
+  }
+
+  @Test
+  public void completesExceptionallyOnErrorStatus() throws Throwable {
+    server.enqueue(new MockResponse().setResponseCode(500).setBody("oops"));
+
+    thrown.expect(FeignException.class);
+    thrown.expectMessage("oops");
+    unwrap(api().get("1"));
+  }
+
+  @Test
+  public void timesOutReads() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo").setHeadersDelay(1, TimeUnit.SECONDS));
+
+    thrown.expect(SocketTimeoutException.class);
+    unwrap(client.execute(get(),
+        new Request.Options(1, TimeUnit.SECONDS, 100, TimeUnit.MILLISECONDS, true),
+        Optional.empty()));
+  }
+
+  @Test
+  public void completesExceptionallyWhenConnectionFails() throws Throwable {
+    Request request = get();
+    server.shutdown();
+
+    thrown.expect(isA(ConnectException.class));
+    unwrap(client.execute(request, new Request.Options(), Optional.empty()));
+  }
+
+  @Test
+  public void releasesConnectionOfCancelledExchange() throws Throwable {
+    client = NettyAsyncClient.builder().maxConnectionsPerHost(1).build();
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    CompletableFuture<Response> cancelled =
+        client.execute(get(), new Request.Options(), Optional.empty());
+    server.takeRequest();
+    cancelled.cancel(true);
+
+    assertEquals("foo", unwrap(api().get("1")));
+    assertEquals(0, server.takeRequest().getSequenceNumber());
+  }
+
+  @Test
+  public void releasesBodyOnClose() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    Response response = unwrap(client.execute(get(), new Request.Options(), Optional.empty()));
+    ByteBufBody body = (ByteBufBody) response.body();
+
+    assertThat(body.length()).isEqualTo(3);
+    assertEquals("foo", Util.toString(body.asReader(Util.UTF_8)));
+    assertEquals("foo", Util.toString(body.asReader(Util.UTF_8)));
+    response.close();
+    assertThat(body.isReleased()).isTrue();
+  }
+
+  @Test
+  public void failsResponsesLongerThanMaxContentLength() throws Throwable {
+    client = NettyAsyncClient.builder().maxContentLength(4).build();
+    server.enqueue(new MockResponse().setBody("too long"));
+
+    thrown.expectMessage("too large");
+    unwrap(client.execute(get(), new Request.Options(), Optional.empty()));
+  }
+
+  @Test
+  public void multiplexesHttp2Streams() throws Throwable {
+    server.setProtocols(Collections.singletonList(okhttp3.Protocol.H2_PRIOR_KNOWLEDGE));
+    server.enqueue(new MockResponse().setBody("foo").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+    server.enqueue(new MockResponse().setBody("foo").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+    client = NettyAsyncClient.builder().http2(true).build();
+
+    CompletableFuture<String> first = api().get("1");
+    CompletableFuture<String> second = api().get("2");
+
+    assertEquals("foo", unwrap(first));
+    assertEquals("foo", unwrap(second));
+    RecordedRequest request = server.takeRequest();
+    assertEquals("localhost:" + server.getPort(), request.getHeader(":authority"));
+    assertEquals("http", request.getHeader(":scheme"));
+    assertEquals(1, server.takeRequest().getSequenceNumber());
+  }
+
+  @Test
+  public void queuesStreamsBeyondMaxConcurrentStreams() throws Throwable {
+    final AtomicInteger active = new AtomicInteger();
+    final AtomicInteger maxActive = new AtomicInteger();
+    final EventLoopGroup group = new NioEventLoopGroup(1);
+    try {
+      final Channel h2Server = new ServerBootstrap()
+          .group(group)
+          .channel(NioServerSocketChannel.class)
+          .childHandler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel channel) {
+              channel.pipeline().addLast(
+                  Http2FrameCodecBuilder.forServer()
+                      .initialSettings(Http2Settings.defaultSettings().maxConcurrentStreams(2))
+                      .build(),
+                  new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                    @Override
+                    protected void initChannel(Http2StreamChannel stream) {
+                      stream.pipeline().addLast(new DelayedResponder(active, maxActive));
+                    }
+                  }));
+            }
+          })
+          .bind("localhost", 0).sync().channel();
+      client = NettyAsyncClient.builder().http2(true).build();
+      final Request request = Request.create(HttpMethod.GET,
+          "http://localhost:" + ((InetSocketAddress) h2Server.localAddress()).getPort()
+              + "/",
+          Collections.emptyMap(), null, Util.UTF_8);
+
+      final List<CompletableFuture<Response>> responses = IntStream.range(0, 5)
+          .mapToObj(i -> client.execute(request, new Request.Options(), Optional.empty()))
+          .collect(Collectors.toList());
+
+      for (CompletableFuture<Response> response : responses) {
+        try (Response ok = unwrap(response)) {
+          assertEquals(200, ok.status());
+          assertEquals("ok", Util.toString(ok.body().asReader(Util.UTF_8)));
+        }
+      }
+      assertThat(maxActive.get()).isEqualTo(2);
+      h2Server.close().sync();
+    } finally {
+      group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+  }
+
+  /**
+   * Responds to each stream after a delay, recording the number of streams open at once.
+   */
+  static class DelayedResponder extends ChannelInboundHandlerAdapter {
+
+    private final AtomicInteger active;
+    private final AtomicInteger maxActive;
+
+    DelayedResponder(AtomicInteger active, AtomicInteger maxActive) {
+      this.active = active;
+      this.maxActive = maxActive;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      final boolean endStream = msg instanceof Http2HeadersFrame
+          ? ((Http2HeadersFrame) msg).isEndStream()
+          : msg instanceof Http2DataFrame && ((Http2DataFrame) msg).isEndStream();
+      ReferenceCountUtil.release(msg);
+      if (!endStream) {
+        return;
+      }
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+      ctx.executor().schedule(() -> {
+        active.decrementAndGet();
+        ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+        ctx.writeAndFlush(
+            new DefaultHttp2DataFrame(Unpooled.copiedBuffer("ok", Util.UTF_8), true));
+      }, 50, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Test
+  public void verifiesServerCertificate() throws Throwable {
+    HeldCertificate certificate = localhostCertificate();
+    server.useHttps(new HandshakeCertificates.Builder()
+        .heldCertificate(certificate)
+        .build()
+        .sslSocketFactory(), false);
+    server.enqueue(new MockResponse().setBody("foo"));
+    client = NettyAsyncClient.builder()
+        .sslContext(SslContextBuilder.forClient()
+            .trustManager(certificate.certificate())
+            .build())
+        .build();
+
+    assertEquals("foo", unwrap(api().get("1")));
+
+    thrown.expect(isA(IOException.class));
+    unwrap(client.execute(Request.create(HttpMethod.GET,
+        "https://127.0.0.1:" + server.getPort() + "/", Collections.emptyMap(), null, Util.UTF_8),
+        new Request.Options(), Optional.empty()));
+  }
+
+  @Test
+  public void negotiatesHttp2OverTls() throws Throwable {
+    HeldCertificate certificate = localhostCertificate();
+    server.useHttps(new HandshakeCertificates.Builder()
+        .heldCertificate(certificate)
+        .build()
+        .sslSocketFactory(), false);
+    server.setProtocols(Arrays.asList(okhttp3.Protocol.HTTP_2, okhttp3.Protocol.HTTP_1_1));
+    server.enqueue(new MockResponse().setBody("foo"));
+    client = NettyAsyncClient.builder()
+        .http2(true)
+        .sslContext(SslContextBuilder.forClient()
+            .trustManager(certificate.certificate())
+            .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+            .applicationProtocolConfig(new ApplicationProtocolConfig(Protocol.ALPN,
+                SelectorFailureBehavior.NO_ADVERTISE,
+                SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2))
+            .build())
+        .build();
+
+    assertEquals("foo", unwrap(api().get("1")));
+    assertEquals("https", server.takeRequest().getHeader(":scheme"));
+  }
+
+  private static HeldCertificate localhostCertificate() {
+    return new HeldCertificate.Builder()
+        .addSubjectAlternativeName("localhost")
+        .build();
+  }
+
+  private Request get() {
+    return Request.create(HttpMethod.GET, server.url("/").toString(), Collections.emptyMap(),
+        null, Util.UTF_8);
+  }
+
+  private static <T> T unwrap(CompletableFuture<T> cf) throws Throwable {
+    try {
+      return cf.get(5, TimeUnit.SECONDS);
+    } catch (final ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+}
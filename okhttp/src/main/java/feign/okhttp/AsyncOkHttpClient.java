@@ -0,0 +1,125 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.okhttp;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import feign.AsyncClient;
+import feign.ConnectionPoolStats;
+import feign.InvocationPhases;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Response;
+
+/**
+ * This module directs Feign's asynchronous http requests to
+ * <a href="http://square.github.io/okhttp/">OkHttp</a>. Requests are enqueued on OkHttp's
+ * {@link Dispatcher}, and the result completes from its callback once the response headers are
+ * received, with a body streamed from the connection. Cancelling the result cancels the call. Ex.
+ *
+ * <pre>
+ * GitHub github = AsyncFeign.asyncBuilder().client(new AsyncOkHttpClient()).target(GitHub.class,
+ *     "https://api.github.com");
+ * </pre>
+ *
+ * @param <C> unused context; OkHttp keeps state such as cookies in the delegate client.
+ */
+public final class AsyncOkHttpClient<C> implements AsyncClient<C>, ConnectionPoolStats {
+
+  private final okhttp3.OkHttpClient delegate;
+  private final OptionsClientCache clients;
+
+  public AsyncOkHttpClient() {
+    this(new okhttp3.OkHttpClient());
+  }
+
+  public AsyncOkHttpClient(okhttp3.OkHttpClient delegate) {
+    this.delegate = delegate;
+    this.clients = new OptionsClientCache(delegate);
+  }
+
+  @Override
+  public CompletableFuture<feign.Response> execute(feign.Request input,
+                                                   feign.Request.Options options,
+                                                   Optional<C> requestContext) {
+    final CompletableFuture<feign.Response> result = new CompletableFuture<>();
+    final InvocationPhases phases = InvocationPhases.of(input);
+    final long callStartMillis = phases != null ? System.currentTimeMillis() : 0;
+    final Call call = clients.get(options).newCall(OkHttpClient.toOkHttpRequest(input));
+    call.enqueue(new Callback() {
+
+      @Override
+      public void onFailure(Call call, IOException e) {
+        result.completeExceptionally(e);
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        if (phases != null) {
+          OkHttpClient.recordPhases(phases, response, callStartMillis);
+        }
+        try {
+          if (!result.complete(OkHttpClient.toFeignResponse(response, input))) {
+            // cancelled meanwhile
+            response.close();
+          }
+        } catch (IOException | RuntimeException e) {
+          response.close();
+          result.completeExceptionally(e);
+        }
+      }
+    });
+    result.whenComplete((response, throwable) -> {
+      if (result.isCancelled()) {
+        call.cancel();
+      }
+    });
+    return result;
+  }
+
+  @Override
+  public int leasedConnections() {
+    final ConnectionPool pool = delegate.connectionPool();
+    return pool.connectionCount() - pool.idleConnectionCount();
+  }
+
+  @Override
+  public int idleConnections() {
+    return delegate.connectionPool().idleConnectionCount();
+  }
+
+  /**
+   * OkHttp does not limit the number of connections, only the number of idle ones it keeps.
+   */
+  @Override
+  public int maxConnections() {
+    return -1;
+  }
+
+  /**
+   * Calls waiting for the {@link Dispatcher}'s request limits.
+   */
+  @Override
+  public int pendingRequests() {
+    return delegate.dispatcher().queuedCallsCount();
+  }
+
+  @Override
+  public int activeRequests() {
+    return delegate.dispatcher().runningCallsCount();
+  }
+}
@@ -21,6 +21,9 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import feign.Client;
+import feign.ConnectionPoolStats;
+import feign.InvocationPhases;
+import feign.InvocationPhases.Phase;
 import feign.Request.HttpMethod;
 import okhttp3.*;
 
@@ -33,9 +36,10 @@ import okhttp3.*;
  * GitHub github = Feign.builder().client(new OkHttpClient()).target(GitHub.class,
  * "https://api.github.com");
  */
-public final class OkHttpClient implements Client {
+public final class OkHttpClient implements Client, ConnectionPoolStats {
 
   private final okhttp3.OkHttpClient delegate;
+  private final OptionsClientCache clients;
 
   public OkHttpClient() {
     this(new okhttp3.OkHttpClient());
@@ -43,6 +47,7 @@ public final class OkHttpClient implements Client {
 
   public OkHttpClient(okhttp3.OkHttpClient delegate) {
     this.delegate = delegate;
+    this.clients = new OptionsClientCache(delegate);
   }
 
   static Request toOkHttpRequest(feign.Request input) {
@@ -89,7 +94,7 @@ public final class OkHttpClient implements Client {
     return requestBuilder.build();
   }
 
-  private static feign.Response toFeignResponse(Response response, feign.Request request)
+  static feign.Response toFeignResponse(Response response, feign.Request request)
       throws IOException {
     return feign.Response.builder()
         .status(response.code())
@@ -153,20 +158,59 @@ public final class OkHttpClient implements Client {
   @Override
   public feign.Response execute(feign.Request input, feign.Request.Options options)
       throws IOException {
-    okhttp3.OkHttpClient requestScoped;
-    if (delegate.connectTimeoutMillis() != options.connectTimeoutMillis()
-        || delegate.readTimeoutMillis() != options.readTimeoutMillis()
-        || delegate.followRedirects() != options.isFollowRedirects()) {
-      requestScoped = delegate.newBuilder()
-          .connectTimeout(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS)
-          .readTimeout(options.readTimeoutMillis(), TimeUnit.MILLISECONDS)
-          .followRedirects(options.isFollowRedirects())
-          .build();
-    } else {
-      requestScoped = delegate;
-    }
+    okhttp3.OkHttpClient requestScoped = clients.get(options);
     Request request = toOkHttpRequest(input);
+    InvocationPhases phases = InvocationPhases.of(input);
+    long callStartMillis = phases != null ? System.currentTimeMillis() : 0;
     Response response = requestScoped.newCall(request).execute();
+    if (phases != null) {
+      recordPhases(phases, response, callStartMillis);
+    }
     return toFeignResponse(response, input).toBuilder().request(input).build();
   }
+
+  /**
+   * OkHttp stamps when the request was sent and when the response headers arrived, so there is no
+   * need for an event listener. Timestamps have millisecond precision.
+   */
+  static void recordPhases(InvocationPhases phases,
+                           Response response,
+                           long callStartMillis) {
+    phases.record(Phase.CONNECTION_ACQUIRE, TimeUnit.MILLISECONDS
+        .toNanos(Math.max(0, response.sentRequestAtMillis() - callStartMillis)));
+    phases.record(Phase.TIME_TO_FIRST_BYTE, TimeUnit.MILLISECONDS
+        .toNanos(response.receivedResponseAtMillis() - response.sentRequestAtMillis()));
+  }
+
+  @Override
+  public int leasedConnections() {
+    final ConnectionPool pool = delegate.connectionPool();
+    return pool.connectionCount() - pool.idleConnectionCount();
+  }
+
+  @Override
+  public int idleConnections() {
+    return delegate.connectionPool().idleConnectionCount();
+  }
+
+  /**
+   * OkHttp does not limit the number of connections, only the number of idle ones it keeps.
+   */
+  @Override
+  public int maxConnections() {
+    return -1;
+  }
+
+  /**
+   * Asynchronous calls queued by the {@link Dispatcher}.
+   */
+  @Override
+  public int pendingRequests() {
+    return delegate.dispatcher().queuedCallsCount();
+  }
+
+  @Override
+  public int activeRequests() {
+    return delegate.dispatcher().runningCallsCount();
+  }
 }
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.okhttp;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import feign.Request.Options;
+
+/**
+ * Clients derived from a delegate for the timeouts and redirect policy of request {@link Options}.
+ * Derived clients share the delegate's connection pool and dispatcher, and are cached, so methods
+ * passing their own {@code Options} do not rebuild a client per request. Once the cache is full,
+ * clients for further combinations are built per request.
+ */
+final class OptionsClientCache {
+
+  static final int MAX_SIZE = 32;
+
+  private final okhttp3.OkHttpClient delegate;
+  private final ConcurrentMap<Key, okhttp3.OkHttpClient> clients = new ConcurrentHashMap<>();
+
+  OptionsClientCache(okhttp3.OkHttpClient delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * The delegate, or a client sharing its connection pool and dispatcher with the timeouts and
+   * redirect policy of the {@code options}.
+   */
+  okhttp3.OkHttpClient get(Options options) {
+    if (delegate.connectTimeoutMillis() == options.connectTimeoutMillis()
+        && delegate.readTimeoutMillis() == options.readTimeoutMillis()
+        && delegate.followRedirects() == options.isFollowRedirects()) {
+      return delegate;
+    }
+    Key key = new Key(options.connectTimeoutMillis(), options.readTimeoutMillis(),
+        options.isFollowRedirects());
+    okhttp3.OkHttpClient client = clients.get(key);
+    if (client != null) {
+      return client;
+    }
+    if (clients.size() >= MAX_SIZE) {
+      return derive(key);
+    }
+    return clients.computeIfAbsent(key, this::derive);
+  }
+
+  private okhttp3.OkHttpClient derive(Key key) {
+    return delegate.newBuilder()
+        .connectTimeout(key.connectTimeoutMillis, TimeUnit.MILLISECONDS)
+        .readTimeout(key.readTimeoutMillis, TimeUnit.MILLISECONDS)
+        .followRedirects(key.followRedirects)
+        .build();
+  }
+
+  int size() {
+    return clients.size();
+  }
+
+  private static final class Key {
+
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final boolean followRedirects;
+
+    Key(int connectTimeoutMillis, int readTimeoutMillis, boolean followRedirects) {
+      this.connectTimeoutMillis = connectTimeoutMillis;
+      this.readTimeoutMillis = readTimeoutMillis;
+      this.followRedirects = followRedirects;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return connectTimeoutMillis == other.connectTimeoutMillis
+          && readTimeoutMillis == other.readTimeoutMillis
+          && followRedirects == other.followRedirects;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * connectTimeoutMillis + readTimeoutMillis) + (followRedirects ? 1 : 0);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.okhttp;
+
+import static feign.assertj.MockWebServerAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.isA;
+import static org.junit.Assert.assertEquals;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import feign.AsyncFeign;
+import feign.Body;
+import feign.FeignException;
+import feign.Param;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class AsyncOkHttpClientTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  interface TestInterfaceAsync {
+    @RequestLine("GET /")
+    CompletableFuture<String> get();
+
+    @RequestLine("POST /")
+    @Body("{body}")
+    CompletableFuture<String> post(@Param("body") String body);
+
+    @RequestLine("GET /")
+    CompletableFuture<Response> response();
+  }
+
+  private TestInterfaceAsync api(AsyncOkHttpClient<Void> client) {
+    return AsyncFeign.<Void>asyncBuilder()
+        .client(client)
+        .target(TestInterfaceAsync.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void getsAndPosts() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    server.enqueue(new MockResponse().setBody("bar"));
+
+    TestInterfaceAsync api = api(new AsyncOkHttpClient<>());
+
+    assertEquals("foo", unwrap(api.get()));
+    assertThat(server.takeRequest()).hasMethod("GET");
+    assertEquals("bar", unwrap(api.post("baz")));
+    assertThat(server.takeRequest()).hasMethod("POST").hasBody("baz");
+  }
+
+  @Test
+  public void completesExceptionallyOnErrorStatus() throws Throwable {
+    server.enqueue(new MockResponse().setResponseCode(500).setBody("oops"));
+
+    thrown.expect(FeignException.class);
+    thrown.expectMessage("oops");
+    unwrap(api(new AsyncOkHttpClient<>()).get());
+  }
+
+  @Test
+  public void completesExceptionallyOnNetworkError() throws Throwable {
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+    thrown.expect(isA(IOException.class));
+    unwrap(new AsyncOkHttpClient<Void>().execute(request("GET"), new Request.Options(),
+        Optional.empty()));
+  }
+
+  @Test
+  public void streamsResponseBody() throws Throwable {
+    server.enqueue(new MockResponse().setChunkedBody("streamed body", 4));
+
+    Response response = unwrap(api(new AsyncOkHttpClient<>()).response());
+
+    assertThat(response.body().isRepeatable()).isFalse();
+    assertThat(response.body().length()).isNull();
+    assertEquals("streamed body", Util.toString(response.body().asReader(Util.UTF_8)));
+  }
+
+  @Test
+  public void cancelsCallWhenFutureIsCancelled() throws Exception {
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+    AsyncOkHttpClient<Void> client = new AsyncOkHttpClient<>();
+
+    CompletableFuture<Response> result =
+        client.execute(request("GET"), new Request.Options(), Optional.empty());
+    server.takeRequest();
+    assertEquals(1, client.activeRequests());
+
+    result.cancel(true);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (client.activeRequests() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, client.activeRequests());
+  }
+
+  @Test
+  public void appliesOptionsPerRequest() throws Throwable {
+    server.enqueue(
+        new MockResponse().setResponseCode(302).addHeader("Location", server.url("redirect")));
+
+    Response response = unwrap(new AsyncOkHttpClient<Void>().execute(request("GET"),
+        new Request.Options(10_000, TimeUnit.MILLISECONDS, 10_000, TimeUnit.MILLISECONDS, false),
+        Optional.empty()));
+
+    assertEquals(302, response.status());
+    assertEquals(1, server.getRequestCount());
+  }
+
+  @Test
+  public void reportsConnectionPoolStats() throws Throwable {
+    server.enqueue(new MockResponse().setBody("foo"));
+    AsyncOkHttpClient<Void> client = new AsyncOkHttpClient<>();
+
+    assertEquals("foo", unwrap(api(client).get()));
+    assertEquals(0, client.leasedConnections());
+    assertEquals(1, client.idleConnections());
+    assertEquals(0, client.pendingRequests());
+    assertEquals(-1, client.maxConnections());
+  }
+
+  private Request request(String method) {
+    return Request.create(HttpMethod.valueOf(method), server.url("/").toString(),
+        Collections.emptyMap(), null, Util.UTF_8);
+  }
+
+  private static <T> T unwrap(CompletableFuture<T> cf) throws Throwable {
+    try {
+      return cf.get(5, TimeUnit.SECONDS);
+    } catch (final ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+}
@@ -102,6 +102,22 @@ public class OkHttpClientTest extends AbstractClientTest {
   }
 
 
+  @Test
+  public void reportsConnectionPoolStats() {
+    server.enqueue(new MockResponse());
+    final OkHttpClient client = new OkHttpClient();
+
+    OkHttpClientTestInterface api = Feign.builder()
+        .client(client)
+        .target(OkHttpClientTestInterface.class, "http://localhost:" + server.getPort());
+
+    api.get();
+    assertEquals(0, client.leasedConnections());
+    assertEquals(1, client.idleConnections());
+    assertEquals(0, client.pendingRequests());
+    assertEquals(0, client.activeRequests());
+  }
+
   public interface OkHttpClientTestInterface {
 
     @RequestLine("GET /")
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.okhttp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.concurrent.TimeUnit;
+import feign.Request.Options;
+import org.junit.Test;
+
+public class OptionsClientCacheTest {
+
+  private final okhttp3.OkHttpClient delegate = new okhttp3.OkHttpClient();
+  private final OptionsClientCache cache = new OptionsClientCache(delegate);
+
+  @Test
+  public void usesDelegateForMatchingOptions() {
+    assertThat(cache.get(new Options(delegate.connectTimeoutMillis(), TimeUnit.MILLISECONDS,
+        delegate.readTimeoutMillis(), TimeUnit.MILLISECONDS, delegate.followRedirects())))
+            .isSameAs(delegate);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void reusesDerivedClients() {
+    okhttp3.OkHttpClient derived = cache.get(options(1_000, 2_000, false));
+
+    assertThat(cache.get(options(1_000, 2_000, false))).isSameAs(derived);
+    assertThat(derived.connectTimeoutMillis()).isEqualTo(1_000);
+    assertThat(derived.readTimeoutMillis()).isEqualTo(2_000);
+    assertThat(derived.followRedirects()).isFalse();
+    assertThat(derived.connectionPool()).isSameAs(delegate.connectionPool());
+    assertThat(derived.dispatcher()).isSameAs(delegate.dispatcher());
+  }
+
+  @Test
+  public void derivesClientPerCombination() {
+    okhttp3.OkHttpClient derived = cache.get(options(1_000, 2_000, false));
+
+    assertThat(cache.get(options(1_000, 2_000, true))).isNotSameAs(derived);
+    assertThat(cache.get(options(1_000, 3_000, false))).isNotSameAs(derived);
+    assertThat(cache.get(options(3_000, 2_000, false))).isNotSameAs(derived);
+    assertThat(cache.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void stopsCachingWhenFull() {
+    for (int i = 0; i < OptionsClientCache.MAX_SIZE; i++) {
+      cache.get(options(1_000 + i, 2_000, true));
+    }
+
+    okhttp3.OkHttpClient uncached = cache.get(options(500, 2_000, true));
+    assertThat(uncached.connectTimeoutMillis()).isEqualTo(500);
+    assertThat(cache.get(options(500, 2_000, true))).isNotSameAs(uncached);
+    assertThat(cache.size()).isEqualTo(OptionsClientCache.MAX_SIZE);
+  }
+
+  private static Options options(int connectTimeoutMillis,
+                                 int readTimeoutMillis,
+                                 boolean followRedirects) {
+    return new Options(connectTimeoutMillis, TimeUnit.MILLISECONDS, readTimeoutMillis,
+        TimeUnit.MILLISECONDS, followRedirects);
+  }
+}
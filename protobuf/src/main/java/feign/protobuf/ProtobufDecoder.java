@@ -0,0 +1,168 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import static feign.Util.ensureClosed;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+/**
+ * Decodes protobuf messages straight from the response stream. The {@link Parser} of each return
+ * type is looked up once, then cached.
+ *
+ * <p>
+ * Methods returning {@code Iterator<M>} read a stream of length-delimited messages one at a time,
+ * closing the response once it is exhausted. Combine with {@link feign.stream.StreamDecoder} to
+ * return {@code Stream<M>} as well:
+ *
+ * <pre>
+ * ProtobufDecoder decoder = new ProtobufDecoder();
+ * Feign.builder()
+ *     .encoder(new ProtobufEncoder())
+ *     .decoder(StreamDecoder.create(decoder, decoder))
+ *     .doNotCloseAfterDecode() // Required for iterators and streams
+ *     .target(Api.class, "https://api.example.com");
+ * </pre>
+ *
+ * Iterators and streams not read to the end must be closed by the caller.
+ */
+public class ProtobufDecoder implements Decoder {
+
+  private final ExtensionRegistryLite extensionRegistry;
+  private final ConcurrentMap<Type, Parser<?>> parsers = new ConcurrentHashMap<>();
+
+  public ProtobufDecoder() {
+    this(ExtensionRegistryLite.getEmptyRegistry());
+  }
+
+  /**
+   * @param extensionRegistry used to parse extensions of the decoded messages.
+   */
+  public ProtobufDecoder(ExtensionRegistryLite extensionRegistry) {
+    this.extensionRegistry = extensionRegistry;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    final Type elementType = iteratorElementType(type);
+    if (elementType != null) {
+      return new DelimitedIterator<>(parser(elementType), extensionRegistry, response,
+          response.body().asInputStream());
+    }
+    try {
+      return parser(type).parseFrom(response.body().asInputStream(), extensionRegistry);
+    } catch (InvalidProtocolBufferException e) {
+      throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+    }
+  }
+
+  private Parser<?> parser(Type type) {
+    final Parser<?> parser = parsers.get(type);
+    if (parser != null) {
+      return parser;
+    }
+    return parsers.computeIfAbsent(type, ProtobufDecoder::resolveParser);
+  }
+
+  private static Parser<?> resolveParser(Type type) {
+    if (!(type instanceof Class) || !MessageLite.class.isAssignableFrom((Class<?>) type)) {
+      throw new IllegalArgumentException(type + " is not a protobuf message");
+    }
+    try {
+      return ((MessageLite) ((Class<?>) type).getMethod("getDefaultInstance").invoke(null))
+          .getParserForType();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Could not find the parser of " + type, e);
+    }
+  }
+
+  private static Type iteratorElementType(Type type) {
+    if (type instanceof ParameterizedType
+        && Iterator.class.equals(((ParameterizedType) type).getRawType())) {
+      return ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+    return null;
+  }
+
+  static final class DelimitedIterator<T> implements Iterator<T>, Closeable {
+
+    private final Parser<T> parser;
+    private final ExtensionRegistryLite extensionRegistry;
+    private final Response response;
+    private final InputStream inputStream;
+
+    private T current;
+    private boolean finished;
+
+    @SuppressWarnings("unchecked")
+    DelimitedIterator(Parser<?> parser, ExtensionRegistryLite extensionRegistry,
+        Response response, InputStream inputStream) {
+      this.parser = (Parser<T>) parser;
+      this.extensionRegistry = extensionRegistry;
+      this.response = response;
+      this.inputStream = inputStream;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null && !finished) {
+        try {
+          // null at the end of the stream
+          current = parser.parseDelimitedFrom(inputStream, extensionRegistry);
+        } catch (InvalidProtocolBufferException e) {
+          finished = true;
+          ensureClosed(this);
+          throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+        }
+        if (current == null) {
+          finished = true;
+          ensureClosed(this);
+        }
+      }
+      return current != null;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final T next = current;
+      current = null;
+      return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+      ensureClosed(inputStream);
+      ensureClosed(response);
+    }
+  }
+}
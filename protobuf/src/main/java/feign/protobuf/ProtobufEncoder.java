@@ -0,0 +1,76 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import static java.lang.String.format;
+import com.google.protobuf.MessageLite;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+/**
+ * Encodes protobuf messages in their binary wire format. An {@link Iterable} of messages is written
+ * length-delimited, as read back by {@link ProtobufDecoder} into an {@link java.util.Iterator}.
+ * Sets {@code Content-Type: application/x-protobuf} unless the request has a content type already.
+ */
+public class ProtobufEncoder implements Encoder {
+
+  static final String MEDIA_TYPE = "application/x-protobuf";
+  private static final String CONTENT_TYPE = "Content-Type";
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    final byte[] body;
+    if (object instanceof MessageLite) {
+      body = ((MessageLite) object).toByteArray();
+    } else if (object instanceof Iterable) {
+      body = delimited((Iterable<?>) object, bodyType);
+    } else {
+      throw new EncodeException(format("%s is not a protobuf message", bodyType));
+    }
+    if (!hasContentType(template.headers())) {
+      template.header(CONTENT_TYPE, MEDIA_TYPE);
+    }
+    template.body(body, null);
+  }
+
+  private static byte[] delimited(Iterable<?> messages, Type bodyType) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      for (Object message : messages) {
+        if (!(message instanceof MessageLite)) {
+          throw new EncodeException(format("%s is not an iterable of protobuf messages", bodyType));
+        }
+        ((MessageLite) message).writeDelimitedTo(out);
+      }
+    } catch (IOException e) {
+      throw new EncodeException(e.getMessage(), e);
+    }
+    return out.toByteArray();
+  }
+
+  private static boolean hasContentType(Map<String, Collection<String>> headers) {
+    for (String name : headers.keySet()) {
+      if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
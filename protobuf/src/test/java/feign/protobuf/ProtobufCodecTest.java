@@ -0,0 +1,135 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.Feign;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.codec.DecodeException;
+import feign.codec.EncodeException;
+import feign.stream.StreamDecoder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+public class ProtobufCodecTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final Timestamp timestamp =
+      Timestamp.newBuilder().setSeconds(1577836800).setNanos(42).build();
+  private final List<StringValue> values =
+      Arrays.asList(StringValue.of("foo"), StringValue.of(""), StringValue.of("bar"));
+
+  interface Api {
+
+    @RequestLine("POST /")
+    Timestamp echo(Timestamp timestamp);
+
+    @RequestLine("POST /values")
+    Iterator<StringValue> iterator(List<StringValue> values);
+
+    @RequestLine("GET /values")
+    Stream<StringValue> stream();
+  }
+
+  private Api api() {
+    ProtobufDecoder decoder = new ProtobufDecoder();
+    return Feign.builder()
+        .encoder(new ProtobufEncoder())
+        .decoder(StreamDecoder.create(decoder, decoder))
+        .doNotCloseAfterDecode()
+        .target(Api.class, "http://localhost:" + server.getPort());
+  }
+
+  @Test
+  public void roundTripsMessage() throws Exception {
+    server.enqueue(new MockResponse().setBody(new Buffer().write(timestamp.toByteArray())));
+
+    assertThat(api().echo(timestamp)).isEqualTo(timestamp);
+
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("Content-Type")).isEqualTo("application/x-protobuf");
+    assertThat(Timestamp.parseFrom(request.getBody().readByteArray())).isEqualTo(timestamp);
+  }
+
+  @Test
+  public void emptyBodyDecodesToDefaultInstance() {
+    server.enqueue(new MockResponse());
+
+    assertThat(api().echo(timestamp)).isEqualTo(Timestamp.getDefaultInstance());
+  }
+
+  @Test
+  public void iteratesDelimitedMessages() throws Exception {
+    server.enqueue(new MockResponse().setBody(new Buffer().write(delimited(values))));
+
+    Iterator<StringValue> iterator = api().iterator(values);
+
+    assertThat(iterator).containsExactlyElementsOf(values);
+    assertThat(server.takeRequest().getBody().readByteArray()).isEqualTo(delimited(values));
+  }
+
+  @Test
+  public void streamsDelimitedMessages() throws Exception {
+    server.enqueue(new MockResponse().setBody(new Buffer().write(delimited(values))));
+
+    try (Stream<StringValue> stream = api().stream()) {
+      assertThat(stream.collect(Collectors.toList())).isEqualTo(values);
+    }
+  }
+
+  @Test
+  public void iteratorFailsOnTruncatedMessage() throws Exception {
+    byte[] body = delimited(values);
+    server.enqueue(new MockResponse()
+        .setBody(new Buffer().write(Arrays.copyOf(body, body.length - 1))));
+
+    Iterator<StringValue> iterator = api().iterator(values);
+    iterator.next();
+    iterator.next();
+
+    assertThatThrownBy(iterator::hasNext).isInstanceOf(DecodeException.class);
+    ((Closeable) iterator).close();
+  }
+
+  @Test
+  public void rejectsObjectsThatAreNotMessages() {
+    assertThatThrownBy(() -> new ProtobufEncoder().encode("foo", String.class,
+        new RequestTemplate())).isInstanceOf(EncodeException.class);
+  }
+
+  private static byte[] delimited(List<StringValue> values) throws IOException {
+    Buffer buffer = new Buffer();
+    for (StringValue value : values) {
+      value.writeDelimitedTo(buffer.outputStream());
+    }
+    return buffer.readByteArray();
+  }
+}
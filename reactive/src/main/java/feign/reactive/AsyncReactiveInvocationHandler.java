@@ -0,0 +1,51 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import org.reactivestreams.Publisher;
+
+/**
+ * Invoked by {@link feign.AsyncFeign}, where method handlers return the future of the decoded
+ * result instead of blocking for it.
+ */
+class AsyncReactiveInvocationHandler extends ReactiveInvocationHandler {
+
+  private final BiFunction<Method, CompletableFuture<?>, Publisher<?>> adapter;
+
+  AsyncReactiveInvocationHandler(Target<?> target, Map<Method, MethodHandler> dispatch,
+      BiFunction<Method, CompletableFuture<?>, Publisher<?>> adapter) {
+    super(target, dispatch);
+    this.adapter = adapter;
+  }
+
+  @Override
+  protected Publisher invoke(Method method, MethodHandler methodHandler, Object[] arguments) {
+    CompletableFuture<?> result;
+    try {
+      result = (CompletableFuture<?>) methodHandler.invoke(arguments);
+    } catch (Throwable th) {
+      // for example when encoding failed, before a request was sent
+      CompletableFuture<?> failed = new CompletableFuture<>();
+      failed.completeExceptionally(th);
+      result = failed;
+    }
+    return adapter.apply(method, result);
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Delays the invocation of reactive methods on an {@link feign.AsyncFeign} instance, which sends
+ * the request immediately, until their result is subscribed to.
+ */
+class DeferringInvocationHandler implements InvocationHandler {
+
+  private final Object instance;
+  private final InvocationHandler instanceHandler;
+  private final BiFunction<Method, Supplier<Publisher<?>>, Publisher<?>> defer;
+
+  DeferringInvocationHandler(Object instance,
+      BiFunction<Method, Supplier<Publisher<?>>, Publisher<?>> defer) {
+    this.instance = instance;
+    // invoked directly, as reflection cannot access methods of non-public interfaces
+    this.instanceHandler = Proxy.getInvocationHandler(instance);
+    this.defer = defer;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+      try {
+        Object otherHandler =
+            args.length > 0 && args[0] != null ? Proxy.getInvocationHandler(args[0]) : null;
+        return equals(otherHandler);
+      } catch (IllegalArgumentException e) {
+        return false;
+      }
+    } else if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+      return hashCode();
+    } else if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+      return toString();
+    }
+    if (!Publisher.class.isAssignableFrom(method.getReturnType())) {
+      return invokeInstance(method, args);
+    }
+    return defer.apply(method, () -> {
+      try {
+        return (Publisher<?>) invokeInstance(method, args);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable th) {
+        throw new IllegalStateException(th);
+      }
+    });
+  }
+
+  private Object invokeInstance(Method method, Object[] args) throws Throwable {
+    return instanceHandler.invoke(instance, method, args);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof DeferringInvocationHandler) {
+      return instance.equals(((DeferringInvocationHandler) obj).instance);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return instance.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return instance.toString();
+  }
+}
@@ -19,15 +19,25 @@ import feign.Types;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.reactivestreams.Publisher;
 
 public class ReactiveDelegatingContract implements Contract {
 
   private final Contract delegate;
+  private final Predicate<Class<?>> streaming;
 
   ReactiveDelegatingContract(Contract delegate) {
+    this(delegate, publisherType -> false);
+  }
+
+  /**
+   * @param streaming publisher types whose elements are decoded one at a time.
+   */
+  ReactiveDelegatingContract(Contract delegate, Predicate<Class<?>> streaming) {
     this.delegate = delegate;
+    this.streaming = streaming;
   }
 
   @Override
@@ -55,13 +65,23 @@ public class ReactiveDelegatingContract implements Contract {
           throw new IllegalArgumentException(
               "Streams are not supported when using Reactive Wrappers");
         }
-        metadata.returnType(actualTypes[0]);
+        metadata.returnType(returnType(Types.getRawType(type), actualTypes[0], streaming));
       }
     }
 
     return methodsMetadata;
   }
 
+  /**
+   * The type bodies are decoded to, for a publisher of {@code publishedType}.
+   */
+  static Type returnType(Class<?> publisherType,
+                         Type publishedType,
+                         Predicate<Class<?>> streaming) {
+    return streaming.test(publisherType) ? new StreamingDecoder.ElementsType(publishedType)
+        : publishedType;
+  }
+
   /**
    * Ensure that the type provided implements a Reactive Streams Publisher.
    *
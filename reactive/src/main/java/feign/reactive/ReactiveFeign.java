@@ -13,16 +13,32 @@
  */
 package feign.reactive;
 
+import feign.AsyncFeign;
 import feign.Contract;
 import feign.Feign;
+import feign.InvocationHandlerFactory;
+import feign.MethodInfo;
+import feign.MethodInfoResolver;
+import feign.ResponseMapper;
+import feign.Target;
+import feign.codec.Decoder;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
 
 abstract class ReactiveFeign {
 
 
-
   public static class Builder extends Feign.Builder {
 
     private Contract contract = new Contract.Default();
+    private Decoder decoder = new Decoder.Default();
+    private Decoder iteratorDecoder;
 
     /**
      * Extend the current contract to support Reactive Stream return types.
@@ -36,6 +52,35 @@ abstract class ReactiveFeign {
       return this;
     }
 
+    @Override
+    public Builder decoder(Decoder decoder) {
+      this.decoder = decoder;
+      super.decoder(decoder);
+      return this;
+    }
+
+    @Override
+    public Builder mapAndDecode(ResponseMapper mapper, Decoder decoder) {
+      this.decoder = (response, type) -> decoder.decode(mapper.map(response, type), type);
+      super.mapAndDecode(mapper, decoder);
+      return this;
+    }
+
+    /**
+     * Streams the elements of multi-valued publishers, such as {@code Flux<T>} or
+     * {@code Flowable<T>}, instead of emitting the decoded body as a single element. Their bodies
+     * are decoded to an {@code Iterator<T>} by the {@code iteratorDecoder}, for example a
+     * {@code JacksonIteratorDecoder}, and each element is read when the subscriber requests it. The
+     * response is closed after the last element, or when the subscription is cancelled.
+     *
+     * @param iteratorDecoder decoding {@link java.util.Iterator} types.
+     * @return a Builder for chaining.
+     */
+    public Builder iteratorDecoder(Decoder iteratorDecoder) {
+      this.iteratorDecoder = iteratorDecoder;
+      return this;
+    }
+
     /**
      * Build the Feign instance.
      *
@@ -44,16 +89,196 @@ abstract class ReactiveFeign {
     @Override
     public Feign build() {
       if (!(this.contract instanceof ReactiveDelegatingContract)) {
-        super.contract(new ReactiveDelegatingContract(this.contract));
+        super.contract(new ReactiveDelegatingContract(this.contract, streamingTypes()));
       } else {
         super.contract(this.contract);
       }
+      if (isStreaming()) {
+        super.decoder(new StreamingDecoder(iteratorDecoder, decoder));
+        super.doNotCloseAfterDecode();
+      }
       return super.build();
     }
 
     @Override
     public Feign.Builder doNotCloseAfterDecode() {
-      throw new UnsupportedOperationException("Streaming Decoding is not supported.");
+      throw new UnsupportedOperationException(
+          "Streaming Decoding is only supported through iteratorDecoder.");
+    }
+
+    boolean isStreaming() {
+      return iteratorDecoder != null;
+    }
+
+    private Predicate<Class<?>> streamingTypes() {
+      return isStreaming() ? this::isStreamingType : publisherType -> false;
+    }
+
+    /**
+     * Whether the elements of the {@code publisherType} are streamed, when an
+     * {@link #iteratorDecoder(Decoder)} is set.
+     */
+    boolean isStreamingType(Class<?> publisherType) {
+      return false;
+    }
+  }
+
+  /**
+   * Builds clients that execute requests with an {@link feign.AsyncClient} and decode responses on
+   * completion, so no thread is blocked while a request is in flight. Requests are sent when the
+   * returned {@link Publisher} is subscribed to, and again on each subscription.
+   *
+   * <p>
+   * With the default client, requests are still executed on blocking threads. Configure a
+   * non-blocking {@link feign.AsyncClient}, such as {@code AsyncApacheHttp5Client}, to benefit from
+   * this builder. Responses are decoded on the thread completing the request, so move long
+   * processing to another scheduler.
+   * </p>
+   */
+  abstract static class AsyncBuilder<C> extends AsyncFeign.AsyncBuilder<C> {
+
+    private Contract contract = new Contract.Default();
+    private Decoder decoder = new Decoder.Default();
+    private Decoder iteratorDecoder;
+
+    AsyncBuilder() {
+      super.invocationHandlerFactory((target, dispatch) -> new AsyncReactiveInvocationHandler(
+          target, dispatch, this::fromFuture));
+    }
+
+    /**
+     * Extend the current contract to support Reactive Stream return types.
+     *
+     * @param contract to extend.
+     * @return a Builder for chaining.
+     */
+    @Override
+    public AsyncBuilder<C> contract(Contract contract) {
+      this.contract = contract;
+      return this;
+    }
+
+    @Override
+    public AsyncBuilder<C> decoder(Decoder decoder) {
+      this.decoder = decoder;
+      super.decoder(decoder);
+      return this;
+    }
+
+    @Override
+    public AsyncBuilder<C> mapAndDecode(ResponseMapper mapper, Decoder decoder) {
+      this.decoder = (response, type) -> decoder.decode(mapper.map(response, type), type);
+      super.mapAndDecode(mapper, decoder);
+      return this;
+    }
+
+    /**
+     * Streams the elements of multi-valued publishers. The elements of the body are read while the
+     * subscriber requests them, on the thread requesting them.
+     *
+     * @param iteratorDecoder decoding {@link java.util.Iterator} types.
+     * @return a Builder for chaining.
+     * @see Builder#iteratorDecoder(Decoder)
+     */
+    public AsyncBuilder<C> iteratorDecoder(Decoder iteratorDecoder) {
+      this.iteratorDecoder = iteratorDecoder;
+      return this;
+    }
+
+    @Override
+    public AsyncBuilder<C> invocationHandlerFactory(
+                                                    InvocationHandlerFactory invocationHandlerFactory) {
+      throw new UnsupportedOperationException(
+          "Invocation Handler Factory overrides are not supported.");
+    }
+
+    @Override
+    public AsyncBuilder<C> methodInfoResolver(MethodInfoResolver methodInfoResolver) {
+      throw new UnsupportedOperationException("Method Info Resolver overrides are not supported.");
+    }
+
+    @Override
+    public AsyncBuilder<C> doNotCloseAfterDecode() {
+      throw new UnsupportedOperationException(
+          "Streaming Decoding is only supported through iteratorDecoder.");
+    }
+
+    @Override
+    public AsyncFeign<C> build() {
+      if (!(this.contract instanceof ReactiveDelegatingContract)) {
+        super.contract(new ReactiveDelegatingContract(this.contract, streamingTypes()));
+      } else {
+        super.contract(this.contract);
+      }
+      super.methodInfoResolver(new ReactiveMethodInfoResolver(streamingTypes()));
+      if (isStreaming()) {
+        super.decoder(new StreamingDecoder(iteratorDecoder, decoder));
+        super.doNotCloseAfterDecode();
+      }
+      return super.build();
+    }
+
+    @Override
+    public <T> T target(Target<T> target) {
+      return deferred(target.type(), super.target(target));
+    }
+
+    @Override
+    public <T> T target(Target<T> target, C context) {
+      return deferred(target.type(), super.target(target, context));
+    }
+
+    private <T> T deferred(Class<T> type, T instance) {
+      return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+          new DeferringInvocationHandler(instance, this::defer)));
+    }
+
+    boolean isStreaming() {
+      return iteratorDecoder != null;
+    }
+
+    private Predicate<Class<?>> streamingTypes() {
+      return isStreaming() ? this::isStreamingType : publisherType -> false;
+    }
+
+    /**
+     * Whether the elements of the {@code publisherType} are streamed, when an
+     * {@link #iteratorDecoder(Decoder)} is set.
+     */
+    abstract boolean isStreamingType(Class<?> publisherType);
+
+    /**
+     * Adapts the future of the decoded result to the return type of the {@code method}.
+     */
+    abstract Publisher<?> fromFuture(Method method, CompletableFuture<?> result);
+
+    /**
+     * Defers the {@code invocation} until the returned publisher is subscribed to.
+     */
+    abstract Publisher<?> defer(Method method, Supplier<Publisher<?>> invocation);
+  }
+
+  /**
+   * Resolves methods returning a {@link Publisher} as asynchronous, decoding to the published type.
+   */
+  static class ReactiveMethodInfoResolver implements MethodInfoResolver {
+
+    private final Predicate<Class<?>> streaming;
+
+    ReactiveMethodInfoResolver(Predicate<Class<?>> streaming) {
+      this.streaming = streaming;
+    }
+
+    @Override
+    public MethodInfo resolve(Class<?> targetType, Method method) {
+      if (!Publisher.class.isAssignableFrom(method.getReturnType())) {
+        return MethodInfoResolver.DEFAULT.resolve(targetType, method);
+      }
+      Type publishedType =
+          ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+      return new MethodInfo(Feign.configKey(targetType, method),
+          ReactiveDelegatingContract.returnType(method.getReturnType(), publishedType, streaming),
+          true);
     }
   }
 }
@@ -18,6 +18,7 @@ import feign.Target;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.reactivestreams.Publisher;
@@ -107,7 +108,12 @@ public abstract class ReactiveInvocationHandler implements InvocationHandler {
         if (!isTerminated()) {
           try {
             Object result = methodHandler.invoke(arguments);
-            if (null != result) {
+            if (isTerminated()) {
+              // cancelled meanwhile, so the elements of a streamed result are never read
+              if (result instanceof Iterator) {
+                StreamingDecoder.close((Iterator<?>) result);
+              }
+            } else if (null != result) {
               subscriber.onNext(result);
             }
           } catch (Throwable th) {
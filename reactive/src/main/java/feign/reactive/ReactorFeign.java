@@ -14,11 +14,18 @@
 package feign.reactive;
 
 import feign.Feign;
+import feign.codec.Decoder;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import feign.InvocationHandlerFactory;
 import feign.Target;
 
@@ -28,16 +35,29 @@ public class ReactorFeign extends ReactiveFeign {
     return new Builder();
   }
 
+  /**
+   * Builds clients that do not block a thread per request, see {@link ReactiveFeign.AsyncBuilder}.
+   */
+  public static <C> AsyncBuilder<C> asyncBuilder() {
+    return new AsyncBuilder<>();
+  }
+
   public static class Builder extends ReactiveFeign.Builder {
 
     private Scheduler scheduler = Schedulers.elastic();
 
     @Override
     public Feign build() {
-      super.invocationHandlerFactory(new ReactorInvocationHandlerFactory(scheduler));
+      super.invocationHandlerFactory(
+          new ReactorInvocationHandlerFactory(scheduler, isStreaming()));
       return super.build();
     }
 
+    @Override
+    boolean isStreamingType(Class<?> publisherType) {
+      return Flux.class.isAssignableFrom(publisherType);
+    }
+
     @Override
     public Builder invocationHandlerFactory(InvocationHandlerFactory invocationHandlerFactory) {
       throw new UnsupportedOperationException(
@@ -50,16 +70,73 @@ public class ReactorFeign extends ReactiveFeign {
     }
   }
 
+  public static class AsyncBuilder<C> extends ReactiveFeign.AsyncBuilder<C> {
+
+    @Override
+    public AsyncBuilder<C> iteratorDecoder(Decoder iteratorDecoder) {
+      super.iteratorDecoder(iteratorDecoder);
+      return this;
+    }
+
+    @Override
+    boolean isStreamingType(Class<?> publisherType) {
+      return Flux.class.isAssignableFrom(publisherType);
+    }
+
+    @Override
+    Publisher<?> fromFuture(Method method, CompletableFuture<?> result) {
+      // Mono.fromFuture leaves the future running when cancelled
+      Mono<?> mono = Mono.fromFuture(result).doOnCancel(() -> result.cancel(true));
+      if (Flux.class.isAssignableFrom(method.getReturnType())) {
+        return isStreaming() ? streamed(mono) : Flux.from(mono);
+      } else if (Mono.class.isAssignableFrom(method.getReturnType())) {
+        return mono;
+      }
+      throw new IllegalArgumentException(
+          "Return type " + method.getReturnType().getName() + " is not supported");
+    }
+
+    @Override
+    Publisher<?> defer(Method method, Supplier<Publisher<?>> invocation) {
+      if (Flux.class.isAssignableFrom(method.getReturnType())) {
+        return Flux.defer(() -> Flux.from(invocation.get()));
+      }
+      return Mono.defer(() -> Mono.from(invocation.get()));
+    }
+  }
+
+  /**
+   * Emits the elements of the {@link Iterator} decoded by {@code invocation}. Iterators decoded
+   * after the subscriber cancelled are closed, rather than dropped with their response open.
+   */
+  static Flux<?> streamed(Mono<?> invocation) {
+    return invocation
+        .doOnDiscard(Iterator.class, StreamingDecoder::close)
+        .flatMapMany(ReactorFeign::elements);
+  }
+
+  /**
+   * Emits the elements of a decoded {@link Iterator} as they are requested, closing it once
+   * complete, failed or cancelled.
+   */
+  private static Flux<?> elements(Object decoded) {
+    Iterator<?> elements = (Iterator<?>) decoded;
+    return Flux.fromIterable(() -> elements)
+        .doFinally(signal -> StreamingDecoder.close(elements));
+  }
+
   private static class ReactorInvocationHandlerFactory implements InvocationHandlerFactory {
     private final Scheduler scheduler;
+    private final boolean streaming;
 
-    private ReactorInvocationHandlerFactory(Scheduler scheduler) {
+    private ReactorInvocationHandlerFactory(Scheduler scheduler, boolean streaming) {
       this.scheduler = scheduler;
+      this.streaming = streaming;
     }
 
     @Override
     public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
-      return new ReactorInvocationHandler(target, dispatch, scheduler);
+      return new ReactorInvocationHandler(target, dispatch, scheduler, streaming);
     }
   }
 }
@@ -24,18 +24,30 @@ import reactor.core.scheduler.Scheduler;
 
 public class ReactorInvocationHandler extends ReactiveInvocationHandler {
   private final Scheduler scheduler;
+  private final boolean streaming;
 
   ReactorInvocationHandler(Target<?> target,
       Map<Method, MethodHandler> dispatch,
       Scheduler scheduler) {
+    this(target, dispatch, scheduler, false);
+  }
+
+  ReactorInvocationHandler(Target<?> target,
+      Map<Method, MethodHandler> dispatch,
+      Scheduler scheduler,
+      boolean streaming) {
     super(target, dispatch);
     this.scheduler = scheduler;
+    this.streaming = streaming;
   }
 
   @Override
   protected Publisher invoke(Method method, MethodHandler methodHandler, Object[] arguments) {
     Publisher<?> invocation = this.invokeMethod(methodHandler, arguments);
     if (Flux.class.isAssignableFrom(method.getReturnType())) {
+      if (streaming) {
+        return ReactorFeign.streamed(Mono.from(invocation)).subscribeOn(scheduler);
+      }
       return Flux.from(invocation).subscribeOn(scheduler);
     } else if (Mono.class.isAssignableFrom(method.getReturnType())) {
       return Mono.from(invocation).subscribeOn(scheduler);
@@ -15,10 +15,18 @@ package feign.reactive;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
 import feign.Feign;
+import feign.codec.Decoder;
 import feign.InvocationHandlerFactory;
 import feign.Target;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
 
@@ -28,16 +36,28 @@ public class RxJavaFeign extends ReactiveFeign {
     return new Builder();
   }
 
+  /**
+   * Builds clients that do not block a thread per request, see {@link ReactiveFeign.AsyncBuilder}.
+   */
+  public static <C> AsyncBuilder<C> asyncBuilder() {
+    return new AsyncBuilder<>();
+  }
+
   public static class Builder extends ReactiveFeign.Builder {
 
     private Scheduler scheduler = Schedulers.trampoline();
 
     @Override
     public Feign build() {
-      super.invocationHandlerFactory(new RxJavaInvocationHandlerFactory(scheduler));
+      super.invocationHandlerFactory(new RxJavaInvocationHandlerFactory(scheduler, isStreaming()));
       return super.build();
     }
 
+    @Override
+    boolean isStreamingType(Class<?> publisherType) {
+      return Flowable.class.isAssignableFrom(publisherType);
+    }
+
     @Override
     public Builder invocationHandlerFactory(InvocationHandlerFactory invocationHandlerFactory) {
       throw new UnsupportedOperationException(
@@ -50,16 +70,88 @@ public class RxJavaFeign extends ReactiveFeign {
     }
   }
 
+  public static class AsyncBuilder<C> extends ReactiveFeign.AsyncBuilder<C> {
+
+    @Override
+    public AsyncBuilder<C> iteratorDecoder(Decoder iteratorDecoder) {
+      super.iteratorDecoder(iteratorDecoder);
+      return this;
+    }
+
+    @Override
+    boolean isStreamingType(Class<?> publisherType) {
+      return Flowable.class.isAssignableFrom(publisherType);
+    }
+
+    @Override
+    Publisher<?> fromFuture(Method method, CompletableFuture<?> result) {
+      Flowable<?> flowable = fromFuture(result);
+      return isStreaming() ? streamed(flowable) : flowable;
+    }
+
+    private static Flowable<?> fromFuture(CompletableFuture<?> result) {
+      // unlike Flowable.fromFuture, does not block until the future completes
+      return Flowable.create(emitter -> {
+        emitter.setCancellable(() -> result.cancel(true));
+        result.whenComplete((value, error) -> {
+          if (error != null) {
+            emitter.onError(
+                error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error);
+            return;
+          }
+          if (emitter.isCancelled()) {
+            // the elements of a streamed result are never read
+            if (value instanceof Iterator) {
+              StreamingDecoder.close((Iterator<?>) value);
+            }
+            return;
+          }
+          if (value != null) {
+            emitter.onNext(value);
+          }
+          emitter.onComplete();
+        });
+      }, BackpressureStrategy.BUFFER);
+    }
+
+    @Override
+    Publisher<?> defer(Method method, Supplier<Publisher<?>> invocation) {
+      return Flowable.defer(invocation::get);
+    }
+  }
+
+  /**
+   * Emits the elements of the {@link Iterator} decoded by {@code invocation}. The elements are
+   * subscribed to as soon as it is decoded, so cancelling then closes it.
+   */
+  static Flowable<?> streamed(Flowable<?> invocation) {
+    return invocation.singleElement().flatMapPublisher(RxJavaFeign::elements);
+  }
+
+  /**
+   * Emits the elements of a decoded {@link Iterator} as they are requested, closing it once
+   * complete, failed or cancelled.
+   */
+  private static Flowable<?> elements(Object decoded) {
+    Iterator<?> elements = (Iterator<?>) decoded;
+    return Flowable.fromIterable(() -> elements)
+        .doFinally(() -> StreamingDecoder.close(elements));
+  }
+
   private static class RxJavaInvocationHandlerFactory implements InvocationHandlerFactory {
     private final Scheduler scheduler;
+    private final boolean streaming;
 
-    private RxJavaInvocationHandlerFactory(Scheduler scheduler) {
+    private RxJavaInvocationHandlerFactory(Scheduler scheduler, boolean streaming) {
       this.scheduler = scheduler;
+      this.streaming = streaming;
     }
 
     @Override
     public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
-      return new RxJavaInvocationHandler(target, dispatch, scheduler);
+      return new RxJavaInvocationHandler(target, dispatch, scheduler, streaming);
     }
   }
 
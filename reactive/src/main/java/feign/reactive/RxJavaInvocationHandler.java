@@ -23,17 +23,30 @@ import org.reactivestreams.Publisher;
 
 public class RxJavaInvocationHandler extends ReactiveInvocationHandler {
   private final Scheduler scheduler;
+  private final boolean streaming;
 
   RxJavaInvocationHandler(Target<?> target,
       Map<Method, MethodHandler> dispatch,
       Scheduler scheduler) {
+    this(target, dispatch, scheduler, false);
+  }
+
+  RxJavaInvocationHandler(Target<?> target,
+      Map<Method, MethodHandler> dispatch,
+      Scheduler scheduler,
+      boolean streaming) {
     super(target, dispatch);
     this.scheduler = scheduler;
+    this.streaming = streaming;
   }
 
   @Override
   protected Publisher invoke(Method method, MethodHandler methodHandler, Object[] arguments) {
-    return Flowable.fromPublisher(this.invokeMethod(methodHandler, arguments))
-        .observeOn(scheduler);
+    Flowable<?> invocation = Flowable.fromPublisher(this.invokeMethod(methodHandler, arguments));
+    if (streaming) {
+      // observeOn would read ahead of the subscriber's requests to fill its buffer
+      return RxJavaFeign.streamed(invocation).subscribeOn(scheduler);
+    }
+    return invocation.observeOn(scheduler);
   }
 }
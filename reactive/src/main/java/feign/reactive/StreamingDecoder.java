@@ -0,0 +1,104 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive;
+
+import static feign.Util.ensureClosed;
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Decodes the bodies of streaming methods, resolved to an {@link ElementsType}, with an iterator
+ * decoder that reads elements as they are requested. Other bodies are decoded by the delegate, and
+ * closed as usual.
+ */
+class StreamingDecoder implements Decoder {
+
+  private final Decoder iteratorDecoder;
+  private final Decoder delegate;
+
+  StreamingDecoder(Decoder iteratorDecoder, Decoder delegate) {
+    this.iteratorDecoder = iteratorDecoder;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (type instanceof ElementsType) {
+      // left open until the elements are consumed or the subscription is cancelled
+      return iteratorDecoder.decode(response, type);
+    }
+    try {
+      return delegate.decode(response, type);
+    } finally {
+      ensureClosed(response.body());
+    }
+  }
+
+  /**
+   * Releases the response of partially consumed elements.
+   */
+  static void close(Iterator<?> elements) {
+    if (elements instanceof Closeable) {
+      ensureClosed((Closeable) elements);
+    }
+  }
+
+  /**
+   * {@code Iterator<T>}, for the elements of a streaming publisher of {@code T}.
+   */
+  static final class ElementsType implements ParameterizedType {
+
+    private final Type elementType;
+
+    ElementsType(Type elementType) {
+      this.elementType = elementType;
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+      return new Type[] {elementType};
+    }
+
+    @Override
+    public Type getRawType() {
+      return Iterator.class;
+    }
+
+    @Override
+    public Type getOwnerType() {
+      return null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof ElementsType && elementType.equals(((ElementsType) obj).elementType);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(getActualTypeArguments());
+    }
+
+    @Override
+    public String toString() {
+      return Iterator.class.getName() + "<" + elementType.getTypeName() + ">";
+    }
+  }
+}
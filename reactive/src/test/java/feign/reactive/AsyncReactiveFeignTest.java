@@ -0,0 +1,217 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import feign.AsyncClient;
+import feign.FeignException;
+import feign.Param;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.hc5.AsyncApacheHttp5Client;
+import feign.jackson.JacksonDecoder;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class AsyncReactiveFeignTest {
+
+  @Rule
+  public final MockWebServer webServer = new MockWebServer();
+
+  private String getServerUrl() {
+    return "http://localhost:" + this.webServer.getPort();
+  }
+
+  interface TestReactorService {
+    @RequestLine("GET /version")
+    Mono<String> version();
+
+    @RequestLine("GET /users/{username}")
+    Flux<User> user(@Param("username") String username);
+  }
+
+  interface TestReactiveXService {
+    @RequestLine("GET /version")
+    Flowable<String> version();
+  }
+
+  static class User {
+    private String username;
+
+    public String getUsername() {
+      return username;
+    }
+  }
+
+  @Test
+  public void reactorWithAsyncClient() throws Exception {
+    webServer.enqueue(new MockResponse().setBody("1.0"));
+    webServer.enqueue(new MockResponse().setBody("{ \"username\": \"test\" }"));
+
+    TestReactorService service = ReactorFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .decoder(new JacksonDecoder())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.version())
+        .expectNext("1.0")
+        .expectComplete()
+        .verify();
+    assertThat(webServer.takeRequest().getPath()).isEqualTo("/version");
+
+    StepVerifier.create(service.user("test"))
+        .assertNext(user -> assertThat(user.getUsername()).isEqualTo("test"))
+        .expectComplete()
+        .verify();
+    assertThat(webServer.takeRequest().getPath()).isEqualTo("/users/test");
+  }
+
+  @Test
+  public void sendsRequestOnEachSubscription() {
+    webServer.enqueue(new MockResponse().setBody("1.0"));
+    webServer.enqueue(new MockResponse().setBody("2.0"));
+
+    TestReactorService service = ReactorFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactorService.class, getServerUrl());
+
+    Mono<String> version = service.version();
+    assertThat(webServer.getRequestCount()).isZero();
+
+    StepVerifier.create(version).expectNext("1.0").verifyComplete();
+    StepVerifier.create(version).expectNext("2.0").verifyComplete();
+    assertThat(webServer.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void doesNotBlockWhileRequestIsInFlight() {
+    AtomicReference<CompletableFuture<Response>> inFlight = new AtomicReference<>();
+    AsyncClient<Void> client = (request, options, context) -> {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      inFlight.set(response);
+      return response;
+    };
+
+    TestReactorService service = ReactorFeign.<Void>asyncBuilder()
+        .client(client)
+        .target(TestReactorService.class, getServerUrl());
+
+    AtomicReference<String> result = new AtomicReference<>();
+    service.version().subscribe(result::set);
+
+    // subscribe returned on this thread, while the request is still pending
+    assertThat(inFlight.get()).isNotNull();
+    assertThat(result.get()).isNull();
+
+    inFlight.get().complete(Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(feign.Request.create(feign.Request.HttpMethod.GET, "/version",
+            Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body("1.0", Util.UTF_8)
+        .build());
+    assertThat(result.get()).isEqualTo("1.0");
+  }
+
+  @Test
+  public void disposingCancelsRequestInFlight() {
+    AtomicReference<CompletableFuture<Response>> inFlight = new AtomicReference<>();
+    AsyncClient<Void> client = (request, options, context) -> {
+      CompletableFuture<Response> response = new CompletableFuture<>();
+      inFlight.set(response);
+      return response;
+    };
+
+    TestReactorService service = ReactorFeign.<Void>asyncBuilder()
+        .client(client)
+        .target(TestReactorService.class, getServerUrl());
+
+    service.version().subscribe().dispose();
+
+    assertThat(inFlight.get()).isCancelled();
+  }
+
+  @Test
+  public void errorsAreSignalled() {
+    webServer.enqueue(new MockResponse().setResponseCode(500));
+
+    TestReactorService service = ReactorFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.version())
+        .expectError(FeignException.class)
+        .verify();
+  }
+
+  @Test
+  public void rxJavaWithAsyncClient() throws Exception {
+    webServer.enqueue(new MockResponse().setBody("1.0"));
+
+    TestReactiveXService service = RxJavaFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactiveXService.class, getServerUrl());
+
+    Flowable<String> version = service.version();
+    assertThat(webServer.getRequestCount()).isZero();
+
+    TestSubscriber<String> subscriber = version.test();
+    subscriber.await();
+    subscriber.assertValue("1.0").assertComplete();
+  }
+
+  @Test
+  public void rxJavaErrorsAreSignalled() throws Exception {
+    webServer.enqueue(new MockResponse().setResponseCode(404));
+
+    TestReactiveXService service = RxJavaFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactiveXService.class, getServerUrl());
+
+    TestSubscriber<String> subscriber = service.version().test();
+    subscriber.await();
+    subscriber.assertError(FeignException.NotFound.class);
+  }
+
+  @Test
+  public void equalsAndHashCode() {
+    TestReactorService service = ReactorFeign.<Void>asyncBuilder()
+        .target(TestReactorService.class, getServerUrl());
+
+    assertThat(service).isEqualTo(service);
+    assertThat(service.hashCode()).isEqualTo(service.hashCode());
+    assertThat(service.toString()).isNotNull();
+  }
+
+  @Test
+  public void invocationHandlerFactoryIsNotSupported() {
+    assertThatThrownBy(() -> ReactorFeign.<Void>asyncBuilder()
+        .invocationHandlerFactory((target, dispatch) -> null))
+            .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
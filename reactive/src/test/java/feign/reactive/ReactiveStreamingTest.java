@@ -0,0 +1,299 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import feign.AsyncClient;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.hc5.AsyncApacheHttp5Client;
+import feign.jackson.JacksonDecoder;
+import feign.jackson.JacksonIteratorDecoder;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.junit.Rule;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class ReactiveStreamingTest {
+
+  @Rule
+  public final MockWebServer webServer = new MockWebServer();
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final AtomicInteger read = new AtomicInteger();
+
+  private String getServerUrl() {
+    return "http://localhost:" + this.webServer.getPort();
+  }
+
+  interface TestReactorService {
+    @RequestLine("GET /numbers")
+    Flux<Integer> numbers();
+
+    @RequestLine("GET /numbers")
+    Mono<List<Integer>> numberList();
+  }
+
+  interface TestReactiveXService {
+    @RequestLine("GET /numbers")
+    Flowable<Integer> numbers();
+  }
+
+  @Test
+  public void fluxEmitsArrayElements() {
+    webServer.enqueue(new MockResponse().setBody("[1, 2, 3]"));
+
+    TestReactorService service = ReactorFeign.builder()
+        .iteratorDecoder(trackingIteratorDecoder())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.numbers())
+        .expectNext(1, 2, 3)
+        .verifyComplete();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void fluxReadsElementsOnRequest() {
+    webServer.enqueue(new MockResponse().setBody(numbers(10_000)));
+
+    TestReactorService service = ReactorFeign.builder()
+        .scheduleOn(Schedulers.immediate())
+        .iteratorDecoder(trackingIteratorDecoder())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.numbers(), 2)
+        .expectNext(0, 1)
+        .thenCancel()
+        .verify();
+    assertThat(read.get()).isLessThan(10);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void monoIsDecodedWithDelegate() {
+    webServer.enqueue(new MockResponse().setBody("[1, 2, 3]"));
+
+    TestReactorService service = ReactorFeign.builder()
+        .decoder(new JacksonDecoder())
+        .iteratorDecoder(trackingIteratorDecoder())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.numberList())
+        .assertNext(numbers -> assertThat(numbers).containsExactly(1, 2, 3))
+        .verifyComplete();
+    assertThat(read.get()).isZero();
+  }
+
+  @Test
+  public void fluxWithoutIteratorDecoderEmitsBody() {
+    webServer.enqueue(new MockResponse().setBody("1"));
+
+    TestReactorService service = ReactorFeign.builder()
+        .decoder(new JacksonDecoder())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.numbers())
+        .expectNext(1)
+        .verifyComplete();
+  }
+
+  @Test
+  public void flowableReadsElementsOnRequest() {
+    webServer.enqueue(new MockResponse().setBody(numbers(10_000)));
+
+    TestReactiveXService service = RxJavaFeign.builder()
+        .iteratorDecoder(trackingIteratorDecoder())
+        .target(TestReactiveXService.class, getServerUrl());
+
+    TestSubscriber<Integer> subscriber = service.numbers().test(2);
+    subscriber.awaitCount(2);
+    subscriber.assertValues(0, 1);
+    subscriber.cancel();
+    assertThat(read.get()).isLessThan(10);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void flowableClosesElementsDecodedAfterCancel() throws Exception {
+    webServer.enqueue(new MockResponse().setBody("[1, 2, 3]")
+        .setHeadersDelay(100, TimeUnit.MILLISECONDS));
+
+    TestReactiveXService service = RxJavaFeign.builder()
+        .scheduleOn(io.reactivex.schedulers.Schedulers.io())
+        .iteratorDecoder(trackingIteratorDecoder())
+        .target(TestReactiveXService.class, getServerUrl());
+
+    TestSubscriber<Integer> subscriber = service.numbers().test();
+    webServer.takeRequest();
+    subscriber.cancel();
+
+    awaitClosed();
+    subscriber.assertNoValues();
+  }
+
+  @Test
+  public void asyncFluxClosesResponseDecodedAfterCancel() throws Exception {
+    CountDownLatch decoding = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    AsyncClient<Void> client = (request, options, context) -> CompletableFuture.supplyAsync(
+        () -> Response.builder()
+            .status(200)
+            .reason("OK")
+            .request(request)
+            .headers(Collections.emptyMap())
+            .body(new ByteArrayInputStream("[1, 2, 3]".getBytes(Util.UTF_8)) {
+              @Override
+              public void close() throws IOException {
+                closed.set(true);
+                super.close();
+              }
+            }, 9)
+            .build());
+    Decoder iteratorDecoder = (response, type) -> {
+      decoding.countDown();
+      try {
+        cancelled.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      return JacksonIteratorDecoder.create().decode(response, type);
+    };
+
+    TestReactorService service = ReactorFeign.<Void>asyncBuilder()
+        .iteratorDecoder(iteratorDecoder)
+        .client(client)
+        .target(TestReactorService.class, getServerUrl());
+
+    Disposable subscription = service.numbers().subscribe();
+    assertThat(decoding.await(5, TimeUnit.SECONDS)).isTrue();
+    subscription.dispose();
+    cancelled.countDown();
+
+    awaitClosed();
+  }
+
+  @Test
+  public void asyncFluxEmitsArrayElements() {
+    webServer.enqueue(new MockResponse().setBody(numbers(10_000)));
+
+    TestReactorService service = ReactorFeign.<HttpClientContext>asyncBuilder()
+        .iteratorDecoder(trackingIteratorDecoder())
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactorService.class, getServerUrl());
+
+    StepVerifier.create(service.numbers().take(3))
+        .expectNext(0, 1, 2)
+        .verifyComplete();
+    assertThat(read.get()).isLessThan(10);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void asyncFlowableEmitsArrayElements() {
+    webServer.enqueue(new MockResponse().setBody("[1, 2, 3]"));
+
+    TestReactiveXService service = RxJavaFeign.<HttpClientContext>asyncBuilder()
+        .iteratorDecoder(trackingIteratorDecoder())
+        .client(new AsyncApacheHttp5Client())
+        .target(TestReactiveXService.class, getServerUrl());
+
+    service.numbers().test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValues(1, 2, 3)
+        .assertComplete();
+    assertThat(closed).isTrue();
+  }
+
+  private void awaitClosed() throws InterruptedException {
+    for (int i = 0; i < 50 && !closed.get(); i++) {
+      Thread.sleep(100);
+    }
+    assertThat(closed).isTrue();
+  }
+
+  private static String numbers(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(String::valueOf)
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+
+  /**
+   * Records when elements are read, and when the response is closed.
+   */
+  private Decoder trackingIteratorDecoder() {
+    Decoder delegate = JacksonIteratorDecoder.create();
+    return (response, type) -> {
+      Response tracked = response.toBuilder()
+          .body(new FilterInputStream(response.body().asInputStream()) {
+            @Override
+            public void close() throws IOException {
+              closed.set(true);
+              super.close();
+            }
+          }, response.body().length())
+          .build();
+      return new CountingIterator<>((Iterator<?>) delegate.decode(tracked, type));
+    };
+  }
+
+  private class CountingIterator<T> implements Iterator<T>, Closeable {
+
+    private final Iterator<T> delegate;
+
+    CountingIterator(Iterator<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public T next() {
+      read.incrementAndGet();
+      return delegate.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ((Closeable) delegate).close();
+    }
+  }
+}
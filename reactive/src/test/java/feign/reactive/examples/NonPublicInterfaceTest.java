@@ -0,0 +1,74 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.reactive.examples;
+
+import feign.RequestLine;
+import feign.hc5.AsyncApacheHttp5Client;
+import feign.reactive.ReactorFeign;
+import feign.reactive.RxJavaFeign;
+import io.reactivex.Flowable;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.junit.Rule;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * Interfaces declared outside of {@code feign.reactive} are not accessible to it reflectively.
+ */
+public class NonPublicInterfaceTest {
+
+  @Rule
+  public final MockWebServer webServer = new MockWebServer();
+
+  interface ReactorService {
+    @RequestLine("GET /version")
+    Mono<String> version();
+  }
+
+  interface ReactiveXService {
+    @RequestLine("GET /version")
+    Flowable<String> version();
+  }
+
+  @Test
+  public void reactorWithAsyncClient() {
+    webServer.enqueue(new MockResponse().setBody("1.0"));
+
+    ReactorService service = ReactorFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(ReactorService.class, webServer.url("/").toString());
+
+    StepVerifier.create(service.version())
+        .expectNext("1.0")
+        .verifyComplete();
+  }
+
+  @Test
+  public void rxJavaWithAsyncClient() {
+    webServer.enqueue(new MockResponse().setBody("1.0"));
+
+    ReactiveXService service = RxJavaFeign.<HttpClientContext>asyncBuilder()
+        .client(new AsyncApacheHttp5Client())
+        .target(ReactiveXService.class, webServer.url("/").toString());
+
+    service.version().test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValue("1.0")
+        .assertComplete();
+  }
+}
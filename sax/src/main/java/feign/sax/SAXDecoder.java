@@ -17,7 +17,6 @@ import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.XMLReaderFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
@@ -27,6 +26,7 @@ import java.util.Map;
 import feign.Response;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import static feign.Util.checkArgument;
 import static feign.Util.checkNotNull;
 import static feign.Util.checkState;
 import static feign.Util.ensureClosed;
@@ -45,13 +45,18 @@ import static feign.Util.resolveLastTypeParameter;
  *         .build())
  *     .target(MyApi.class, "http://api");
  * </pre>
+ *
+ * {@link XMLReader Readers} are configured once and reused across responses.
  */
 public class SAXDecoder implements Decoder {
 
   private final Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories;
+  private final XMLReaderPool xmlReaders;
 
-  private SAXDecoder(Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories) {
+  private SAXDecoder(Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories,
+      XMLReaderPool xmlReaders) {
     this.handlerFactories = handlerFactories;
+    this.xmlReaders = xmlReaders;
   }
 
   public static Builder builder() {
@@ -67,14 +72,7 @@ public class SAXDecoder implements Decoder {
         handlerFactories.keySet());
     ContentHandlerWithResult<?> handler = handlerFactory.create();
     try {
-      XMLReader xmlReader = XMLReaderFactory.createXMLReader();
-      xmlReader.setFeature("http://xml.org/sax/features/namespaces", false);
-      xmlReader.setFeature("http://xml.org/sax/features/validation", false);
-      /* Explicitly control sax configuration to prevent XXE attacks */
-      xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
-      xmlReader.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-      xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-      xmlReader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+      XMLReader xmlReader = xmlReaders.acquire();
       xmlReader.setContentHandler(handler);
       InputStream inputStream = response.body().asInputStream();
       try {
@@ -82,6 +80,7 @@ public class SAXDecoder implements Decoder {
       } finally {
         ensureClosed(inputStream);
       }
+      xmlReaders.release(xmlReader);
       return handler.result();
     } catch (SAXException e) {
       throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
@@ -108,6 +107,7 @@ public class SAXDecoder implements Decoder {
 
     private final Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories =
         new LinkedHashMap<Type, ContentHandlerWithResult.Factory<?>>();
+    private int parserPoolSize = XMLReaderPool.defaultSize();
 
     /**
      * Will call {@link Constructor#newInstance(Object...)} on {@code handlerClass} for each content
@@ -137,16 +137,26 @@ public class SAXDecoder implements Decoder {
       return this;
     }
 
+    /**
+     * Maximum number of idle {@link XMLReader readers} kept for reuse. Defaults to twice the number
+     * of processors.
+     */
+    public Builder parserPoolSize(int parserPoolSize) {
+      checkArgument(parserPoolSize > 0, "parserPoolSize must be positive");
+      this.parserPoolSize = parserPoolSize;
+      return this;
+    }
+
     public SAXDecoder build() {
-      return new SAXDecoder(handlerFactories);
+      return new SAXDecoder(handlerFactories, new XMLReaderPool(parserPoolSize));
     }
 
-    private static class NewInstanceContentHandlerWithResultFactory<T>
+    static class NewInstanceContentHandlerWithResultFactory<T>
         implements ContentHandlerWithResult.Factory<T> {
 
       private final Constructor<ContentHandlerWithResult<T>> ctor;
 
-      private NewInstanceContentHandlerWithResultFactory(Class<ContentHandlerWithResult<T>> clazz) {
+      NewInstanceContentHandlerWithResultFactory(Class<ContentHandlerWithResult<T>> clazz) {
         try {
           this.ctor = clazz.getDeclaredConstructor();
           // allow private or package protected ctors
@@ -0,0 +1,303 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.sax;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.sax.SAXDecoder.Builder.NewInstanceContentHandlerWithResultFactory;
+import feign.sax.SAXDecoder.ContentHandlerWithResult;
+import static feign.Util.checkNotNull;
+import static feign.Util.checkState;
+import static feign.Util.ensureClosed;
+import static feign.Util.resolveLastTypeParameter;
+
+/**
+ * Decodes each occurrence of a repeating element into an element of an {@code Iterator}, so large
+ * documents are never held in memory as a whole. A new {@link ContentHandlerWithResult handler}
+ * receives the events of each occurrence, as if it was a document of its own. <br>
+ * <h4>Example</h4> <br>
+ *
+ * <pre>
+ * api = Feign.builder()
+ *     .decoder(StreamDecoder.create(SAXIteratorDecoder.builder()
+ *         .registerContentHandler("member", MemberHandler.class)
+ *         .build()))
+ *     .doNotCloseAfterDecode() // Required for iterators and streams
+ *     .target(MyApi.class, "http://api");
+ *
+ * interface MyApi {
+ *   &#64;RequestLine("GET /members")
+ *   Stream&lt;Member&gt; members();
+ * }
+ * </pre>
+ *
+ * The document is read with a StAX {@link XMLStreamReader}, one element at a time as the iterator
+ * is consumed and on the consuming thread, and its events are passed to the handlers as SAX events.
+ * Unlike {@link SAXDecoder}, this requires {@code javax.xml.stream}, which Android lacks. Iterators
+ * close the response once the document is exhausted; close iterators and streams you don't read to
+ * the end.
+ */
+public final class SAXIteratorDecoder implements Decoder {
+
+  // stands for elements decoded to null, which still count as elements
+  private static final Object NULL = new Object();
+
+  private final Map<Type, ElementHandler> handlers;
+  private final XMLInputFactory xmlInputFactory;
+
+  private SAXIteratorDecoder(Builder builder) {
+    this.handlers = builder.handlers;
+    this.xmlInputFactory = XMLInputFactory.newInstance();
+    // like the readers of SAXDecoder
+    xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    /* Explicitly control StAX configuration to prevent XXE attacks */
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException, DecodeException {
+    if (response.body() == null)
+      return null;
+    final Type elementType = actualIteratorTypeArgument(type);
+    final ElementHandler handler = handlers.get(elementType);
+    checkState(handler != null, "type %s not in configured handlers %s", elementType,
+        handlers.keySet());
+    return new ElementIterator<Object>(response, handler);
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  private static final class ElementHandler {
+
+    private final String elementName;
+    private final ContentHandlerWithResult.Factory<?> factory;
+
+    private ElementHandler(String elementName, ContentHandlerWithResult.Factory<?> factory) {
+      this.elementName = elementName;
+      this.factory = factory;
+    }
+  }
+
+  private final class ElementIterator<T> implements Iterator<T>, Closeable {
+
+    private final Response response;
+    private final ElementHandler handler;
+    private XMLStreamReader reader;
+    private boolean closed;
+    private Object next;
+
+    private ElementIterator(Response response, ElementHandler handler) {
+      this.response = response;
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !closed) {
+        boolean decoded = false;
+        try {
+          next = advance();
+          decoded = true;
+        } catch (SAXException | XMLStreamException | IOException | RuntimeException e) {
+          throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+        } finally {
+          if (!decoded || next == null) {
+            close();
+          }
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final Object item = next;
+      next = null;
+      return item == NULL ? null : (T) item;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads up to the end of the next occurrence of the element.
+     *
+     * @return {@code null} once the document is exhausted.
+     */
+    private Object advance() throws SAXException, XMLStreamException, IOException {
+      if (reader == null) {
+        reader = xmlInputFactory.createXMLStreamReader(response.body().asInputStream());
+      }
+      while (reader.hasNext()) {
+        if (reader.next() == XMLStreamConstants.START_ELEMENT
+            && handler.elementName.equals(qName())) {
+          final Object result = decodeElement();
+          return result != null ? result : NULL;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Passes the events of the element the reader is on to a new handler, leaving the reader on its
+     * end.
+     */
+    private Object decodeElement() throws SAXException, XMLStreamException {
+      final ContentHandlerWithResult<?> current = handler.factory.create();
+      current.startDocument();
+      int depth = 0;
+      while (true) {
+        switch (reader.getEventType()) {
+          case XMLStreamConstants.START_ELEMENT:
+            depth++;
+            current.startElement("", "", qName(), attributes());
+            break;
+          case XMLStreamConstants.END_ELEMENT:
+            current.endElement("", "", qName());
+            if (--depth == 0) {
+              current.endDocument();
+              return current.result();
+            }
+            break;
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.CDATA:
+            current.characters(reader.getTextCharacters(), reader.getTextStart(),
+                reader.getTextLength());
+            break;
+          case XMLStreamConstants.SPACE:
+            current.ignorableWhitespace(reader.getTextCharacters(), reader.getTextStart(),
+                reader.getTextLength());
+            break;
+          default:
+            break;
+        }
+        reader.next();
+      }
+    }
+
+    /**
+     * Names as reported by SAX readers without namespace processing, including their prefix.
+     */
+    private String qName() {
+      final String prefix = reader.getPrefix();
+      return prefix == null || prefix.isEmpty()
+          ? reader.getLocalName()
+          : prefix + ':' + reader.getLocalName();
+    }
+
+    private AttributesImpl attributes() {
+      final AttributesImpl attributes = new AttributesImpl();
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        final String prefix = reader.getAttributePrefix(i);
+        final String name = prefix == null || prefix.isEmpty()
+            ? reader.getAttributeLocalName(i)
+            : prefix + ':' + reader.getAttributeLocalName(i);
+        attributes.addAttribute("", "", name, reader.getAttributeType(i),
+            reader.getAttributeValue(i));
+      }
+      return attributes;
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      next = null;
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException ignored) {
+        }
+      }
+      ensureClosed(response);
+    }
+  }
+
+  public static class Builder {
+
+    private final Map<Type, ElementHandler> handlers = new LinkedHashMap<Type, ElementHandler>();
+
+    /**
+     * Will call {@link java.lang.reflect.Constructor#newInstance(Object...)} on
+     * {@code handlerClass} for each occurrence of {@code elementName}.
+     *
+     * @param elementName qualified name of the repeating element, including its prefix if any.
+     * @throws IllegalArgumentException if there's no no-arg constructor on {@code handlerClass}.
+     */
+    public <T extends ContentHandlerWithResult<?>> Builder registerContentHandler(
+                                                                                  String elementName,
+                                                                                  Class<T> handlerClass) {
+      Type type =
+          resolveLastTypeParameter(checkNotNull(handlerClass, "handlerClass"),
+              ContentHandlerWithResult.class);
+      return registerContentHandler(type, elementName,
+          new NewInstanceContentHandlerWithResultFactory(handlerClass));
+    }
+
+    /**
+     * Will call {@link ContentHandlerWithResult.Factory#create()} on {@code handler} for each
+     * occurrence of {@code elementName}, decoding {@code Iterator<type>}.
+     */
+    public Builder registerContentHandler(Type type,
+                                          String elementName,
+                                          ContentHandlerWithResult.Factory<?> handler) {
+      this.handlers.put(checkNotNull(type, "type"),
+          new ElementHandler(checkNotNull(elementName, "elementName"),
+              checkNotNull(handler, "handler")));
+      return this;
+    }
+
+    public SAXIteratorDecoder build() {
+      return new SAXIteratorDecoder(this);
+    }
+  }
+}
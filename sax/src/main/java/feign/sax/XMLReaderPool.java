@@ -0,0 +1,69 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.sax;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.XMLReaderFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of configured {@link XMLReader readers}. Creating a reader looks up the SAX
+ * implementation and sets its features, which costs more than parsing a small response. Readers can
+ * parse many documents, but only one at a time.
+ */
+final class XMLReaderPool {
+
+  private static final ContentHandler NO_HANDLER = new DefaultHandler();
+
+  private final BlockingQueue<XMLReader> readers;
+
+  XMLReaderPool(int size) {
+    this.readers = new ArrayBlockingQueue<XMLReader>(size);
+  }
+
+  static int defaultSize() {
+    return Runtime.getRuntime().availableProcessors() * 2;
+  }
+
+  XMLReader acquire() throws SAXException {
+    XMLReader xmlReader = readers.poll();
+    return xmlReader != null ? xmlReader : create();
+  }
+
+  /**
+   * Returns a reader that parsed a document successfully. Readers that failed are dropped, as they
+   * may be left in an inconsistent state.
+   */
+  void release(XMLReader xmlReader) {
+    // don't hold on to the handler and its result
+    xmlReader.setContentHandler(NO_HANDLER);
+    readers.offer(xmlReader);
+  }
+
+  private static XMLReader create() throws SAXException {
+    XMLReader xmlReader = XMLReaderFactory.createXMLReader();
+    xmlReader.setFeature("http://xml.org/sax/features/namespaces", false);
+    xmlReader.setFeature("http://xml.org/sax/features/validation", false);
+    /* Explicitly control sax configuration to prevent XXE attacks */
+    xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
+    xmlReader.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+    xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
+    xmlReader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+    return xmlReader;
+  }
+}
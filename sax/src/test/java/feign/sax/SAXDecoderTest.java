@@ -19,6 +19,7 @@ import feign.Util;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 import java.io.IOException;
 import java.text.ParseException;
@@ -105,6 +106,16 @@ public class SAXDecoderTest {
     assertThat((byte[]) decoder.decode(response, byte[].class)).isNull();
   }
 
+  @Test
+  public void reusesReaders() throws Exception {
+    XMLReaderPool pool = new XMLReaderPool(1);
+    XMLReader first = pool.acquire();
+    pool.release(first);
+
+    assertThat(pool.acquire()).isSameAs(first);
+    assertThat(pool.acquire()).isNotSameAs(first);
+  }
+
   static enum NetworkStatus {
     GOOD, FAILED;
   }
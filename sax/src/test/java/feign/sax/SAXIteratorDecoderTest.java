@@ -0,0 +1,270 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.sax;
+
+import feign.Feign;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.stream.StreamDecoder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SAXIteratorDecoderTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private static final Type MEMBERS = new TypeToken<Iterator<String>>() {}.type;
+
+  private final SAXIteratorDecoder decoder = SAXIteratorDecoder.builder()
+      .registerContentHandler("member", MemberHandler.class)
+      .build();
+
+  interface MembersApi {
+
+    @RequestLine("GET /members")
+    Stream<String> members();
+  }
+
+  @Test
+  public void iteratesRepeatingElement() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+
+    Iterator<?> members = (Iterator<?>) decoder.decode(response(members(3), closed), MEMBERS);
+
+    assertThat(members.next()).isEqualTo("member 0");
+    assertThat(members.next()).isEqualTo("member 1");
+    assertThat(members.next()).isEqualTo("member 2");
+    assertThat(members.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void nestedElementsOfTheSameName() throws Exception {
+    String xml = "<members><member><name>outer</name><member><name>inner</name></member>"
+        + "</member></members>";
+
+    @SuppressWarnings("unchecked")
+    Iterator<String> members =
+        (Iterator<String>) decoder.decode(response(xml, new AtomicBoolean()), MEMBERS);
+
+    assertThat(members).containsExactly("outer");
+  }
+
+  @Test
+  public void streamsThroughStreamDecoder() {
+    server.enqueue(new MockResponse().setBody(members(100)));
+
+    MembersApi api = Feign.builder()
+        .decoder(StreamDecoder.create(decoder))
+        .doNotCloseAfterDecode()
+        .target(MembersApi.class, "http://localhost:" + server.getPort());
+
+    try (Stream<String> members = api.members()) {
+      List<String> names = members.collect(Collectors.toList());
+      assertThat(names).hasSize(100).startsWith("member 0", "member 1").endsWith("member 99");
+    }
+  }
+
+  @Test
+  public void closingEarlyClosesResponse() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+
+    Iterator<?> members =
+        (Iterator<?>) decoder.decode(response(members(10000), closed), MEMBERS);
+    assertThat(members.next()).isEqualTo("member 0");
+    ((Closeable) members).close();
+
+    assertThat(closed).isTrue();
+    assertThat(members.hasNext()).isFalse();
+  }
+
+  @Test
+  public void handlersReceiveAttributes() throws Exception {
+    SAXIteratorDecoder decoder = SAXIteratorDecoder.builder()
+        .registerContentHandler("member", IdHandler.class)
+        .build();
+
+    @SuppressWarnings("unchecked")
+    Iterator<Integer> ids = (Iterator<Integer>) decoder.decode(
+        response(members(3), new AtomicBoolean()), new TypeToken<Iterator<Integer>>() {}.type);
+
+    assertThat(ids).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void malformedDocumentFails() throws Exception {
+    AtomicBoolean closed = new AtomicBoolean();
+
+    Iterator<?> members = (Iterator<?>) decoder.decode(
+        response("<members><member><name>0</name></member><member>", closed), MEMBERS);
+
+    assertThat(members.next()).isEqualTo("0");
+    assertThatThrownBy(members::hasNext).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void handlerFailureFails() throws Exception {
+    SAXIteratorDecoder decoder = SAXIteratorDecoder.builder()
+        .registerContentHandler("member", FailingHandler.class)
+        .build();
+    AtomicBoolean closed = new AtomicBoolean();
+
+    Iterator<?> members = (Iterator<?>) decoder.decode(response(members(1), closed), MEMBERS);
+
+    assertThatThrownBy(members::hasNext)
+        .isInstanceOf(DecodeException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void niceErrorOnUnconfiguredType() {
+    Type integers = new TypeToken<Iterator<Integer>>() {}.type;
+
+    assertThatThrownBy(() -> decoder.decode(response(members(1), new AtomicBoolean()), integers))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("type class java.lang.Integer not in configured handlers");
+  }
+
+  private static String members(int count) {
+    StringBuilder xml = new StringBuilder("<members>");
+    for (int i = 0; i < count; i++) {
+      xml.append("<member id=\"").append(i).append("\"><name>member ").append(i)
+          .append("</name></member>");
+    }
+    return xml.append("</members>").toString();
+  }
+
+  private static Response response(String xml, AtomicBoolean closed) {
+    byte[] data = xml.getBytes(UTF_8);
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.<String, Collection<String>>emptyMap())
+        .body(new Response.Body() {
+          @Override
+          public Integer length() {
+            return data.length;
+          }
+
+          @Override
+          public boolean isRepeatable() {
+            return false;
+          }
+
+          @Override
+          public InputStream asInputStream() {
+            return new ByteArrayInputStream(data);
+          }
+
+          @Override
+          public Reader asReader(Charset charset) {
+            throw new UnsupportedOperationException();
+          }
+
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+          }
+        })
+        .build();
+  }
+
+  abstract static class TypeToken<T> {
+
+    final Type type = ((ParameterizedType) getClass().getGenericSuperclass())
+        .getActualTypeArguments()[0];
+  }
+
+  static class FailingHandler extends MemberHandler {
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      throw new IllegalStateException("handler failed");
+    }
+  }
+
+  static class IdHandler extends DefaultHandler implements
+      SAXDecoder.ContentHandlerWithResult<Integer> {
+
+    private Integer id;
+
+    @Override
+    public Integer result() {
+      return id;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      if (qName.equals("member")) {
+        id = Integer.valueOf(attributes.getValue("id"));
+      }
+    }
+  }
+
+  static class MemberHandler extends DefaultHandler implements
+      SAXDecoder.ContentHandlerWithResult<String> {
+
+    private StringBuilder currentText = new StringBuilder();
+
+    private String name;
+
+    @Override
+    public String result() {
+      return name;
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      if (qName.equals("name") && name == null) {
+        this.name = currentText.toString().trim();
+      }
+      currentText = new StringBuilder();
+    }
+
+    @Override
+    public void characters(char ch[], int start, int length) {
+      currentText.append(ch, start, length);
+    }
+  }
+}
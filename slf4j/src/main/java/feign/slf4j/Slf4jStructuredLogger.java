@@ -0,0 +1,195 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.slf4j;
+
+import static feign.Util.UTF_8;
+import static feign.Util.decodeOrDefault;
+import static feign.Util.valuesOrEmpty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import feign.Experimental;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+/**
+ * Logs one SLF4J debug event per call instead of one line per header. The fields of the call are
+ * set in the {@link MDC} while the event is logged, so structured appenders can write them as
+ * separate fields:
+ *
+ * <ul>
+ * <li>{@value #CONFIG_KEY}, {@value #HTTP_METHOD}, {@value #URL}, {@value #STATUS} and
+ * {@value #ELAPSED_MS}, from {@link Level#BASIC}</li>
+ * <li>{@value #REQUEST_HEADERS} and {@value #RESPONSE_HEADERS}, from {@link Level#HEADERS}</li>
+ * <li>{@value #REQUEST_BODY} and {@value #RESPONSE_BODY}, at {@link Level#FULL}</li>
+ * </ul>
+ *
+ * Failed calls are logged with {@value #ERROR} instead of the response fields. Nothing is formatted
+ * unless debug logging is enabled.
+ */
+@Experimental
+public class Slf4jStructuredLogger extends feign.Logger {
+
+  public static final String CONFIG_KEY = "feign.config_key";
+  public static final String HTTP_METHOD = "feign.http_method";
+  public static final String URL = "feign.url";
+  public static final String STATUS = "feign.status";
+  public static final String ELAPSED_MS = "feign.elapsed_ms";
+  public static final String REQUEST_HEADERS = "feign.request_headers";
+  public static final String RESPONSE_HEADERS = "feign.response_headers";
+  public static final String REQUEST_BODY = "feign.request_body";
+  public static final String RESPONSE_BODY = "feign.response_body";
+  public static final String ERROR = "feign.error";
+
+  private static final ThreadLocal<StringBuilder> HEADERS_BUILDER =
+      ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private final Logger logger;
+
+  public Slf4jStructuredLogger() {
+    this(feign.Logger.class);
+  }
+
+  public Slf4jStructuredLogger(Class<?> clazz) {
+    this(LoggerFactory.getLogger(clazz));
+  }
+
+  public Slf4jStructuredLogger(String name) {
+    this(LoggerFactory.getLogger(name));
+  }
+
+  Slf4jStructuredLogger(Logger logger) {
+    this.logger = logger;
+  }
+
+  /**
+   * Requests are logged together with their response.
+   */
+  @Override
+  protected void logRequest(String configKey, Level logLevel, Request request) {}
+
+  @Override
+  protected void logRetry(String configKey, Level logLevel) {
+    if (logger.isDebugEnabled()) {
+      MDC.put(CONFIG_KEY, configKey);
+      try {
+        logger.debug("{} retrying", configKey);
+      } finally {
+        MDC.remove(CONFIG_KEY);
+      }
+    }
+  }
+
+  @Override
+  protected Response logAndRebufferResponse(String configKey,
+                                            Level logLevel,
+                                            Response response,
+                                            long elapsedTime)
+      throws IOException {
+    if (!logger.isDebugEnabled()) {
+      return response;
+    }
+    final Request request = response.request();
+    final int status = response.status();
+    MDC.put(CONFIG_KEY, configKey);
+    MDC.put(HTTP_METHOD, request.httpMethod().name());
+    MDC.put(URL, request.url());
+    MDC.put(STATUS, Integer.toString(status));
+    MDC.put(ELAPSED_MS, Long.toString(elapsedTime));
+    try {
+      if (logLevel.ordinal() >= Level.HEADERS.ordinal()) {
+        MDC.put(REQUEST_HEADERS, render(request.headers()));
+        MDC.put(RESPONSE_HEADERS, render(response.headers()));
+      }
+      if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+        if (request.body() != null) {
+          MDC.put(REQUEST_BODY, request.charset() != null
+              ? new String(request.body(), request.charset())
+              : "Binary data");
+        }
+        if (response.body() != null && !(status == 204 || status == 205)) {
+          final byte[] bodyData = Util.toByteArray(response.body().asInputStream());
+          MDC.put(RESPONSE_BODY, decodeOrDefault(bodyData, UTF_8, "Binary data"));
+          response = response.toBuilder().body(bodyData).build();
+        }
+      }
+      logger.debug("{} {} {} {} ({}ms)", configKey, request.httpMethod(), request.url(), status,
+          elapsedTime);
+    } finally {
+      MDC.remove(CONFIG_KEY);
+      MDC.remove(HTTP_METHOD);
+      MDC.remove(URL);
+      MDC.remove(STATUS);
+      MDC.remove(ELAPSED_MS);
+      MDC.remove(REQUEST_HEADERS);
+      MDC.remove(RESPONSE_HEADERS);
+      MDC.remove(REQUEST_BODY);
+      MDC.remove(RESPONSE_BODY);
+    }
+    return response;
+  }
+
+  @Override
+  protected IOException logIOException(String configKey,
+                                       Level logLevel,
+                                       IOException ioe,
+                                       long elapsedTime) {
+    if (logger.isDebugEnabled()) {
+      MDC.put(CONFIG_KEY, configKey);
+      MDC.put(ELAPSED_MS, Long.toString(elapsedTime));
+      MDC.put(ERROR, ioe.getClass().getName());
+      try {
+        if (logLevel.ordinal() >= Level.FULL.ordinal()) {
+          logger.debug("{} failed ({}ms)", configKey, elapsedTime, ioe);
+        } else {
+          logger.debug("{} failed: {} ({}ms)", configKey, ioe.getMessage(), elapsedTime);
+        }
+      } finally {
+        MDC.remove(CONFIG_KEY);
+        MDC.remove(ELAPSED_MS);
+        MDC.remove(ERROR);
+      }
+    }
+    return ioe;
+  }
+
+  @Override
+  protected void log(String configKey, String format, Object... args) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(String.format(methodTag(configKey) + format, args));
+    }
+  }
+
+  /**
+   * Renders headers as {@code name: value} pairs separated by new lines, reusing a per-thread
+   * buffer.
+   */
+  private static String render(Map<String, Collection<String>> headers) {
+    final StringBuilder builder = HEADERS_BUILDER.get();
+    builder.setLength(0);
+    for (String field : headers.keySet()) {
+      for (String value : valuesOrEmpty(headers, field)) {
+        if (builder.length() > 0) {
+          builder.append('\n');
+        }
+        builder.append(field).append(": ").append(value);
+      }
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.slf4j;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import feign.Logger;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+
+public class Slf4jStructuredLoggerTest {
+
+  private static final String CONFIG_KEY = "someMethod()";
+  private static final Request REQUEST = Request.create(HttpMethod.POST, "http://api.example.com",
+      Collections.singletonMap("Accept", Arrays.asList("text/plain", "application/json")),
+      "ping".getBytes(Util.UTF_8), Util.UTF_8);
+  private static final Response RESPONSE =
+      Response.builder()
+          .status(200)
+          .reason("OK")
+          .request(REQUEST)
+          .headers(Collections.<String, Collection<String>>singletonMap("Content-Length",
+              Collections.singletonList("4")))
+          .body("pong", Util.UTF_8)
+          .build();
+
+  @Rule
+  public final RecordingSimpleLogger slf4j = new RecordingSimpleLogger();
+
+  private final List<Map<String, String>> events = new ArrayList<>();
+  private MDCAdapter mdcAdapter;
+
+  @Before
+  public void useBasicMdc() throws Exception {
+    mdcAdapter = swapMdcAdapter(new BasicMDCAdapter());
+  }
+
+  @After
+  public void restoreMdc() throws Exception {
+    swapMdcAdapter(mdcAdapter);
+  }
+
+  private static MDCAdapter swapMdcAdapter(MDCAdapter adapter) throws Exception {
+    final Field field = MDC.class.getDeclaredField("mdcAdapter");
+    field.setAccessible(true);
+    final MDCAdapter previous = (MDCAdapter) field.get(null);
+    field.set(null, adapter);
+    return previous;
+  }
+
+  /**
+   * Records a copy of the MDC for each debug event.
+   */
+  private org.slf4j.Logger recordingLogger() {
+    return (org.slf4j.Logger) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] {org.slf4j.Logger.class}, (proxy, method, args) -> {
+          if (method.getName().equals("isDebugEnabled")) {
+            return true;
+          }
+          if (method.getName().equals("debug")) {
+            events.add(new HashMap<>(MDC.getCopyOfContextMap()));
+          }
+          return null;
+        });
+  }
+
+  @Test
+  public void logsOneEventPerCall() throws Exception {
+    slf4j.logLevel("debug");
+    slf4j.expectMessages(
+        "DEBUG feign.Logger - someMethod() POST http://api.example.com 200 (273ms)"
+            + System.lineSeparator());
+
+    final Slf4jStructuredLogger logger = new Slf4jStructuredLogger();
+    logger.logRequest(CONFIG_KEY, Logger.Level.HEADERS, REQUEST);
+    logger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.HEADERS, RESPONSE, 273);
+  }
+
+  @Test
+  public void setsCallFieldsInMdc() throws Exception {
+    final Slf4jStructuredLogger logger = new Slf4jStructuredLogger(recordingLogger());
+
+    final Response response =
+        logger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.FULL, RESPONSE, 273);
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0)).containsOnly(
+        entry(Slf4jStructuredLogger.CONFIG_KEY, CONFIG_KEY),
+        entry(Slf4jStructuredLogger.HTTP_METHOD, "POST"),
+        entry(Slf4jStructuredLogger.URL, "http://api.example.com"),
+        entry(Slf4jStructuredLogger.STATUS, "200"),
+        entry(Slf4jStructuredLogger.ELAPSED_MS, "273"),
+        entry(Slf4jStructuredLogger.REQUEST_HEADERS,
+            "Accept: text/plain\nAccept: application/json"),
+        entry(Slf4jStructuredLogger.RESPONSE_HEADERS, "content-length: 4"),
+        entry(Slf4jStructuredLogger.REQUEST_BODY, "ping"),
+        entry(Slf4jStructuredLogger.RESPONSE_BODY, "pong"));
+    assertThat(MDC.getCopyOfContextMap()).isEmpty();
+    assertThat(Util.toString(response.body().asReader(Util.UTF_8))).isEqualTo("pong");
+  }
+
+  @Test
+  public void logsOnlyBasicFieldsAtBasic() throws Exception {
+    final Slf4jStructuredLogger logger = new Slf4jStructuredLogger(recordingLogger());
+
+    logger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.BASIC, RESPONSE, 273);
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0)).containsOnlyKeys(Slf4jStructuredLogger.CONFIG_KEY,
+        Slf4jStructuredLogger.HTTP_METHOD, Slf4jStructuredLogger.URL,
+        Slf4jStructuredLogger.STATUS, Slf4jStructuredLogger.ELAPSED_MS);
+  }
+
+  @Test
+  public void logOnlyIfDebugEnabled() throws Exception {
+    slf4j.logLevel("info");
+
+    final Slf4jStructuredLogger logger = new Slf4jStructuredLogger();
+    logger.logRequest(CONFIG_KEY, Logger.Level.FULL, REQUEST);
+    assertThat(logger.logAndRebufferResponse(CONFIG_KEY, Logger.Level.FULL, RESPONSE, 273))
+        .isSameAs(RESPONSE);
+  }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2012-2020 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.soap;
+
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPException;
+
+/**
+ * Looks up the {@link MessageFactory} of a protocol on first use, then reuses it. The lookup goes
+ * through the service-loader machinery, which is far more expensive than creating a message.
+ */
+final class LazyMessageFactory {
+
+  private final String soapProtocol;
+  private volatile MessageFactory messageFactory;
+
+  LazyMessageFactory(String soapProtocol) {
+    this.soapProtocol = soapProtocol;
+  }
+
+  MessageFactory get() throws SOAPException {
+    MessageFactory result = messageFactory;
+    if (result == null) {
+      // racing threads may both look it up, which is harmless
+      result = messageFactory = MessageFactory.newInstance(soapProtocol);
+    }
+    return result;
+  }
+}
@@ -85,17 +85,17 @@ public class SOAPDecoder implements Decoder {
 
 
   private final JAXBContextFactory jaxbContextFactory;
-  private final String soapProtocol;
+  private final LazyMessageFactory messageFactory;
   private final boolean useFirstChild;
 
   public SOAPDecoder(JAXBContextFactory jaxbContextFactory) {
     this.jaxbContextFactory = jaxbContextFactory;
-    this.soapProtocol = SOAPConstants.DEFAULT_SOAP_PROTOCOL;
+    this.messageFactory = new LazyMessageFactory(SOAPConstants.DEFAULT_SOAP_PROTOCOL);
     this.useFirstChild = false;
   }
 
   private SOAPDecoder(Builder builder) {
-    this.soapProtocol = builder.soapProtocol;
+    this.messageFactory = new LazyMessageFactory(builder.soapProtocol);
     this.jaxbContextFactory = builder.jaxbContextFactory;
     this.useFirstChild = builder.useFirstChild;
   }
@@ -117,19 +117,22 @@ public class SOAPDecoder implements Decoder {
 
     try {
       SOAPMessage message =
-          MessageFactory.newInstance(soapProtocol).createMessage(null,
-              response.body().asInputStream());
+          messageFactory.get().createMessage(null, response.body().asInputStream());
       if (message.getSOAPBody() != null) {
         if (message.getSOAPBody().hasFault()) {
           throw new SOAPFaultException(message.getSOAPBody().getFault());
         }
 
-        Unmarshaller unmarshaller = jaxbContextFactory.createUnmarshaller((Class<?>) type);
-
-        if (this.useFirstChild) {
-          return unmarshaller.unmarshal(message.getSOAPBody().getFirstChild());
-        } else {
-          return unmarshaller.unmarshal(message.getSOAPBody().extractContentAsDocument());
+        Class<?> clazz = (Class<?>) type;
+        Unmarshaller unmarshaller = jaxbContextFactory.acquireUnmarshaller(clazz);
+        try {
+          if (this.useFirstChild) {
+            return unmarshaller.unmarshal(message.getSOAPBody().getFirstChild());
+          } else {
+            return unmarshaller.unmarshal(message.getSOAPBody().extractContentAsDocument());
+          }
+        } finally {
+          jaxbContextFactory.releaseUnmarshaller(clazz, unmarshaller);
         }
       }
     } catch (SOAPException | JAXBException e) {
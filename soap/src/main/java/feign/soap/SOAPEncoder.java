@@ -15,9 +15,12 @@ package feign.soap;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -26,6 +29,9 @@ import javax.xml.soap.MessageFactory;
 import javax.xml.soap.SOAPConstants;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -82,6 +88,10 @@ import feign.jaxb.JAXBContextFactory;
  * <p>
  * The JAXBContextFactory should be reused across requests as it caches the created JAXB contexts.
  * </p>
+ * <p>
+ * Unless formatted output or a charset other than UTF-8 is requested, SOAP 1.1 and 1.2 envelopes
+ * are written directly around the marshalled body, without building a {@link SOAPMessage}.
+ * </p>
  */
 public class SOAPEncoder implements Encoder {
 
@@ -91,22 +101,58 @@ public class SOAPEncoder implements Encoder {
   private final boolean formattedOutput;
   private final Charset charsetEncoding;
   private final JAXBContextFactory jaxbContextFactory;
-  private final String soapProtocol;
+  private final LazyMessageFactory messageFactory;
+  private final DocumentBuilderFactory documentBuilderFactory =
+      DocumentBuilderFactory.newInstance();
+  private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+  private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+  private final BlockingQueue<Transformer> transformers =
+      new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+  /** Envelope start and end tags, or {@code null} when a {@link SOAPMessage} must be built. */
+  private final String envelopeStart;
+  private final String envelopeEnd;
 
   private SOAPEncoder(Builder builder) {
-    this.jaxbContextFactory = builder.jaxbContextFactory;
-    this.writeXmlDeclaration = builder.writeXmlDeclaration;
-    this.charsetEncoding = builder.charsetEncoding;
-    this.soapProtocol = builder.soapProtocol;
-    this.formattedOutput = builder.formattedOutput;
+    this(builder.jaxbContextFactory, builder.writeXmlDeclaration, builder.formattedOutput,
+        builder.charsetEncoding, builder.soapProtocol);
   }
 
   public SOAPEncoder(JAXBContextFactory jaxbContextFactory) {
+    this(jaxbContextFactory, true, false, StandardCharsets.UTF_8, DEFAULT_SOAP_PROTOCOL);
+  }
+
+  private SOAPEncoder(JAXBContextFactory jaxbContextFactory, boolean writeXmlDeclaration,
+      boolean formattedOutput, Charset charsetEncoding, String soapProtocol) {
     this.jaxbContextFactory = jaxbContextFactory;
-    this.writeXmlDeclaration = true;
-    this.formattedOutput = false;
-    this.charsetEncoding = StandardCharsets.UTF_8;
-    this.soapProtocol = DEFAULT_SOAP_PROTOCOL;
+    this.writeXmlDeclaration = writeXmlDeclaration;
+    this.formattedOutput = formattedOutput;
+    this.charsetEncoding = charsetEncoding;
+    this.messageFactory = new LazyMessageFactory(soapProtocol);
+
+    String prefix = null;
+    String namespace = null;
+    if (!formattedOutput && StandardCharsets.UTF_8.equals(charsetEncoding)) {
+      // the prefixes the SAAJ implementation uses, so both paths write the same envelope
+      if (SOAPConstants.SOAP_1_1_PROTOCOL.equals(soapProtocol)) {
+        prefix = "SOAP-ENV";
+        namespace = SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE;
+      } else if (SOAPConstants.SOAP_1_2_PROTOCOL.equals(soapProtocol)) {
+        prefix = "env";
+        namespace = SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE;
+      }
+    }
+    if (prefix != null) {
+      this.envelopeStart = (writeXmlDeclaration
+          ? "<?xml version=\"1.0\" encoding=\"" + charsetEncoding.displayName() + "\" ?>"
+          : "")
+          + "<" + prefix + ":Envelope xmlns:" + prefix + "=\"" + namespace + "\">"
+          + "<" + prefix + ":Header/>"
+          + "<" + prefix + ":Body>";
+      this.envelopeEnd = "</" + prefix + ":Body></" + prefix + ":Envelope>";
+    } else {
+      this.envelopeStart = null;
+      this.envelopeEnd = null;
+    }
   }
 
   @Override
@@ -115,29 +161,75 @@ public class SOAPEncoder implements Encoder {
       throw new UnsupportedOperationException(
           "SOAP only supports encoding raw types. Found " + bodyType);
     }
+    Class<?> clazz = (Class<?>) bodyType;
     try {
-      Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-      Marshaller marshaller = jaxbContextFactory.createMarshaller((Class<?>) bodyType);
-      marshaller.marshal(object, document);
-      SOAPMessage soapMessage = MessageFactory.newInstance(soapProtocol).createMessage();
-      soapMessage.setProperty(SOAPMessage.WRITE_XML_DECLARATION,
-          Boolean.toString(writeXmlDeclaration));
-      soapMessage.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, charsetEncoding.displayName());
-      soapMessage.getSOAPBody().addDocument(document);
-      ByteArrayOutputStream bos = new ByteArrayOutputStream();
-      if (formattedOutput) {
-        Transformer t = TransformerFactory.newInstance().newTransformer();
+      Marshaller marshaller = jaxbContextFactory.acquireMarshaller(clazz);
+      try {
+        if (envelopeStart != null) {
+          template.body(writeEnvelope(object, marshaller));
+        } else {
+          template.body(buildEnvelope(object, marshaller));
+        }
+      } finally {
+        jaxbContextFactory.releaseMarshaller(clazz, marshaller);
+      }
+    } catch (SOAPException | JAXBException | ParserConfigurationException | IOException
+        | TransformerFactoryConfigurationError | TransformerException | XMLStreamException e) {
+      throw new EncodeException(e.toString(), e);
+    }
+  }
+
+  /**
+   * Marshals the body as a fragment between the envelope tags.
+   */
+  private String writeEnvelope(Object object, Marshaller marshaller)
+      throws JAXBException, XMLStreamException {
+    StringWriter writer = new StringWriter();
+    writer.write(envelopeStart);
+    Object fragment = marshaller.getProperty(Marshaller.JAXB_FRAGMENT);
+    Object formatted = marshaller.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT);
+    // as when marshalled into the SOAPMessage document
+    marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+    try {
+      XMLStreamWriter xmlWriter = xmlOutputFactory.createXMLStreamWriter(writer);
+      marshaller.marshal(object, xmlWriter);
+      xmlWriter.flush();
+    } finally {
+      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragment);
+      marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+    }
+    writer.write(envelopeEnd);
+    return writer.toString();
+  }
+
+  private String buildEnvelope(Object object, Marshaller marshaller)
+      throws SOAPException, JAXBException, ParserConfigurationException, IOException,
+      TransformerException {
+    Document document = documentBuilderFactory.newDocumentBuilder().newDocument();
+    marshaller.marshal(object, document);
+    SOAPMessage soapMessage = messageFactory.get().createMessage();
+    soapMessage.setProperty(SOAPMessage.WRITE_XML_DECLARATION,
+        Boolean.toString(writeXmlDeclaration));
+    soapMessage.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, charsetEncoding.displayName());
+    soapMessage.getSOAPBody().addDocument(document);
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    if (formattedOutput) {
+      Transformer t = transformers.poll();
+      if (t == null) {
+        t = transformerFactory.newTransformer();
         t.setOutputProperty(OutputKeys.INDENT, "yes");
         t.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+      }
+      try {
         t.transform(new DOMSource(soapMessage.getSOAPPart()), new StreamResult(bos));
-      } else {
-        soapMessage.writeTo(bos);
+      } finally {
+        transformers.offer(t);
       }
-      template.body(new String(bos.toByteArray()));
-    } catch (SOAPException | JAXBException | ParserConfigurationException | IOException
-        | TransformerFactoryConfigurationError | TransformerException e) {
-      throw new EncodeException(e.toString(), e);
+    } else {
+      soapMessage.writeTo(bos);
     }
+    return new String(bos.toByteArray());
   }
 
   /**
@@ -35,10 +35,10 @@ import feign.codec.ErrorDecoder;
  */
 public class SOAPErrorDecoder implements ErrorDecoder {
 
-  private final String soapProtocol;
+  private final LazyMessageFactory messageFactory;
 
   public SOAPErrorDecoder() {
-    this.soapProtocol = SOAPConstants.DEFAULT_SOAP_PROTOCOL;
+    this(SOAPConstants.DEFAULT_SOAP_PROTOCOL);
   }
 
   /**
@@ -52,7 +52,7 @@ public class SOAPErrorDecoder implements ErrorDecoder {
    * @see MessageFactory#newInstance(String)
    */
   public SOAPErrorDecoder(String soapProtocol) {
-    this.soapProtocol = soapProtocol;
+    this.messageFactory = new LazyMessageFactory(soapProtocol);
   }
 
   @Override
@@ -62,7 +62,7 @@ public class SOAPErrorDecoder implements ErrorDecoder {
 
     SOAPMessage message;
     try {
-      message = MessageFactory.newInstance(soapProtocol).createMessage(null,
+      message = messageFactory.get().createMessage(null,
           response.body().asInputStream());
       if (message.getSOAPBody() != null && message.getSOAPBody().hasFault()) {
         return new SOAPFaultException(message.getSOAPBody().getFault());
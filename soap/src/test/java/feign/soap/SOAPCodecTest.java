@@ -27,6 +27,7 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlValue;
+import javax.xml.soap.SOAPConstants;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -38,6 +39,7 @@ import feign.Util;
 import feign.codec.Encoder;
 import feign.jaxb.JAXBContextFactory;
 import feign.jaxb.JAXBDecoder;
+import feign.jaxb.JAXBEncoder;
 
 @SuppressWarnings("deprecation")
 public class SOAPCodecTest {
@@ -204,6 +206,69 @@ public class SOAPCodecTest {
             "");
   }
 
+  @Test
+  public void encodesSoap1_2Protocol() throws Exception {
+    JAXBContextFactory jaxbContextFactory = new JAXBContextFactory.Builder().build();
+    Encoder encoder = new SOAPEncoder.Builder()
+        .withJAXBContextFactory(jaxbContextFactory)
+        .withSOAPProtocol(SOAPConstants.SOAP_1_2_PROTOCOL)
+        .withWriteXmlDeclaration(false)
+        .build();
+
+    GetPrice mock = new GetPrice();
+    mock.item = new Item();
+    mock.item.value = "Apples";
+
+    RequestTemplate template = new RequestTemplate();
+    encoder.encode(mock, GetPrice.class, template);
+
+    assertThat(template).hasBody(
+        "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\">"
+            + "<env:Header/>"
+            + "<env:Body>"
+            + "<GetPrice>"
+            + "<Item>Apples</Item>"
+            + "</GetPrice>"
+            + "</env:Body>"
+            + "</env:Envelope>");
+
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(template.body())
+        .build();
+
+    SOAPDecoder decoder = new SOAPDecoder.Builder()
+        .withJAXBContextFactory(jaxbContextFactory)
+        .withSOAPProtocol(SOAPConstants.SOAP_1_2_PROTOCOL)
+        .build();
+
+    assertEquals(mock, decoder.decode(response, GetPrice.class));
+  }
+
+  @Test
+  public void leavesPooledMarshallerPropertiesUnchanged() {
+    JAXBContextFactory jaxbContextFactory =
+        new JAXBContextFactory.Builder().withMarshallerFormattedOutput(true).build();
+
+    GetPrice mock = new GetPrice();
+    mock.item = new Item();
+    mock.item.value = "Apples";
+
+    new SOAPEncoder(jaxbContextFactory).encode(mock, GetPrice.class, new RequestTemplate());
+
+    RequestTemplate template = new RequestTemplate();
+    new JAXBEncoder(jaxbContextFactory).encode(mock, GetPrice.class, template);
+
+    assertThat(template).hasBody(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<GetPrice>\n"
+            + "    <Item>Apples</Item>\n"
+            + "</GetPrice>\n");
+  }
+
   @Test
   public void decodesSoap() throws Exception {
     GetPrice mock = new GetPrice();